@@ -0,0 +1,44 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package boardinggamer.mcmoney;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for McMoney. Balances are reached through
+ * {@link McMoneyAPI#getInstance()}.
+ */
+public class McMoney extends StubPlugin {
+
+    public McMoney(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+        McMoneyAPI.instance = new McMoneyAPI(this);
+    }
+
+    @Override
+    public void onDisable() {
+        McMoneyAPI.instance = null;
+    }
+}
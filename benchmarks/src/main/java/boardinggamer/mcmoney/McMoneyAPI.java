@@ -0,0 +1,62 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package boardinggamer.mcmoney;
+
+/**
+ * In-memory stand-in for the McMoney API.
+ */
+public class McMoneyAPI {
+
+    static McMoneyAPI instance;
+
+    private final McMoney plugin;
+
+    McMoneyAPI(McMoney plugin) {
+        this.plugin = plugin;
+    }
+
+    public static final McMoneyAPI getInstance() {
+        return instance;
+    }
+
+    public String moneyNamePlural() {
+        return "Dollars";
+    }
+
+    public String moneyNameSingle() {
+        return "Dollar";
+    }
+
+    public boolean playerExists(String name) {
+        return plugin.getLedger().exists(name);
+    }
+
+    public double getMoney(String name) {
+        return plugin.getLedger().get(name);
+    }
+
+    public void addMoney(String name, double amount) {
+        plugin.getLedger().add(name, amount);
+    }
+
+    public void removeMoney(String name, double amount) {
+        plugin.getLedger().add(name, -amount);
+    }
+
+    public void setMoney(String name, double amount) {
+        plugin.getLedger().set(name, amount);
+    }
+}
@@ -0,0 +1,55 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ca.agnate.EconXP;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * In-memory stand-in for EconXP, an integer economy keyed by player.
+ */
+public class EconXP extends StubPlugin {
+
+    public EconXP(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public OfflinePlayer getPlayer(String name) {
+        return getServer().getOfflinePlayer(name);
+    }
+
+    public int getExp(OfflinePlayer player) {
+        return (int) getLedger().get(player.getName());
+    }
+
+    public int addExp(OfflinePlayer player, int amount) {
+        return (int) getLedger().add(player.getName(), amount);
+    }
+
+    public int removeExp(OfflinePlayer player, int amount) {
+        return (int) getLedger().add(player.getName(), -amount);
+    }
+
+    public boolean hasExp(OfflinePlayer player, int amount) {
+        return getLedger().has(player.getName(), amount);
+    }
+}
@@ -0,0 +1,55 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package co.uk.silvania.cities.digicoin;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for DigiCoin.
+ */
+public class DigiCoin extends StubPlugin {
+
+    public DigiCoin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public double getBalance(String name) {
+        return getLedger().get(name);
+    }
+
+    public Boolean setBalance(String name, double balance) {
+        getLedger().set(name, balance);
+        return true;
+    }
+
+    public Boolean addBalance(String name, double amount) {
+        getLedger().add(name, amount);
+        return true;
+    }
+
+    public Boolean removeBalance(String name, double amount) {
+        if (!getLedger().has(name, amount)) {
+            return false;
+        }
+        getLedger().add(name, -amount);
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dthielke.starburst;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * In-memory stand-in for a Starburst group. Starburst calls the groups an
+ * entity inherits from its children.
+ */
+public class Group {
+
+    private final String name;
+    private final Set<String> nodes;
+    private final Set<Group> children = new LinkedHashSet<Group>();
+
+    Group(String name, Set<String> nodes) {
+        this.name = name;
+        this.nodes = nodes;
+    }
+
+    void addChild(Group child) {
+        children.add(child);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<Group> getChildren(boolean inherited) {
+        if (!inherited) {
+            return children;
+        }
+        Set<Group> all = new LinkedHashSet<Group>();
+        for (Group child : children) {
+            if (all.add(child)) {
+                all.addAll(child.getChildren(true));
+            }
+        }
+        return all;
+    }
+
+    public boolean hasChild(Group group, boolean inherited) {
+        if (children.contains(group)) {
+            return true;
+        }
+        if (inherited) {
+            for (Group child : children) {
+                if (child.hasChild(group, true)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean hasPermission(String node, boolean inherited) {
+        if (nodes.contains(node)) {
+            return true;
+        }
+        if (inherited) {
+            for (Group child : children) {
+                if (child.hasPermission(node, true)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dthielke.starburst;
+
+import org.bukkit.World;
+
+/**
+ * In-memory stand-in for the Starburst group registry. Every world uses the
+ * default group set.
+ */
+public class GroupManager {
+
+    private final GroupSet defaultSet;
+
+    public GroupManager(StarburstPlugin plugin) {
+        defaultSet = new GroupSet(plugin);
+    }
+
+    public GroupSet getDefaultGroupSet() {
+        return defaultSet;
+    }
+
+    public GroupSet getWorldSet(World world) {
+        return defaultSet;
+    }
+}
@@ -0,0 +1,89 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.dthielke.starburst;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * In-memory stand-in for a Starburst group set. Groups and users are
+ * created once and kept, since the hook compares groups by identity.
+ */
+public class GroupSet {
+
+    private final StarburstPlugin plugin;
+    private final Map<String, Group> groups = new HashMap<String, Group>();
+    private final Map<String, User> users = new HashMap<String, User>();
+
+    GroupSet(StarburstPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public Group getGroup(String name) {
+        Group group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = plugin.getPermissions().getGroup(name);
+            if (backing == null) {
+                return null;
+            }
+            group = new Group(name, backing.getNodes());
+            groups.put(name, group);
+            for (PermissionGraph.Group parent : backing.getParents()) {
+                group.addChild(getGroup(parent.getName()));
+            }
+        }
+        return group;
+    }
+
+    public boolean hasGroup(String name) {
+        return plugin.getPermissions().getGroup(name) != null;
+    }
+
+    public Set<Group> getGroups() {
+        Set<Group> all = new LinkedHashSet<Group>();
+        for (PermissionGraph.Group group : plugin.getPermissions().getGroups()) {
+            all.add(getGroup(group.getName()));
+        }
+        return all;
+    }
+
+    /**
+     * Like the real one this creates the user if there is none yet.
+     */
+    public User getUser(OfflinePlayer player) {
+        String name = player.getName();
+        User user = users.get(name);
+        if (user == null) {
+            PermissionGraph.User backing = plugin.getPermissions().getUser(name);
+            if (backing == null) {
+                user = new User(name, new LinkedHashSet<String>());
+            } else {
+                user = new User(name, backing.getNodes());
+                for (PermissionGraph.Group group : backing.getGroups()) {
+                    user.addChild(getGroup(group.getName()));
+                }
+            }
+            users.put(name, user);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,75 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.earth2me.essentials.api;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import com.earth2me.essentials.Essentials;
+
+/**
+ * In-memory stand-in for the Essentials economy API.
+ */
+public final class Economy {
+
+    private static Essentials ess;
+
+    private Economy() {
+    }
+
+    public static void setEss(Essentials instance) {
+        ess = instance;
+    }
+
+    private static Ledger ledger(String name) throws UserDoesNotExistException {
+        Ledger ledger = ess.getLedger();
+        if (!ledger.exists(name)) {
+            throw new UserDoesNotExistException(name);
+        }
+        return ledger;
+    }
+
+    public static double getMoney(String name) throws UserDoesNotExistException {
+        return ledger(name).get(name);
+    }
+
+    public static void add(String name, double amount) throws UserDoesNotExistException, NoLoanPermittedException {
+        ledger(name).add(name, amount);
+    }
+
+    public static void subtract(String name, double amount) throws UserDoesNotExistException, NoLoanPermittedException {
+        Ledger ledger = ledger(name);
+        if (!ledger.has(name, amount)) {
+            throw new NoLoanPermittedException();
+        }
+        ledger.add(name, -amount);
+    }
+
+    public static boolean hasEnough(String name, double amount) throws UserDoesNotExistException {
+        return ledger(name).has(name, amount);
+    }
+
+    public static String format(double amount) {
+        return Ledger.format(amount);
+    }
+
+    public static boolean playerExists(String name) {
+        return ess.getLedger().exists(name);
+    }
+
+    public static boolean createNPC(String name) {
+        return ess.getLedger().create(name, 0);
+    }
+}
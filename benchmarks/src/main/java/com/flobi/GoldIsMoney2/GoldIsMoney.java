@@ -0,0 +1,95 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.flobi.GoldIsMoney2;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.Ledger;
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for GoldIsMoney, whose whole API is static.
+ */
+public class GoldIsMoney extends StubPlugin {
+
+    private static GoldIsMoney instance;
+
+    public GoldIsMoney(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+        instance = this;
+    }
+
+    @Override
+    public void onDisable() {
+        instance = null;
+    }
+
+    public static double getBalance(String name) {
+        return instance.getLedger().get(name);
+    }
+
+    public static boolean has(String name, double amount) {
+        return instance.getLedger().has(name, amount);
+    }
+
+    public static int fractionalDigits() {
+        return 2;
+    }
+
+    public static boolean withdrawPlayer(String name, double amount) {
+        if (!instance.getLedger().has(name, amount)) {
+            return false;
+        }
+        instance.getLedger().add(name, -amount);
+        return true;
+    }
+
+    public static boolean depositPlayer(String name, double amount) {
+        instance.getLedger().add(name, amount);
+        return true;
+    }
+
+    public static String format(double amount) {
+        return Ledger.format(amount);
+    }
+
+    public static String currencyNameSingular() {
+        return "Dollar";
+    }
+
+    public static String currencyNamePlural() {
+        return "Dollars";
+    }
+
+    public static boolean hasAccount(String name) {
+        return instance.getLedger().exists(name);
+    }
+
+    public static boolean createPlayerAccount(String name) {
+        return instance.getLedger().create(name, 0);
+    }
+
+    public static boolean hasBankSupport() {
+        return false;
+    }
+}
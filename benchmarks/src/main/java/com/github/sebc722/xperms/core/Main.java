@@ -0,0 +1,47 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.sebc722.xperms.core;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import com.github.sebc722.xperms.permissions.Xgroup;
+import com.github.sebc722.xperms.permissions.Xplayer;
+
+/**
+ * In-memory stand-in for Xperms.
+ */
+public class Main extends StubPlugin {
+
+    private final Xplayer xplayer = new Xplayer(this);
+    private final Xgroup xgroup = new Xgroup(this);
+
+    public Main(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public Xplayer getXplayer() {
+        return xplayer;
+    }
+
+    public Xgroup getXgroup() {
+        return xgroup;
+    }
+}
@@ -0,0 +1,52 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.sebc722.xperms.permissions;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import com.github.sebc722.xperms.core.Main;
+
+/**
+ * In-memory stand-in for the Xperms player store.
+ */
+public class Xplayer {
+
+    private final Main plugin;
+
+    public Xplayer(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean hasPerm(String world, String player, String node) {
+        return plugin.getPermissions().has(player, node);
+    }
+
+    public String getGroupForWorld(String player, String world) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? "default" : user.getPrimaryGroup().getName();
+    }
+
+    public String[] getPlayerGroups(String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        if (user == null) {
+            return new String[0];
+        }
+        List<String> names = user.getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+}
@@ -0,0 +1,66 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.zathrus_writer.commandsex.api.economy;
+
+import com.github.zathrus_writer.commandsex.CommandsEX;
+
+/**
+ * In-memory stand-in for the CommandsEX economy API.
+ */
+public class Economy {
+
+    public static CommandsEX plugin;
+
+    public static boolean isEnabled() {
+        return plugin != null;
+    }
+
+    public static String getCurrencySymbol() {
+        return "$";
+    }
+
+    public static String getCurrencySingular() {
+        return "Dollar";
+    }
+
+    public static String getCurrencyPlural() {
+        return "Dollars";
+    }
+
+    public static boolean hasAccount(String player) {
+        return plugin.getLedger().exists(player);
+    }
+
+    public static void createAccount(String player) {
+        plugin.getLedger().create(player, 0);
+    }
+
+    public static double getBalance(String player) {
+        return plugin.getLedger().get(player);
+    }
+
+    public static boolean has(String player, double amount) {
+        return plugin.getLedger().has(player, amount);
+    }
+
+    public static void withdraw(String player, double amount) {
+        plugin.getLedger().add(player, -amount);
+    }
+
+    public static void deposit(String player, double amount) {
+        plugin.getLedger().add(player, amount);
+    }
+}
@@ -0,0 +1,69 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.gmail.bleedobsidian.miconomy;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+
+/**
+ * In-memory stand-in for the MiConomy API, which has one account per player
+ * and world.
+ */
+public class MiConomy {
+
+    private final Main plugin;
+
+    MiConomy(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    private static String key(OfflinePlayer player, World world) {
+        return player.getName();
+    }
+
+    public String getFormattedValue(double value) {
+        return Ledger.format(value);
+    }
+
+    public boolean createAccount(OfflinePlayer player, double balance, World world) {
+        return plugin.getLedger().create(key(player, world), balance);
+    }
+
+    public double getAccountBalance(OfflinePlayer player, World world) {
+        return plugin.getLedger().get(key(player, world));
+    }
+
+    public boolean setAccountBalance(OfflinePlayer player, double balance, World world) {
+        plugin.getLedger().set(key(player, world), balance);
+        return true;
+    }
+
+    public boolean addAccountBalance(OfflinePlayer player, double amount, World world) {
+        plugin.getLedger().add(key(player, world), amount);
+        return true;
+    }
+
+    public boolean removeAccountBalance(OfflinePlayer player, double amount, World world) {
+        plugin.getLedger().add(key(player, world), -amount);
+        return true;
+    }
+
+    public boolean isAccountCreated(OfflinePlayer player, World world) {
+        return plugin.getLedger().exists(key(player, world));
+    }
+}
@@ -0,0 +1,46 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.gmail.mirelatrue.xpbank;
+
+/**
+ * In-memory stand-in for the XPBank API. Like the real one it hands out a new
+ * account object for every lookup.
+ */
+public class API {
+
+    private final XPBank plugin;
+
+    API(XPBank plugin) {
+        this.plugin = plugin;
+    }
+
+    public String currencyName(int amount) {
+        return amount == 1 ? "Dollar" : "Dollars";
+    }
+
+    public String getMsg(String key) {
+        return key;
+    }
+
+    public Account createAccount(String name) {
+        plugin.getLedger().create(name, 0);
+        return new Account(plugin, name);
+    }
+
+    public Account getAccount(String name) {
+        return plugin.getLedger().exists(name) ? new Account(plugin, name) : null;
+    }
+}
@@ -0,0 +1,49 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.gmail.mirelatrue.xpbank;
+
+/**
+ * In-memory stand-in for an XPBank account.
+ */
+public class Account {
+
+    private final XPBank plugin;
+    private final String name;
+
+    Account(XPBank plugin, String name) {
+        this.plugin = plugin;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBalance() {
+        return (int) plugin.getLedger().get(name);
+    }
+
+    public void setBalance(int balance) {
+        plugin.getLedger().set(name, balance);
+    }
+
+    public void modifyBalance(int amount) {
+        plugin.getLedger().add(name, amount);
+    }
+
+    public void addTaxableIncome(int amount) {
+    }
+}
@@ -0,0 +1,46 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.gravypod.Dosh;
+
+/**
+ * In-memory stand-in for the Dosh balance API.
+ */
+public abstract class MoneyUtils {
+
+    public static boolean subtractMoney(String user, Double amount) {
+        if (!Dosh.instance.getLedger().has(user, amount)) {
+            return false;
+        }
+        Dosh.instance.getLedger().add(user, -amount);
+        return true;
+    }
+
+    public static void setUserBal(String user, Double amount) {
+        Dosh.instance.getLedger().set(user, amount);
+    }
+
+    public static void addUserBal(String user, Double amount) {
+        Dosh.instance.getLedger().add(user, amount);
+    }
+
+    public static Double getUserBal(String user) {
+        return Dosh.instance.getLedger().get(user);
+    }
+
+    public static void makeAccount(String user) {
+        Dosh.instance.getLedger().create(user, 0);
+    }
+}
@@ -0,0 +1,44 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.greatmancode.craftconomy3;
+
+import java.io.File;
+
+import com.greatmancode.craftconomy3.account.AccountManager;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * The class name Economy_Craftconomy3 checks for when Craftconomy3 is enabled
+ * before Vault.
+ */
+public class BukkitLoader extends com.greatmancode.craftconomy3.tools.interfaces.BukkitLoader {
+
+    public BukkitLoader(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+        Common.instance = new Common(new AccountManager(getLedger()));
+    }
+
+    @Override
+    public void onDisable() {
+        Common.instance = null;
+    }
+}
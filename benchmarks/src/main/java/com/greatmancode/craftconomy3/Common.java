@@ -0,0 +1,53 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.greatmancode.craftconomy3;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import com.greatmancode.craftconomy3.account.AccountManager;
+import com.greatmancode.craftconomy3.currency.Currency;
+import com.greatmancode.craftconomy3.currency.CurrencyManager;
+
+/**
+ * In-memory stand-in for the Craftconomy3 core.
+ */
+public class Common {
+
+    static Common instance;
+
+    private final AccountManager accountManager;
+    private final CurrencyManager currencyManager = new CurrencyManager();
+
+    Common(AccountManager accountManager) {
+        this.accountManager = accountManager;
+    }
+
+    public static Common getInstance() {
+        return instance;
+    }
+
+    public AccountManager getAccountManager() {
+        return accountManager;
+    }
+
+    public CurrencyManager getCurrencyManager() {
+        return currencyManager;
+    }
+
+    public String format(String worldName, Currency currency, double balance) {
+        return Ledger.format(balance);
+    }
+}
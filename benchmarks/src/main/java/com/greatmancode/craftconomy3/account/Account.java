@@ -0,0 +1,50 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.greatmancode.craftconomy3.account;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import com.greatmancode.craftconomy3.Cause;
+
+/**
+ * In-memory stand-in for a Craftconomy3 account.
+ */
+public class Account {
+
+    private final Ledger ledger;
+    private final String name;
+
+    Account(Ledger ledger, String name) {
+        this.ledger = ledger;
+        this.name = name;
+    }
+
+    public double getBalance(String world, String currencyName) {
+        return ledger.get(name);
+    }
+
+    public boolean hasEnough(double amount, String worldName, String currencyName) {
+        return ledger.has(name, amount);
+    }
+
+    public double withdraw(double amount, String world, String currencyName, Cause cause, String causeReason) {
+        return ledger.add(name, -amount);
+    }
+
+    public double deposit(double amount, String world, String currencyName, Cause cause, String causeReason) {
+        return ledger.add(name, amount);
+    }
+}
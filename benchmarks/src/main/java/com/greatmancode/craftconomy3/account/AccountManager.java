@@ -0,0 +1,51 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.greatmancode.craftconomy3.account;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+/**
+ * In-memory stand-in for the Craftconomy3 account manager. Like the real one
+ * it hands out a new account object for every lookup.
+ */
+public class AccountManager {
+
+    private final Ledger ledger;
+
+    public AccountManager(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
+    public boolean exist(String name, boolean bankAccount) {
+        return !bankAccount && ledger.exists(name);
+    }
+
+    public Account getAccount(String name, boolean bankAccount) {
+        ledger.create(name, 0);
+        return new Account(ledger, name);
+    }
+
+    public boolean delete(String name, boolean bankAccount) {
+        return ledger.remove(name);
+    }
+
+    public List<String> getAllAccounts(boolean bankAccount) {
+        return new ArrayList<String>();
+    }
+}
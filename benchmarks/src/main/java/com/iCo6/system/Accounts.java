@@ -0,0 +1,46 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.iCo6.system;
+
+import com.iCo6.iConomy;
+
+/**
+ * In-memory stand-in for the iConomy 6 account registry. Like the real one
+ * it hands out new account and holdings objects for every lookup.
+ */
+public class Accounts {
+
+    public boolean exists(String name) {
+        return iConomy.instance.getLedger().exists(name);
+    }
+
+    public Account get(String name) {
+        iConomy.instance.getLedger().create(name, 0);
+        return new Account(name);
+    }
+
+    public boolean create(String name) {
+        return iConomy.instance.getLedger().create(name, 0);
+    }
+
+    public boolean remove(String... names) {
+        boolean removed = false;
+        for (String name : names) {
+            removed |= iConomy.instance.getLedger().remove(name);
+        }
+        return removed;
+    }
+}
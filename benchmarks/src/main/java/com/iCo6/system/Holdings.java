@@ -0,0 +1,56 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.iCo6.system;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import com.iCo6.iConomy;
+
+/**
+ * In-memory stand-in for an iConomy 6 balance.
+ */
+public class Holdings {
+
+    private final String name;
+
+    public Holdings(String name) {
+        this.name = name;
+    }
+
+    private Ledger ledger() {
+        return iConomy.instance.getLedger();
+    }
+
+    public Double getBalance() {
+        return ledger().get(name);
+    }
+
+    public void setBalance(double balance) {
+        ledger().set(name, balance);
+    }
+
+    public void add(double amount) {
+        ledger().add(name, amount);
+    }
+
+    public void subtract(double amount) {
+        ledger().add(name, -amount);
+    }
+
+    public boolean hasEnough(double amount) {
+        return ledger().has(name, amount);
+    }
+}
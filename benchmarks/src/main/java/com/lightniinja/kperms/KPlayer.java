@@ -0,0 +1,49 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.lightniinja.kperms;
+
+import java.util.Collections;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a KPerms player.
+ */
+public class KPlayer {
+
+    private final PermissionGraph.User user;
+
+    public KPlayer(String name, KPermsPlugin plugin) {
+        this.user = plugin.getPermissions().getUser(name);
+    }
+
+    public String getPrimaryGroup() {
+        return user == null ? null : user.getPrimaryGroup().getName();
+    }
+
+    public List<String> getGroups() {
+        return user == null ? Collections.<String>emptyList() : user.getGroupNames();
+    }
+
+    public boolean isMemberOfGroup(String group) {
+        return user != null && user.getGroupNames().contains(group);
+    }
+
+    public boolean hasPermission(String node) {
+        return user != null && user.has(node);
+    }
+}
@@ -0,0 +1,35 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.lightniinja.kperms;
+
+import java.util.List;
+
+/**
+ * In-memory stand-in for the KPerms helpers.
+ */
+public class Utilities {
+
+    private final KPermsPlugin plugin;
+
+    public Utilities(KPermsPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public String[] getGroups() {
+        List<String> names = plugin.getPermissions().getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+}
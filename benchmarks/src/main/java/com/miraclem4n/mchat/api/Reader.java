@@ -0,0 +1,60 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.miraclem4n.mchat.api;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import com.miraclem4n.mchat.types.InfoType;
+
+/**
+ * In-memory stand-in for the static mChatSuite info reader. Missing values
+ * come back as "", which the hook treats as unset.
+ */
+public final class Reader {
+
+    private static PermissionGraph permissions;
+
+    private Reader() {
+    }
+
+    public static void setPermissions(PermissionGraph graph) {
+        permissions = graph;
+    }
+
+    public static String getPrefix(String name, InfoType type, String world) {
+        return getInfo(name, type, world, "prefix");
+    }
+
+    public static String getSuffix(String name, InfoType type, String world) {
+        return getInfo(name, type, world, "suffix");
+    }
+
+    /**
+     * @return a user's own value, else the one from their groups, or a
+     *         group's value, else the one from its parents
+     */
+    public static String getInfo(String name, InfoType type, String world, String node) {
+        String value;
+        if (type == InfoType.USER) {
+            PermissionGraph.User user = permissions.getUser(name);
+            value = user == null ? null : user.getMeta(node);
+        } else {
+            PermissionGraph.Group group = permissions.getGroup(name);
+            value = group == null ? null : group.getMeta(node);
+        }
+        return value == null ? "" : value;
+    }
+}
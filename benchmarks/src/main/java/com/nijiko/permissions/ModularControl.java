@@ -0,0 +1,116 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.nijiko.permissions;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import com.nijikokun.bukkit.Permissions.Permissions;
+
+/**
+ * In-memory stand-in for the Permissions 3 handler. The real one keeps a
+ * set of groups per world; here every world has the same groups.
+ */
+public class ModularControl extends PermissionHandler {
+
+    private final Permissions plugin;
+    private final Map<String, Group> groups = new LinkedHashMap<String, Group>();
+
+    public ModularControl(Permissions plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean has(String world, String player, String node) {
+        return plugin.getPermissions().has(player, node);
+    }
+
+    @Override
+    public boolean inGroup(String world, String player, String group) {
+        return plugin.getPermissions().inGroup(player, group, true);
+    }
+
+    @Override
+    public Collection<Group> getGroups(String world) {
+        if (groups.size() != plugin.getPermissions().getGroups().size()) {
+            for (PermissionGraph.Group group : plugin.getPermissions().getGroups()) {
+                if (!groups.containsKey(group.getName())) {
+                    groups.put(group.getName(), new Group(group.getName()));
+                }
+            }
+        }
+        return groups.values();
+    }
+
+    @Override
+    public String[] getGroups(String world, String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        if (user == null) {
+            return new String[0];
+        }
+        List<String> names = user.getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * @return the player's own info node, else the one from their groups
+     */
+    @Override
+    public String getPermissionString(String world, String player, String node) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? null : user.getMeta(node);
+    }
+
+    @Override
+    public int getPermissionInteger(String world, String player, String node) {
+        try {
+            return Integer.parseInt(getPermissionString(world, player, node));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public double getPermissionDouble(String world, String player, String node) {
+        String value = getPermissionString(world, player, node);
+        try {
+            return value == null ? -1 : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean getPermissionBoolean(String world, String player, String node) {
+        return Boolean.parseBoolean(getPermissionString(world, player, node));
+    }
+
+    @Override
+    public String getGroupPrefix(String world, String group) {
+        PermissionGraph.Group g = plugin.getPermissions().getGroup(group);
+        return g == null ? null : g.getMeta("prefix");
+    }
+
+    @Override
+    public String getGroupSuffix(String world, String group) {
+        PermissionGraph.Group g = plugin.getPermissions().getGroup(group);
+        return g == null ? null : g.getMeta("suffix");
+    }
+}
@@ -0,0 +1,45 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.nijiko.permissions;
+
+import java.util.Collection;
+
+/**
+ * Stand-in for the Permissions 3 handler, with only the calls the hook
+ * makes.
+ */
+public abstract class PermissionHandler {
+
+    public abstract boolean has(String world, String player, String node);
+
+    public abstract boolean inGroup(String world, String player, String group);
+
+    public abstract Collection<Group> getGroups(String world);
+
+    public abstract String[] getGroups(String world, String player);
+
+    public abstract String getPermissionString(String world, String player, String node);
+
+    public abstract int getPermissionInteger(String world, String player, String node);
+
+    public abstract double getPermissionDouble(String world, String player, String node);
+
+    public abstract boolean getPermissionBoolean(String world, String player, String node);
+
+    public abstract String getGroupPrefix(String world, String group);
+
+    public abstract String getGroupSuffix(String world, String group);
+}
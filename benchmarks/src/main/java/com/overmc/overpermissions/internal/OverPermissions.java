@@ -0,0 +1,46 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.overmc.overpermissions.internal;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import com.overmc.overpermissions.api.GroupManager;
+import com.overmc.overpermissions.api.UserManager;
+
+/**
+ * In-memory stand-in for OverPermissions.
+ */
+public final class OverPermissions extends StubPlugin {
+
+    private final Users users = new Users(this);
+
+    public OverPermissions(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public UserManager getUserManager() {
+        return users;
+    }
+
+    public GroupManager getGroupManager() {
+        return users.getGroupManager();
+    }
+}
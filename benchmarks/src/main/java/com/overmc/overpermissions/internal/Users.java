@@ -0,0 +1,174 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.overmc.overpermissions.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import com.overmc.overpermissions.api.GroupManager;
+import com.overmc.overpermissions.api.PermissionGroup;
+import com.overmc.overpermissions.api.PermissionUser;
+import com.overmc.overpermissions.api.UserManager;
+
+/**
+ * The OverPermissions user and group managers. Users and groups are created
+ * once and kept, like the real plugin keeps them loaded, since the hook
+ * compares groups by identity.
+ */
+class Users implements UserManager, GroupManager {
+
+    private final OverPermissions plugin;
+    private final Map<String, User> users = new HashMap<String, User>();
+    private final Map<String, Group> groups = new LinkedHashMap<String, Group>();
+
+    Users(OverPermissions plugin) {
+        this.plugin = plugin;
+    }
+
+    GroupManager getGroupManager() {
+        return this;
+    }
+
+    @Override
+    public boolean doesUserExist(String name) {
+        return plugin.getPermissions().getUser(name) != null;
+    }
+
+    @Override
+    public PermissionUser getPermissionUser(String name) {
+        User user = users.get(name);
+        if (user == null) {
+            PermissionGraph.User backing = plugin.getPermissions().getUser(name);
+            if (backing == null) {
+                return null;
+            }
+            user = new User(backing);
+            users.put(name, user);
+        }
+        return user;
+    }
+
+    @Override
+    public boolean doesGroupExist(String name) {
+        return plugin.getPermissions().getGroup(name) != null;
+    }
+
+    @Override
+    public PermissionGroup getGroup(String name) {
+        Group group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = plugin.getPermissions().getGroup(name);
+            if (backing == null) {
+                return null;
+            }
+            group = new Group(backing);
+            groups.put(name, group);
+        }
+        return group;
+    }
+
+    @Override
+    public Iterable<PermissionGroup> getGroups() {
+        Set<PermissionGroup> all = new LinkedHashSet<PermissionGroup>();
+        for (PermissionGraph.Group group : plugin.getPermissions().getGroups()) {
+            all.add(getGroup(group.getName()));
+        }
+        return all;
+    }
+
+    private final class User implements PermissionUser {
+        private final PermissionGraph.User user;
+        private Set<PermissionGroup> parents;
+
+        private User(PermissionGraph.User user) {
+            this.user = user;
+        }
+
+        @Override
+        public boolean getPermission(String node, String world) {
+            return user.has(node);
+        }
+
+        @Override
+        public Set<PermissionGroup> getAllParents() {
+            if (parents == null) {
+                parents = new LinkedHashSet<PermissionGroup>();
+                for (PermissionGraph.Group group : user.getAllGroups()) {
+                    parents.add(getGroup(group.getName()));
+                }
+            }
+            return parents;
+        }
+
+        @Override
+        public boolean hasMeta(String key, String world) {
+            return user.getMeta(key) != null;
+        }
+
+        @Override
+        public String getMeta(String key, String world) {
+            return user.getMeta(key);
+        }
+
+        @Override
+        public boolean hasGlobalMeta(String key) {
+            return user.getMeta(key) != null;
+        }
+
+        @Override
+        public String getGlobalMeta(String key) {
+            return user.getMeta(key);
+        }
+    }
+
+    private static final class Group implements PermissionGroup {
+        private final PermissionGraph.Group group;
+
+        private Group(PermissionGraph.Group group) {
+            this.group = group;
+        }
+
+        @Override
+        public String getName() {
+            return group.getName();
+        }
+
+        @Override
+        public boolean hasMeta(String key, String world) {
+            return group.getMeta(key) != null;
+        }
+
+        @Override
+        public String getMeta(String key, String world) {
+            return group.getMeta(key);
+        }
+
+        @Override
+        public boolean hasGlobalMeta(String key) {
+            return group.getMeta(key) != null;
+        }
+
+        @Override
+        public String getGlobalMeta(String key) {
+            return group.getMeta(key);
+        }
+    }
+}
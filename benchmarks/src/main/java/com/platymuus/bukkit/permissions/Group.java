@@ -0,0 +1,60 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.platymuus.bukkit.permissions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a PermissionsBukkit group.
+ */
+public class Group {
+
+    private final PermissionsPlugin plugin;
+    private final String name;
+
+    protected Group(PermissionsPlugin plugin, String name) {
+        this.plugin = plugin;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Like the real one this goes through every user.
+     */
+    public List<String> getPlayers() {
+        List<String> players = new ArrayList<String>();
+        for (PermissionGraph.User user : plugin.getPermissions().getUsers()) {
+            if (user.getGroupNames().contains(name)) {
+                players.add(user.getName());
+            }
+        }
+        return players;
+    }
+
+    public PermissionInfo getInfo() {
+        List<String> parents = new ArrayList<String>();
+        for (PermissionGraph.Group parent : plugin.getPermissions().getGroup(name).getParents()) {
+            parents.add(parent.getName());
+        }
+        return new PermissionInfo(plugin, parents);
+    }
+}
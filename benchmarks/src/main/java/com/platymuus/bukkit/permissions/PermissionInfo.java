@@ -0,0 +1,50 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.platymuus.bukkit.permissions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+
+/**
+ * In-memory stand-in for the groups of a PermissionsBukkit user or group.
+ * Every group is defined for the one world.
+ */
+public class PermissionInfo {
+
+    private final PermissionsPlugin plugin;
+    private final List<String> groups;
+
+    PermissionInfo(PermissionsPlugin plugin, List<String> groups) {
+        this.plugin = plugin;
+        this.groups = groups;
+    }
+
+    public List<Group> getGroups() {
+        List<Group> result = new ArrayList<Group>(groups.size());
+        for (String name : groups) {
+            result.add(new Group(plugin, name));
+        }
+        return result;
+    }
+
+    public Set<String> getWorlds() {
+        return Collections.singleton(BenchmarkServer.WORLD);
+    }
+}
@@ -0,0 +1,55 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.platymuus.bukkit.permissions;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory stand-in for PermissionsBukkit. Like the real plugin it creates
+ * new group and info objects for every lookup.
+ */
+public class PermissionsPlugin extends StubPlugin {
+
+    public PermissionsPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public Group getGroup(String name) {
+        return getPermissions().getGroup(name) == null ? null : new Group(this, name);
+    }
+
+    public PermissionInfo getPlayerInfo(String player) {
+        PermissionGraph.User user = getPermissions().getUser(player);
+        return user == null ? null : new PermissionInfo(this, user.getGroupNames());
+    }
+
+    public List<Group> getAllGroups() {
+        List<Group> groups = new ArrayList<Group>();
+        for (String name : getPermissions().getGroupNames()) {
+            groups.add(new Group(this, name));
+        }
+        return groups;
+    }
+}
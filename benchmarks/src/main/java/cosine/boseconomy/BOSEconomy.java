@@ -0,0 +1,67 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cosine.boseconomy;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.Ledger;
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for BOSEconomy 0.7.
+ */
+public class BOSEconomy extends StubPlugin {
+
+    public BOSEconomy(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public double getPlayerMoneyDouble(String name) {
+        return getLedger().get(name);
+    }
+
+    public boolean setPlayerMoney(String name, double money, boolean mode) {
+        getLedger().set(name, money);
+        return true;
+    }
+
+    public boolean playerRegistered(String name, boolean mode) {
+        return getLedger().exists(name);
+    }
+
+    public boolean registerPlayer(String name) {
+        return getLedger().create(name, 0);
+    }
+
+    public String getMoneyName() {
+        return "Dollar";
+    }
+
+    public String getMoneyNamePlural() {
+        return "Dollars";
+    }
+
+    public int getFractionalDigits() {
+        return 2;
+    }
+
+    public String getMoneyFormatted(double money) {
+        return Ledger.format(money);
+    }
+}
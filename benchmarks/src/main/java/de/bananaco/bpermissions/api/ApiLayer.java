@@ -0,0 +1,69 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.bpermissions.api;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the static bPermissions 2 API.
+ */
+public class ApiLayer {
+
+    private static PermissionGraph permissions(String world) {
+        return WorldManager.getInstance().getWorld(world).getPermissions();
+    }
+
+    public static boolean hasPermission(String world, CalculableType type, String name, String node) {
+        PermissionGraph permissions = permissions(world);
+        if (type == CalculableType.USER) {
+            return permissions.has(name, node);
+        }
+        PermissionGraph.Group group = permissions.getGroup(name);
+        return group != null && group.has(node);
+    }
+
+    public static boolean hasGroup(String world, CalculableType type, String name, String group) {
+        return type == CalculableType.USER && permissions(world).inGroup(name, group, false);
+    }
+
+    public static String[] getGroups(String world, CalculableType type, String name) {
+        PermissionGraph.User user = type == CalculableType.USER ? permissions(world).getUser(name) : null;
+        if (user == null) {
+            return new String[0];
+        }
+        List<String> names = user.getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * @return the user's own value, else the one from their groups, or ""
+     *         when neither has it, as bPermissions does
+     */
+    public static String getValue(String world, CalculableType type, String name, String key) {
+        PermissionGraph permissions = permissions(world);
+        String value;
+        if (type == CalculableType.USER) {
+            PermissionGraph.User user = permissions.getUser(name);
+            value = user == null ? null : user.getMeta(key);
+        } else {
+            PermissionGraph.Group group = permissions.getGroup(name);
+            value = group == null ? null : group.getMeta(key);
+        }
+        return value == null ? "" : value;
+    }
+}
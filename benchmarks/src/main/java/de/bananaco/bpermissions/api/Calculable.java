@@ -0,0 +1,38 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.bpermissions.api;
+
+import java.util.Locale;
+
+/**
+ * In-memory stand-in for a bPermissions 2 user or group.
+ */
+public class Calculable {
+
+    private final String name;
+
+    public Calculable(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNameLowerCase() {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
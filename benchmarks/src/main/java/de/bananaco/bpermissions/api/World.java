@@ -0,0 +1,62 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.bpermissions.api;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a bPermissions 2 world. The real one is abstract
+ * with a file-backed implementation.
+ */
+public class World {
+
+    private final String name;
+    private final PermissionGraph permissions;
+    private final Map<String, Calculable> groups = new HashMap<String, Calculable>();
+
+    World(String name, PermissionGraph permissions) {
+        this.name = name;
+        this.permissions = permissions;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    PermissionGraph getPermissions() {
+        return permissions;
+    }
+
+    public Set<Calculable> getAll(CalculableType type) {
+        Set<Calculable> all = new LinkedHashSet<Calculable>();
+        if (type == CalculableType.GROUP) {
+            for (PermissionGraph.Group group : permissions.getGroups()) {
+                Calculable calculable = groups.get(group.getName());
+                if (calculable == null) {
+                    calculable = new Calculable(group.getName());
+                    groups.put(group.getName(), calculable);
+                }
+                all.add(calculable);
+            }
+        }
+        return all;
+    }
+}
@@ -0,0 +1,53 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.bpermissions.api;
+
+import java.util.Collections;
+import java.util.Set;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the bPermissions 2 world registry, with the one
+ * world.
+ */
+public class WorldManager {
+
+    private static WorldManager instance;
+
+    private final World world;
+
+    public WorldManager(PermissionGraph permissions) {
+        world = new World(BenchmarkServer.WORLD, permissions);
+    }
+
+    public static WorldManager getInstance() {
+        return instance;
+    }
+
+    public static void setInstance(WorldManager manager) {
+        instance = manager;
+    }
+
+    public World getWorld(String name) {
+        return world.getName().equalsIgnoreCase(name) ? world : null;
+    }
+
+    public Set<World> getAllWorlds() {
+        return Collections.singleton(world);
+    }
+}
@@ -0,0 +1,59 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.permissions;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import de.bananaco.permissions.info.InfoReader;
+import de.bananaco.permissions.worlds.WorldPermissionsManager;
+
+/**
+ * In-memory stand-in for bPermissions 1, whose API is static.
+ */
+public class Permissions extends StubPlugin {
+
+    private static WorldPermissionsManager manager;
+    private static InfoReader infoReader;
+
+    public Permissions(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+        manager = new WorldPermissionsManager(getPermissions());
+        infoReader = new InfoReader(getPermissions());
+    }
+
+    @Override
+    public void onDisable() {
+        manager = null;
+        infoReader = null;
+    }
+
+    public static WorldPermissionsManager getWorldPermissionsManager() {
+        return manager;
+    }
+
+    public static InfoReader getInfoReader() {
+        return infoReader;
+    }
+}
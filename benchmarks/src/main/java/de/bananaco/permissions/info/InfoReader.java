@@ -0,0 +1,60 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.permissions.info;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the bPermissions 1 info reader. Missing values come
+ * back as null; the real one may also answer "BLANKWORLD".
+ */
+public class InfoReader {
+
+    private final PermissionGraph permissions;
+
+    public InfoReader(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    public String getPrefix(String player, String world) {
+        return getValue(player, world, "prefix");
+    }
+
+    public String getSuffix(String player, String world) {
+        return getValue(player, world, "suffix");
+    }
+
+    public String getGroupPrefix(String group, String world) {
+        return getGroupValue(group, world, "prefix");
+    }
+
+    public String getGroupSuffix(String group, String world) {
+        return getGroupValue(group, world, "suffix");
+    }
+
+    /**
+     * @return the player's own value, else the one from their groups
+     */
+    public String getValue(String player, String world, String node) {
+        PermissionGraph.User user = permissions.getUser(player);
+        return user == null ? null : user.getMeta(node);
+    }
+
+    public String getGroupValue(String group, String world, String node) {
+        PermissionGraph.Group g = permissions.getGroup(group);
+        return g == null ? null : g.getMeta(node);
+    }
+}
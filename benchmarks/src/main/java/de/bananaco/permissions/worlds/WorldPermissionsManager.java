@@ -0,0 +1,52 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.bananaco.permissions.worlds;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import de.bananaco.permissions.interfaces.PermissionSet;
+
+/**
+ * In-memory stand-in for the bPermissions 1 world registry, with the one
+ * world.
+ */
+public class WorldPermissionsManager {
+
+    private final PermissionGraph permissions;
+    private final PermissionSet set;
+
+    public WorldPermissionsManager(final PermissionGraph permissions) {
+        this.permissions = permissions;
+        this.set = new PermissionSet() {
+            @Override
+            public List<String> getGroups(String player) {
+                PermissionGraph.User user = permissions.getUser(player);
+                return user == null ? null : user.getGroupNames();
+            }
+        };
+    }
+
+    PermissionGraph getPermissions() {
+        return permissions;
+    }
+
+    public PermissionSet getPermissionSet(String world) {
+        return BenchmarkServer.WORLD.equalsIgnoreCase(world) ? set : null;
+    }
+}
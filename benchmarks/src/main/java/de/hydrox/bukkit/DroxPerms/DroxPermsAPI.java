@@ -0,0 +1,70 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.hydrox.bukkit.DroxPerms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the DroxPerms API. A player has one main group and
+ * any number of subgroups.
+ */
+public class DroxPermsAPI {
+
+    private final DroxPerms plugin;
+
+    public DroxPermsAPI(DroxPerms plugin) {
+        this.plugin = plugin;
+    }
+
+    public String getPlayerGroup(String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? "default" : user.getPrimaryGroup().getName();
+    }
+
+    /**
+     * Like the real one this returns a new list, which the hook adds to.
+     */
+    public ArrayList<String> getPlayerSubgroups(String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        if (user == null) {
+            return new ArrayList<String>();
+        }
+        List<String> groups = user.getGroupNames();
+        return new ArrayList<String>(groups.subList(1, groups.size()));
+    }
+
+    /**
+     * @return only the player's own info; the hook falls back to the main
+     *         group for the prefix itself
+     */
+    public String getPlayerInfo(String player, String node) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? null : user.getMeta().get(node);
+    }
+
+    public String getGroupInfo(String group, String node) {
+        PermissionGraph.Group g = plugin.getPermissions().getGroup(group);
+        return g == null ? null : g.getMeta(node);
+    }
+
+    public String[] getGroupNames() {
+        List<String> names = plugin.getPermissions().getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+}
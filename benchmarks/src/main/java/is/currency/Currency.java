@@ -0,0 +1,53 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package is.currency;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import is.currency.config.CurrencyConfiguration;
+import is.currency.syst.AccountManager;
+import is.currency.syst.FormatHelper;
+
+/**
+ * In-memory stand-in for CurrencyCore.
+ */
+public class Currency extends StubPlugin {
+
+    private final AccountManager accountManager = new AccountManager(this);
+    private final FormatHelper formatHelper = new FormatHelper(this);
+    private final CurrencyConfiguration currencyConfig = new CurrencyConfiguration();
+
+    public Currency(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public AccountManager getAccountManager() {
+        return accountManager;
+    }
+
+    public FormatHelper getFormatHelper() {
+        return formatHelper;
+    }
+
+    public CurrencyConfiguration getCurrencyConfig() {
+        return currencyConfig;
+    }
+}
@@ -0,0 +1,56 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package is.currency.syst;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+/**
+ * In-memory stand-in for a CurrencyCore account.
+ */
+public class AccountContext {
+
+    private final Ledger ledger;
+    private final String username;
+
+    AccountContext(Ledger ledger, String username) {
+        this.ledger = ledger;
+        this.username = username;
+    }
+
+    public double getBalance() {
+        return ledger.get(username);
+    }
+
+    public void setBalance(double balance) {
+        ledger.set(username, balance);
+    }
+
+    public void addBalance(double amount) {
+        ledger.add(username, amount);
+    }
+
+    public void subtractBalance(double amount) {
+        ledger.add(username, -amount);
+    }
+
+    public boolean hasBalance(double amount) {
+        return ledger.has(username, amount);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,53 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package is.currency.syst;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import is.currency.Currency;
+
+/**
+ * In-memory stand-in for the CurrencyCore account manager.
+ */
+public class AccountManager {
+
+    private final Currency currency;
+
+    public AccountManager(Currency currency) {
+        this.currency = currency;
+    }
+
+    public void createAccount(String username) {
+        currency.getLedger().create(username, 0);
+    }
+
+    public void deleteAccount(String username) {
+        currency.getLedger().remove(username);
+    }
+
+    public boolean hasAccount(String username) {
+        return currency.getLedger().exists(username);
+    }
+
+    public AccountContext getAccount(String username) {
+        return hasAccount(username) ? new AccountContext(currency.getLedger(), username) : null;
+    }
+
+    public List<String> getAccountList() {
+        return new ArrayList<String>();
+    }
+}
@@ -0,0 +1,52 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.ashtheking.currency;
+
+/**
+ * In-memory stand-in for the MultiCurrency balance API, with a single
+ * currency.
+ */
+public class CurrencyList {
+
+    public static final String CURRENCY = "Dollar";
+
+    static Currency plugin;
+
+    public static double getValue(String currency, String name) {
+        return plugin.getLedger().get(name);
+    }
+
+    public static boolean add(String name, double amount) {
+        plugin.getLedger().add(name, amount);
+        return true;
+    }
+
+    public static boolean subtract(String name, double amount) {
+        if (!hasEnough(name, amount)) {
+            return false;
+        }
+        plugin.getLedger().add(name, -amount);
+        return true;
+    }
+
+    public static boolean hasEnough(String name, double amount) {
+        return plugin.getLedger().has(name, amount);
+    }
+
+    public static Object[] maxCurrency(String name) {
+        return new Object[] { CURRENCY, plugin.getLedger().get(name) };
+    }
+}
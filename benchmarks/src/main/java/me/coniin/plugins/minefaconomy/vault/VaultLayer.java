@@ -0,0 +1,90 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.coniin.plugins.minefaconomy.vault;
+
+import net.milkbowl.vault.benchmark.Ledger;
+import net.milkbowl.vault.economy.EconomyResponse;
+import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+
+import me.coniin.plugins.minefaconomy.Minefaconomy;
+
+/**
+ * In-memory stand-in for the Minefaconomy Vault layer, which answers with
+ * Vault's own response type.
+ */
+public class VaultLayer {
+
+    private final Minefaconomy plugin;
+
+    public VaultLayer(Minefaconomy plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean isEnabled() {
+        return plugin.isEnabled();
+    }
+
+    public String getName() {
+        return "Minefaconomy";
+    }
+
+    public int fractionalDigits() {
+        return 2;
+    }
+
+    public String format(double amount) {
+        return Ledger.format(amount);
+    }
+
+    public String currencyNamePlural() {
+        return "Dollars";
+    }
+
+    public String currencyNameSingular() {
+        return "Dollar";
+    }
+
+    public boolean hasAccount(String name) {
+        return plugin.getLedger().exists(name);
+    }
+
+    public double getBalance(String name) {
+        return plugin.getLedger().get(name);
+    }
+
+    public boolean has(String name, double amount) {
+        return plugin.getLedger().has(name, amount);
+    }
+
+    public EconomyResponse withdrawPlayer(String name, double amount) {
+        if (!has(name, amount)) {
+            return new EconomyResponse(0, getBalance(name), ResponseType.FAILURE, "Insufficient funds");
+        }
+        return new EconomyResponse(amount, plugin.getLedger().add(name, -amount), ResponseType.SUCCESS, null);
+    }
+
+    public EconomyResponse depositPlayer(String name, double amount) {
+        return new EconomyResponse(amount, plugin.getLedger().add(name, amount), ResponseType.SUCCESS, null);
+    }
+
+    public boolean createPlayerAccount(String name) {
+        return plugin.getLedger().create(name, 0);
+    }
+
+    public boolean hasBankSupport() {
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.ethan.eWallet;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for eWallet, an integer economy.
+ */
+public class ECO extends StubPlugin {
+
+    public String singularCurrency = "Dollar";
+    public String pluralCurrency = "Dollars";
+
+    public ECO(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public Integer getMoney(String name) {
+        return (int) getLedger().get(name);
+    }
+
+    public void setMoney(String name, Integer amount) {
+        getLedger().set(name, amount);
+    }
+
+    public void giveMoney(String name, Integer amount) {
+        getLedger().add(name, amount);
+    }
+
+    public void takeMoney(String name, Integer amount) {
+        getLedger().add(name, -amount);
+    }
+
+    public Boolean hasAccount(String name) {
+        return getLedger().exists(name);
+    }
+
+    public void createAccount(String name, Integer balance) {
+        getLedger().create(name, balance);
+    }
+}
@@ -0,0 +1,88 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.igwb.GoldenChest.Vault;
+
+import net.milkbowl.vault.benchmark.Ledger;
+
+import me.igwb.GoldenChest.GoldenChestEconomy;
+
+/**
+ * In-memory stand-in for the GoldenChestEconomy connector.
+ */
+public class VaultConnector {
+
+    private final GoldenChestEconomy plugin;
+
+    public VaultConnector(GoldenChestEconomy plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean createPlayerAccount(String name) {
+        return plugin.getLedger().create(name, 0);
+    }
+
+    public boolean createPlayerAccount(String name, String world) {
+        return createPlayerAccount(name);
+    }
+
+    public String currencyNamePlural() {
+        return "Dollars";
+    }
+
+    public String currencyNameSingular() {
+        return "Dollar";
+    }
+
+    public void depositPlayer(String name, double amount) {
+        plugin.getLedger().add(name, amount);
+    }
+
+    public void withdrawPlayer(String name, double amount) {
+        plugin.getLedger().add(name, -amount);
+    }
+
+    public String format(double amount) {
+        return Ledger.format(amount);
+    }
+
+    public int fractionalDigits() {
+        return 2;
+    }
+
+    public double getBalance(String name) {
+        return plugin.getLedger().get(name);
+    }
+
+    public double getBalance(String name, String world) {
+        return getBalance(name);
+    }
+
+    public boolean has(String name, double amount) {
+        return plugin.getLedger().has(name, amount);
+    }
+
+    public boolean has(String name, String world, double amount) {
+        return has(name, amount);
+    }
+
+    public boolean hasAccount(String name) {
+        return plugin.getLedger().exists(name);
+    }
+
+    public boolean hasAccount(String name, String world) {
+        return hasAccount(name);
+    }
+}
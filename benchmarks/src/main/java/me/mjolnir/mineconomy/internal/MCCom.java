@@ -0,0 +1,64 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.mjolnir.mineconomy.internal;
+
+import me.mjolnir.mineconomy.MineConomy;
+import me.mjolnir.mineconomy.exceptions.AccountNameConflictException;
+import me.mjolnir.mineconomy.exceptions.NoAccountException;
+
+/**
+ * In-memory stand-in for the MineConomy balance API.
+ */
+public class MCCom {
+
+    private static MineConomy plugin;
+
+    public static void setPlugin(MineConomy instance) {
+        plugin = instance;
+    }
+
+    public static boolean exists(String account) {
+        return plugin.getLedger().exists(account);
+    }
+
+    public static void create(String account) {
+        if (!plugin.getLedger().create(account, 0)) {
+            throw new AccountNameConflictException("create", account);
+        }
+    }
+
+    public static String getDefaultCurrency() {
+        return "Dollars";
+    }
+
+    public static boolean canExternalAfford(String account, double amount) {
+        return getExternalBalance(account) >= amount;
+    }
+
+    public static double getExternalBalance(String account) {
+        if (!plugin.getLedger().exists(account)) {
+            throw new NoAccountException("getExternalBalance", account);
+        }
+        return plugin.getLedger().get(account);
+    }
+
+    public static void setExternalBalance(String account, double balance) {
+        if (!plugin.getLedger().exists(account)) {
+            throw new NoAccountException("setExternalBalance", account);
+        }
+        plugin.getLedger().set(account, balance);
+    }
+}
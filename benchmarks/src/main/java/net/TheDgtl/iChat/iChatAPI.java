@@ -0,0 +1,50 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.TheDgtl.iChat;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import org.bukkit.entity.Player;
+
+/**
+ * In-memory stand-in for the iChat API.
+ */
+public class iChatAPI {
+
+    private final iChat plugin;
+
+    iChatAPI(iChat plugin) {
+        this.plugin = plugin;
+    }
+
+    public String getPrefix(Player player) {
+        String prefix = getInfo(player, "prefix");
+        return prefix == null ? "" : prefix;
+    }
+
+    public String getSuffix(Player player) {
+        String suffix = getInfo(player, "suffix");
+        return suffix == null ? "" : suffix;
+    }
+
+    /**
+     * @return the player's own info, else the one from their groups
+     */
+    public String getInfo(Player player, String node) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player.getName());
+        return user == null ? null : user.getMeta(node);
+    }
+}
@@ -0,0 +1,63 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.ae97.totalpermissions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import net.ae97.totalpermissions.permission.PermissionGroup;
+import net.ae97.totalpermissions.permission.PermissionUser;
+
+/**
+ * In-memory stand-in for the TotalPermissions manager. Users and groups are
+ * loaded on first use and kept.
+ */
+public final class PermissionManager {
+
+    private final PermissionGraph permissions;
+    private final Map<String, PermissionUser> users = new HashMap<String, PermissionUser>();
+    private final Map<String, PermissionGroup> groups = new HashMap<String, PermissionGroup>();
+
+    PermissionManager(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    /**
+     * Like the real one this also loads a user for any unknown name, which
+     * the hook relies on when it reads group info through getUser.
+     */
+    public PermissionUser getUser(String name) {
+        PermissionUser user = users.get(name);
+        if (user == null) {
+            PermissionGraph.User backing = permissions.getUser(name);
+            user = new PermissionUser(name, backing == null ? null : backing.getMeta());
+            users.put(name, user);
+        }
+        return user;
+    }
+
+    public PermissionGroup getGroup(String name) {
+        PermissionGroup group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = permissions.getGroup(name);
+            group = new PermissionGroup(name, backing == null ? null : backing.getMeta());
+            groups.put(name, group);
+        }
+        return group;
+    }
+}
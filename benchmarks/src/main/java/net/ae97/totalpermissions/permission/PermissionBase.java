@@ -0,0 +1,57 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.ae97.totalpermissions.permission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the TotalPermissions base of users and groups. The
+ * options are its own, typed the way they load from YAML; nothing is
+ * inherited.
+ */
+public abstract class PermissionBase {
+
+    private final String name;
+    private final Map<String, Object> options = new HashMap<String, Object>();
+
+    PermissionBase(String name, Map<String, String> meta) {
+        this.name = name;
+        if (meta != null) {
+            for (Map.Entry<String, String> entry : meta.entrySet()) {
+                options.put(entry.getKey(), PermissionGraph.typed(entry.getValue()));
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Object getOption(String key) {
+        return options.get(key);
+    }
+
+    public Map<String, Object> getOptions() {
+        return options;
+    }
+
+    public void setOption(String key, Object value, String world) {
+        options.put(key, value);
+    }
+}
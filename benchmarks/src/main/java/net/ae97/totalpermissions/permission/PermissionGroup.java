@@ -0,0 +1,28 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.ae97.totalpermissions.permission;
+
+import java.util.Map;
+
+/**
+ * In-memory stand-in for a TotalPermissions group.
+ */
+public class PermissionGroup extends PermissionBase {
+
+    public PermissionGroup(String name, Map<String, String> meta) {
+        super(name, meta);
+    }
+}
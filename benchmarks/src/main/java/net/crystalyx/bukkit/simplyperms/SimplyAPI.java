@@ -0,0 +1,67 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.crystalyx.bukkit.simplyperms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the SimplyPerms API. Like the real one it reads
+ * straight from the config: player permissions are the player's own nodes
+ * only, copied into a new map per call, and group lists are new lists.
+ */
+public class SimplyAPI {
+
+    private final SimplyPlugin plugin;
+
+    public SimplyAPI(SimplyPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public Map<String, Boolean> getPlayerPermissions(String player, String world) {
+        Map<String, Boolean> nodes = new HashMap<String, Boolean>();
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        if (user != null) {
+            for (String node : user.getNodes()) {
+                nodes.put(node, true);
+            }
+        }
+        return nodes;
+    }
+
+    public List<String> getPlayerGroups(String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? new ArrayList<String>() : user.getGroupNames();
+    }
+
+    public List<String> getGroupWorlds(String group) {
+        return Collections.singletonList(BenchmarkServer.WORLD);
+    }
+
+    public List<String> getAllGroups() {
+        return plugin.getPermissions().getGroupNames();
+    }
+
+    public boolean isPlayerInDB(String player) {
+        return plugin.getPermissions().getUser(player) != null;
+    }
+}
@@ -0,0 +1,82 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.krinsoft.privileges;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import net.krinsoft.privileges.groups.GroupManager;
+
+/**
+ * In-memory stand-in for Privileges. The user and group nodes are sections
+ * of its YAML files, so their values are typed the way YAML loads them.
+ */
+public class Privileges extends StubPlugin {
+
+    private final GroupManager groupManager = new GroupManager(this);
+    private final Map<String, ConfigurationSection> userNodes = new HashMap<String, ConfigurationSection>();
+    private final Map<String, ConfigurationSection> groupNodes = new HashMap<String, ConfigurationSection>();
+
+    public Privileges(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public GroupManager getGroupManager() {
+        return groupManager;
+    }
+
+    /**
+     * @return the user's own section, without anything from their groups
+     */
+    public ConfigurationSection getUserNode(String player) {
+        ConfigurationSection node = userNodes.get(player);
+        if (node == null) {
+            PermissionGraph.User user = getPermissions().getUser(player);
+            node = section(user == null ? null : user.getMeta());
+            userNodes.put(player, node);
+        }
+        return node;
+    }
+
+    public ConfigurationSection getGroupNode(String group) {
+        ConfigurationSection node = groupNodes.get(group);
+        if (node == null) {
+            PermissionGraph.Group g = getPermissions().getGroup(group);
+            node = section(g == null ? null : g.getMeta());
+            groupNodes.put(group, node);
+        }
+        return node;
+    }
+
+    private static ConfigurationSection section(Map<String, String> meta) {
+        MemoryConfiguration section = new MemoryConfiguration();
+        if (meta != null) {
+            for (Map.Entry<String, String> entry : meta.entrySet()) {
+                section.set(entry.getKey(), PermissionGraph.typed(entry.getValue()));
+            }
+        }
+        return section;
+    }
+}
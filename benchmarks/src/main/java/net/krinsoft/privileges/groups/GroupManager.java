@@ -0,0 +1,66 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.krinsoft.privileges.groups;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.krinsoft.privileges.Privileges;
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * In-memory stand-in for the Privileges group registry. A player is in
+ * exactly one group, which is their rank.
+ */
+public class GroupManager {
+
+    private final Privileges plugin;
+    private final Map<String, Group> groups = new HashMap<String, Group>();
+
+    public GroupManager(Privileges plugin) {
+        this.plugin = plugin;
+    }
+
+    public Group getGroup(String name) {
+        Group group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = plugin.getPermissions().getGroup(name);
+            if (backing == null) {
+                return null;
+            }
+            group = new RankedGroup(backing);
+            groups.put(name, group);
+        }
+        return group;
+    }
+
+    public Group getGroup(OfflinePlayer player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player.getName());
+        return user == null ? null : getGroup(user.getPrimaryGroup().getName());
+    }
+
+    public Set<Group> getGroups() {
+        Set<Group> all = new LinkedHashSet<Group>();
+        for (PermissionGraph.Group group : plugin.getPermissions().getGroups()) {
+            all.add(getGroup(group.getName()));
+        }
+        return all;
+    }
+}
@@ -0,0 +1,53 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.krinsoft.privileges.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a Privileges group. Its tree is the group and
+ * everything it inherits, nearest first.
+ */
+public class RankedGroup implements Group {
+
+    private final PermissionGraph.Group group;
+    private final List<String> tree = new ArrayList<String>();
+
+    RankedGroup(PermissionGraph.Group group) {
+        this.group = group;
+        for (PermissionGraph.Group g = group; g != null; g = g.getParents().isEmpty() ? null : g.getParents().get(0)) {
+            tree.add(g.getName());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return group.getName();
+    }
+
+    @Override
+    public boolean isMemberOf(String name) {
+        return tree.contains(name);
+    }
+
+    @Override
+    public List<String> getGroupTree() {
+        return tree;
+    }
+}
@@ -0,0 +1,371 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitScheduler;
+
+/**
+ * Just enough of a server for the hooks to find their backend plugins:
+ * a plugin manager that dispatches plugin enable and disable events to the
+ * registered listeners, offline and online players and a single world.
+ * Everything else answers null, false or 0.
+ *
+ * Bukkit only accepts one server per JVM, so there is one instance that is
+ * {@link #reset()} between benchmark trials.
+ */
+public final class BenchmarkServer implements InvocationHandler {
+
+    public static final String WORLD = "world";
+
+    private static BenchmarkServer instance;
+
+    private final Logger logger = Logger.getLogger("Benchmark");
+    private final Server server;
+    private final PluginManager pluginManager;
+    private final BukkitScheduler scheduler;
+    private final World world;
+    private final JavaPluginLoader loader;
+    private final File dataFolder;
+    private final Map<String, StubPlugin> plugins = new LinkedHashMap<String, StubPlugin>();
+    private final List<Listener> listeners = new ArrayList<Listener>();
+    private final Map<String, OfflinePlayer> offlinePlayers = new HashMap<String, OfflinePlayer>();
+    private final Map<String, Player> onlinePlayers = new LinkedHashMap<String, Player>();
+    private PermissionGraph permissions;
+
+    private BenchmarkServer() {
+        logger.setLevel(Level.WARNING);
+        server = proxy(Server.class, this);
+        pluginManager = proxy(PluginManager.class, this);
+        scheduler = proxy(BukkitScheduler.class, this);
+        world = proxy(World.class, new Named(WORLD, UUID.nameUUIDFromBytes(WORLD.getBytes(Charset.forName("UTF-8")))));
+        loader = new JavaPluginLoader(server);
+        dataFolder = new File(System.getProperty("java.io.tmpdir"), "vault-benchmarks");
+    }
+
+    public static synchronized BenchmarkServer get() {
+        if (instance == null) {
+            instance = new BenchmarkServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    /**
+     * Drops all plugins, listeners, players and permissions left over from
+     * the last trial.
+     */
+    public void reset() {
+        for (StubPlugin plugin : plugins.values()) {
+            if (plugin.isEnabled()) {
+                plugin.disable();
+            }
+        }
+        plugins.clear();
+        listeners.clear();
+        offlinePlayers.clear();
+        onlinePlayers.clear();
+        permissions = null;
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * Creates a plugin and registers it under its name, without enabling it.
+     * @param type the plugin class, which needs StubPlugin's constructor
+     * @param name the name from the plugin.yml
+     * @param version the version from the plugin.yml
+     */
+    public <T extends StubPlugin> T load(Class<T> type, String name, String version) {
+        PluginDescriptionFile description = new PluginDescriptionFile(name, version, type.getName());
+        T plugin;
+        try {
+            plugin = type.getConstructor(JavaPluginLoader.class, PluginDescriptionFile.class, File.class, File.class)
+                    .newInstance(loader, description, new File(dataFolder, name), new File(dataFolder, name + ".jar"));
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Could not create " + name, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + name, e);
+        }
+        plugins.put(name, plugin);
+        return plugin;
+    }
+
+    /**
+     * Enables a plugin and tells every registered listener about it, the way
+     * the server does when a backend loads after Vault. Calling it again for
+     * an enabled plugin only repeats the event.
+     */
+    public void enable(StubPlugin plugin) {
+        if (!plugin.isEnabled()) {
+            plugin.enable();
+        }
+        callEvent(new PluginEnableEvent(plugin));
+    }
+
+    public void disable(StubPlugin plugin) {
+        plugin.disable();
+        callEvent(new PluginDisableEvent(plugin));
+    }
+
+    private void callEvent(Event event) {
+        for (Listener listener : new ArrayList<Listener>(listeners)) {
+            // the server also calls handlers that are not public
+            Set<Method> methods = new LinkedHashSet<Method>(Arrays.asList(listener.getClass().getMethods()));
+            methods.addAll(Arrays.asList(listener.getClass().getDeclaredMethods()));
+            for (Method method : methods) {
+                if (!method.isAnnotationPresent(EventHandler.class) || method.getParameterTypes().length != 1
+                        || !method.getParameterTypes()[0].isInstance(event)) {
+                    continue;
+                }
+                try {
+                    method.setAccessible(true);
+                    method.invoke(listener, event);
+                } catch (InvocationTargetException e) {
+                    throw new IllegalStateException("Listener " + listener.getClass().getName() + " failed", e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    public OfflinePlayer getOfflinePlayer(String name) {
+        OfflinePlayer player = onlinePlayers.get(name);
+        if (player == null) {
+            player = offlinePlayers.get(name);
+        }
+        if (player == null) {
+            player = proxy(OfflinePlayer.class, new Named(name, offlineId(name)));
+            offlinePlayers.put(name, player);
+        }
+        return player;
+    }
+
+    /**
+     * Adds an online player in the world. Their permission checks go to the
+     * graph set with {@link #setPermissions(PermissionGraph)}.
+     */
+    public Player join(String name) {
+        Player player = proxy(Player.class, new Online(name, offlineId(name)));
+        onlinePlayers.put(name, player);
+        return player;
+    }
+
+    public Player getPlayer(String name) {
+        return onlinePlayers.get(name);
+    }
+
+    /**
+     * Sets what Player.hasPermission answers from, like the attachments a
+     * permission plugin gives its online players. Users with the same groups
+     * share one flattened node set, as the server keeps one map per player.
+     */
+    public void setPermissions(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    /**
+     * @return the id the server gives a player name in offline mode
+     */
+    public static UUID offlineId(String name) {
+        return UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(Charset.forName("UTF-8")));
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (proxy == server) {
+            if (name.equals("getPluginManager")) {
+                return pluginManager;
+            } else if (name.equals("getScheduler")) {
+                return scheduler;
+            } else if (name.equals("getLogger")) {
+                return logger;
+            } else if (name.equals("getName") || name.equals("getVersion") || name.equals("getBukkitVersion")) {
+                return "Benchmark";
+            } else if (name.equals("getOfflinePlayer") && args[0] instanceof String) {
+                return getOfflinePlayer((String) args[0]);
+            } else if ((name.equals("getPlayer") || name.equals("getPlayerExact")) && args[0] instanceof String) {
+                return getPlayer((String) args[0]);
+            } else if (name.equals("getOnlinePlayers")) {
+                return Collections.unmodifiableCollection(onlinePlayers.values());
+            } else if (name.equals("getOfflinePlayers")) {
+                return offlinePlayers.values().toArray(new OfflinePlayer[offlinePlayers.size()]);
+            } else if (name.equals("getWorld")) {
+                return WORLD.equals(args[0]) ? world : null;
+            } else if (name.equals("getWorlds")) {
+                return Collections.singletonList(world);
+            } else if (name.equals("isPrimaryThread")) {
+                return true;
+            }
+        } else if (proxy == pluginManager) {
+            if (name.equals("getPlugin")) {
+                return plugins.get(args[0]);
+            } else if (name.equals("getPlugins")) {
+                return plugins.values().toArray(new Plugin[plugins.size()]);
+            } else if (name.equals("isPluginEnabled")) {
+                Plugin plugin = args[0] instanceof Plugin ? (Plugin) args[0] : plugins.get(args[0]);
+                return plugin != null && plugin.isEnabled();
+            } else if (name.equals("registerEvents")) {
+                listeners.add((Listener) args[0]);
+                return null;
+            } else if (name.equals("callEvent")) {
+                callEvent((Event) args[0]);
+                return null;
+            }
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        }
+        return (byte) 0;
+    }
+
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(BenchmarkServer.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * Offline players and worlds, which only need a name and an id.
+     */
+    private static final class Named implements InvocationHandler {
+        private final String name;
+        private final UUID id;
+
+        private Named(String name, UUID id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String called = method.getName();
+            if (called.equals("getName") || called.equals("toString")) {
+                return name;
+            } else if (called.equals("getUniqueId") || called.equals("getUID")) {
+                return id;
+            } else if (called.equals("hashCode")) {
+                return id.hashCode();
+            } else if (called.equals("equals")) {
+                return proxy == args[0];
+            }
+            return defaultValue(method.getReturnType());
+        }
+    }
+
+    /**
+     * Online players, which are also in the world and have permissions.
+     */
+    private final class Online implements InvocationHandler {
+        private final Named named;
+        private final String name;
+        private PermissionGraph.User user;
+        private Set<String> effective;
+
+        private Online(String name, UUID id) {
+            this.named = new Named(name, id);
+            this.name = name;
+        }
+
+        private boolean hasPermission(String node) {
+            if (permissions == null) {
+                return false;
+            }
+            if (user == null) {
+                user = permissions.getUser(name);
+                if (user == null) {
+                    return false;
+                }
+                effective = permissions.effective(user);
+            }
+            return user.getNodes().contains(node) || effective.contains(node);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String called = method.getName();
+            if (called.equals("isOnline")) {
+                return true;
+            } else if (called.equals("getPlayer")) {
+                return proxy;
+            } else if (called.equals("getDisplayName") || called.equals("getPlayerListName")) {
+                return name;
+            } else if (called.equals("getWorld")) {
+                return world;
+            } else if (called.equals("hasPermission") || called.equals("isPermissionSet")) {
+                Object node = args[0];
+                return hasPermission(node instanceof String ? (String) node : ((org.bukkit.permissions.Permission) node).getName());
+            }
+            return named.invoke(proxy, method, args);
+        }
+    }
+}
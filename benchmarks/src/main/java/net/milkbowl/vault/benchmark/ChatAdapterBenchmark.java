@@ -0,0 +1,176 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.milkbowl.vault.chat.Chat;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The cost of the prefix, suffix and info node lookups chat plugins make
+ * through each chat hook, typically several per chat message. Every player
+ * is online and in the top of four ranks plus the member group. Prefixes and
+ * suffixes are set on the ranks only, so hooks that read a player's prefix
+ * go through the backend's group fallback; the info nodes are set on the
+ * players.
+ *
+ * The typed getters are where the hooks differ most: some parse a string on
+ * every call, some unbox a value the backend keeps typed, and every Player
+ * variant first goes through the OfflinePlayer and String ones.
+ * Run them with the GC profiler to see the allocations per call, either
+ * through {@link #main(String[])} or with "-prof gc":
+ * "java -jar target/benchmarks.jar Chat -p backend=mChatSuite -prof gc".
+ *
+ * Calls a hook does not support throw, and JMH reports them as failed: group
+ * prefixes for iChat and mChat, and all info nodes for rscPermissions.
+ * TotalPermissions only reads a player's own options and looks groups up as
+ * users, so its prefixes measure a miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatAdapterBenchmark {
+
+    private static final int PLAYERS = 256;
+    private static final int DEPTH = 4;
+    private static final int NODES = 1000;
+
+    @Param
+    public ChatBackend backend;
+
+    private final Player[] players = new Player[PLAYERS];
+    private BenchmarkServer server;
+    private Chat chat;
+    private String rank;
+    private int next;
+
+    /**
+     * Runs these benchmarks with the GC profiler on. Other JMH options are
+     * passed through.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ChatAdapterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.get();
+        server.reset();
+        StubPlugin plugin = backend.load(server);
+        PermissionGraph graph = plugin.getPermissions();
+        graph.build(DEPTH, NODES);
+        rank = PermissionGraph.rankName(DEPTH - 1);
+        for (int i = 0; i < PLAYERS; i++) {
+            String name = "player" + i;
+            PermissionGraph.User user = graph.createUser(name, rank, PermissionGraph.MEMBER);
+            user.getMeta().put("bench.string", "gold");
+            user.getMeta().put("bench.int", "42");
+            user.getMeta().put("bench.double", "1.5");
+            user.getMeta().put("bench.boolean", "true");
+            players[i] = server.join(name);
+        }
+        server.setPermissions(graph);
+        StubPlugin vault = server.load(StubPlugin.class, "Vault", "1.7.3");
+        server.enable(vault);
+        chat = backend.hook(server, vault, plugin);
+
+        // isEnabled() is unreliable across hooks, and not every backend has
+        // both a prefix for the player and info nodes
+        if (!hooked()) {
+            throw new IllegalStateException("The " + backend + " hook did not pick up its backend");
+        }
+    }
+
+    private boolean hooked() {
+        String prefix = chat.getPlayerPrefix(players[0]);
+        if (prefix != null && !prefix.isEmpty()) {
+            return true;
+        }
+        try {
+            return chat.getPlayerInfoString(players[0], "bench.string", null) != null;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.reset();
+    }
+
+    @Benchmark
+    public String getPlayerPrefix() {
+        return chat.getPlayerPrefix(players[next++ & (PLAYERS - 1)]);
+    }
+
+    @Benchmark
+    public String getPlayerSuffix() {
+        return chat.getPlayerSuffix(players[next++ & (PLAYERS - 1)]);
+    }
+
+    @Benchmark
+    public String getGroupPrefix() {
+        return chat.getGroupPrefix(BenchmarkServer.WORLD, rank);
+    }
+
+    @Benchmark
+    public String getPlayerInfoString() {
+        return chat.getPlayerInfoString(players[next++ & (PLAYERS - 1)], "bench.string", null);
+    }
+
+    @Benchmark
+    public int getPlayerInfoInteger() {
+        return chat.getPlayerInfoInteger(players[next++ & (PLAYERS - 1)], "bench.int", 0);
+    }
+
+    @Benchmark
+    public double getPlayerInfoDouble() {
+        return chat.getPlayerInfoDouble(players[next++ & (PLAYERS - 1)], "bench.double", 0);
+    }
+
+    @Benchmark
+    public boolean getPlayerInfoBoolean() {
+        return chat.getPlayerInfoBoolean(players[next++ & (PLAYERS - 1)], "bench.boolean", false);
+    }
+}
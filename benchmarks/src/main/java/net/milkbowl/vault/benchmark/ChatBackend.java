@@ -0,0 +1,93 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The chat hooks Vault ships. Backends that are also permission plugins use
+ * the stand-in and permission hook of their {@link PermissionBackend}; the
+ * chat-only ones have their own stand-in and get the SuperPerms hook, which
+ * is what Vault would pick for them on a server without another permission
+ * plugin.
+ */
+public enum ChatBackend {
+    DroxPerms(PermissionBackend.DroxPerms),
+    GroupManager(PermissionBackend.GroupManager),
+    OverPermissions(PermissionBackend.OverPermissions),
+    Permissions3(PermissionBackend.Permissions3),
+    PermissionsEx(PermissionBackend.PermissionsEx),
+    Privileges(PermissionBackend.Privileges),
+    TotalPermissions("TotalPermissions", "0.3", net.ae97.totalpermissions.TotalPermissions.class),
+    bPermissions(PermissionBackend.bPermissions),
+    bPermissions2(PermissionBackend.bPermissions2),
+    iChat("iChat", "2.5", net.TheDgtl.iChat.iChat.class),
+    mChat("mChat", "1.3", net.D3GN.MiracleM4n.mChat.mChat.class),
+    mChatSuite("mChatSuite", "1.2", in.mDev.MiracleM4n.mChatSuite.mChatSuite.class),
+    rscPermissions(PermissionBackend.rscPermissions);
+
+    private final PermissionBackend permission;
+    private final String pluginName;
+    private final String version;
+    private final Class<? extends StubPlugin> pluginClass;
+
+    private ChatBackend(PermissionBackend permission) {
+        this.permission = permission;
+        this.pluginName = null;
+        this.version = null;
+        this.pluginClass = null;
+    }
+
+    private ChatBackend(String pluginName, String version, Class<? extends StubPlugin> pluginClass) {
+        this.permission = PermissionBackend.SuperPerms;
+        this.pluginName = pluginName;
+        this.version = version;
+        this.pluginClass = pluginClass;
+    }
+
+    /**
+     * Registers and enables the stand-in backend.
+     */
+    public StubPlugin load(BenchmarkServer server) {
+        if (pluginClass == null) {
+            return permission.load(server);
+        }
+        StubPlugin backend = server.load(pluginClass, pluginName, version);
+        server.enable(backend);
+        return backend;
+    }
+
+    /**
+     * Creates the permission hook and Vault's chat hook on top of it, then
+     * repeats the backend's enable event for the hooks that only pick it up
+     * from their listener.
+     */
+    public Chat hook(BenchmarkServer server, Plugin vault, StubPlugin backend) {
+        Permission perms = permission.hook(server, vault, backend);
+        Chat chat;
+        try {
+            chat = (Chat) Class.forName("net.milkbowl.vault.chat.plugins.Chat_" + name())
+                    .getConstructor(Plugin.class, Permission.class).newInstance(vault, perms);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the " + name() + " hook", e);
+        }
+        server.enable(backend);
+        return chat;
+    }
+}
@@ -0,0 +1,116 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of the calls plugins make most through each economy hook. The
+ * backends are in-memory stand-ins that all do the same map lookup, so the
+ * differences between hooks are the work Vault does around the backend call.
+ *
+ * Run a single hook with "java -jar target/benchmarks.jar Economy -p backend=Essentials".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class EconomyAdapterBenchmark {
+
+    private static final int PLAYERS = 1024;
+    private static final double BALANCE = 1000000000;
+
+    @Param
+    public EconomyBackend backend;
+
+    private final String[] names = new String[PLAYERS];
+    private BenchmarkServer server;
+    private Economy economy;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.get();
+        server.reset();
+        StubPlugin plugin = backend.load(server);
+        for (int i = 0; i < PLAYERS; i++) {
+            names[i] = "player" + i;
+            plugin.getLedger().create(names[i], BALANCE);
+        }
+        StubPlugin vault = server.load(StubPlugin.class, "Vault", "1.7.3");
+        server.enable(vault);
+        economy = backend.hook(server, vault, plugin);
+
+        // isEnabled() is unreliable across hooks, a balance read is not
+        if (Math.abs(economy.getBalance(names[0]) - BALANCE) > 1) {
+            throw new IllegalStateException("The " + backend + " hook did not pick up its backend");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.reset();
+    }
+
+    private String nextPlayer() {
+        return names[next++ & (PLAYERS - 1)];
+    }
+
+    @Benchmark
+    public double getBalance() {
+        return economy.getBalance(nextPlayer());
+    }
+
+    @Benchmark
+    public boolean has() {
+        return economy.has(nextPlayer(), 1);
+    }
+
+    @Benchmark
+    public EconomyResponse withdrawPlayer() {
+        return economy.withdrawPlayer(nextPlayer(), 1);
+    }
+
+    @Benchmark
+    public EconomyResponse depositPlayer() {
+        return economy.depositPlayer(nextPlayer(), 1);
+    }
+
+    @Benchmark
+    public String format() {
+        return economy.format(next++);
+    }
+}
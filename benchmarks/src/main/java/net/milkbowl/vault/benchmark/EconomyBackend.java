@@ -0,0 +1,84 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The economy hooks Vault ships, each with the plugin name and version its
+ * stand-in backend is registered under and the stand-in's plugin class.
+ */
+public enum EconomyBackend {
+    BOSE7("BOSEconomy", "0.7.3.1a", cosine.boseconomy.BOSEconomy.class),
+    CommandsEX("CommandsEX", "1.98", com.github.zathrus_writer.commandsex.CommandsEX.class),
+    Craftconomy3("Craftconomy3", "3.2.2", com.greatmancode.craftconomy3.BukkitLoader.class),
+    CurrencyCore("CurrencyCore", "0.1", is.currency.Currency.class),
+    DigiCoin("DigiCoin", "0.1", co.uk.silvania.cities.digicoin.DigiCoin.class),
+    Dosh("Dosh", "1.0", com.gravypod.Dosh.Dosh.class),
+    EconXP("EconXP", "0.4.1", ca.agnate.EconXP.EconXP.class),
+    Essentials("Essentials", "2.17.1", com.earth2me.essentials.Essentials.class),
+    GoldIsMoney2("GoldIsMoney", "2.0.0", com.flobi.GoldIsMoney2.GoldIsMoney.class),
+    GoldenChestEconomy("GoldenChestEconomy", "1.0", me.igwb.GoldenChest.GoldenChestEconomy.class),
+    Gringotts("Gringotts", "2.0", org.gestern.gringotts.Gringotts.class),
+    McMoney("McMoney", "1.0", boardinggamer.mcmoney.McMoney.class),
+    MiConomy("MiConomy", "1.0", com.gmail.bleedobsidian.miconomy.Main.class),
+    MineConomy("MineConomy", "1.6", me.mjolnir.mineconomy.MineConomy.class),
+    Minefaconomy("Minefaconomy", "0.2", me.coniin.plugins.minefaconomy.Minefaconomy.class),
+    MultiCurrency("MultiCurrency", "0.1", me.ashtheking.currency.Currency.class),
+    SDFEconomy("SDFEconomy", "0.2.2", com.github.omwah.SDFEconomy.SDFEconomy.class),
+    TAEcon("TAEcon", "1.0", net.teamalpha.taecon.TAEcon.class),
+    XPBank("XPBank", "0.9", com.gmail.mirelatrue.xpbank.XPBank.class),
+    eWallet("eWallet", "1.0", me.ethan.eWallet.ECO.class),
+    iConomy6("iConomy", "6.0.9b", com.iCo6.iConomy.class);
+
+    private final String pluginName;
+    private final String version;
+    private final Class<? extends StubPlugin> pluginClass;
+
+    private EconomyBackend(String pluginName, String version, Class<? extends StubPlugin> pluginClass) {
+        this.pluginName = pluginName;
+        this.version = version;
+        this.pluginClass = pluginClass;
+    }
+
+    /**
+     * Registers and enables the stand-in backend. Done before the hook is
+     * created, as some hooks only look for their backend in the constructor.
+     */
+    public StubPlugin load(BenchmarkServer server) {
+        StubPlugin backend = server.load(pluginClass, pluginName, version);
+        server.enable(backend);
+        return backend;
+    }
+
+    /**
+     * Creates Vault's hook for this backend, then repeats the backend's enable
+     * event for the hooks that only pick it up from their listener.
+     */
+    public Economy hook(BenchmarkServer server, Plugin vault, StubPlugin backend) {
+        Economy economy;
+        try {
+            economy = (Economy) Class.forName("net.milkbowl.vault.economy.plugins.Economy_" + name())
+                    .getConstructor(Plugin.class).newInstance(vault);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the " + name() + " hook", e);
+        }
+        server.enable(backend);
+        return economy;
+    }
+}
@@ -0,0 +1,87 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The balances behind every stand-in economy backend. A plain map keyed by
+ * account name, so the backend side of each call costs about the same for
+ * every hook and the differences measured are the hook's own.
+ */
+public class Ledger {
+
+    private final Map<String, double[]> accounts = new HashMap<String, double[]>();
+
+    public boolean exists(String name) {
+        return accounts.containsKey(name);
+    }
+
+    /**
+     * @return false if the account already existed
+     */
+    public boolean create(String name, double balance) {
+        if (accounts.containsKey(name)) {
+            return false;
+        }
+        accounts.put(name, new double[] { balance });
+        return true;
+    }
+
+    public boolean remove(String name) {
+        return accounts.remove(name) != null;
+    }
+
+    public double get(String name) {
+        double[] account = accounts.get(name);
+        return account == null ? 0 : account[0];
+    }
+
+    public void set(String name, double balance) {
+        double[] account = accounts.get(name);
+        if (account == null) {
+            accounts.put(name, new double[] { balance });
+        } else {
+            account[0] = balance;
+        }
+    }
+
+    public double add(String name, double amount) {
+        double[] account = accounts.get(name);
+        if (account == null) {
+            account = new double[1];
+            accounts.put(name, account);
+        }
+        return account[0] += amount;
+    }
+
+    public boolean has(String name, double amount) {
+        return get(name) >= amount;
+    }
+
+    /**
+     * The format every stand-in backend uses, so format() compares the hooks
+     * rather than the backends' number formatting.
+     */
+    public static String format(double amount) {
+        return Math.round(amount * 100) / 100.0 + " Dollars";
+    }
+
+    public void clear() {
+        accounts.clear();
+    }
+}
@@ -0,0 +1,137 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of the permission and group lookups plugins make through each
+ * permission hook. Every player is online, in the top rank of a chain of
+ * "depth" ranks plus the member group, and the ranks hold "nodes" nodes
+ * between them. The nodes checked all sit in the bottom rank, so a backend
+ * that walks the inheritance chain has to walk all of it.
+ *
+ * Hooks that check through Player.hasPermission hit the server's flattened
+ * set instead, and SimplyPerms only sees a player's own nodes, so for it
+ * playerHas measures a miss. Calls a hook does not support throw, and JMH
+ * reports them as failed.
+ *
+ * Run a single hook with "java -jar target/benchmarks.jar Permission -p backend=PermissionsEx".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionAdapterBenchmark {
+
+    private static final int PLAYERS = 256;
+
+    @Param
+    public PermissionBackend backend;
+
+    @Param({ "1", "4", "8" })
+    public int depth;
+
+    @Param({ "1000", "100000" })
+    public int nodes;
+
+    private final OfflinePlayer[] players = new OfflinePlayer[PLAYERS];
+    private final String[] granted = new String[PLAYERS];
+    private BenchmarkServer server;
+    private Permission permission;
+    private String rank;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = BenchmarkServer.get();
+        server.reset();
+        StubPlugin plugin = backend.load(server);
+        PermissionGraph graph = plugin.getPermissions();
+        graph.build(depth, nodes);
+        rank = PermissionGraph.rankName(depth - 1);
+        for (int i = 0; i < PLAYERS; i++) {
+            String name = "player" + i;
+            graph.createUser(name, rank, PermissionGraph.MEMBER);
+            players[i] = server.join(name);
+            granted[i] = PermissionGraph.node((i * 389 % (nodes / depth)) * depth);
+        }
+        server.setPermissions(graph);
+        StubPlugin vault = server.load(StubPlugin.class, "Vault", "1.7.3");
+        server.enable(vault);
+        permission = backend.hook(server, vault, plugin);
+
+        // isEnabled() is unreliable across hooks, a permission check is not
+        if (!permission.playerHas(BenchmarkServer.WORLD, players[0], "bench.user." + players[0].getName())) {
+            throw new IllegalStateException("The " + backend + " hook did not pick up its backend");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.reset();
+    }
+
+    @Benchmark
+    public boolean playerHas() {
+        int i = next++ & (PLAYERS - 1);
+        return permission.playerHas(BenchmarkServer.WORLD, players[i], granted[i]);
+    }
+
+    @Benchmark
+    public boolean playerHasUnset() {
+        return permission.playerHas(BenchmarkServer.WORLD, players[next++ & (PLAYERS - 1)], "bench.unset");
+    }
+
+    @Benchmark
+    public boolean playerInGroup() {
+        return permission.playerInGroup(BenchmarkServer.WORLD, players[next++ & (PLAYERS - 1)], rank);
+    }
+
+    @Benchmark
+    public String[] getPlayerGroups() {
+        return permission.getPlayerGroups(BenchmarkServer.WORLD, players[next++ & (PLAYERS - 1)]);
+    }
+
+    @Benchmark
+    public String getPrimaryGroup() {
+        return permission.getPrimaryGroup(BenchmarkServer.WORLD, players[next++ & (PLAYERS - 1)]);
+    }
+
+    @Benchmark
+    public String[] getGroups() {
+        return permission.getGroups();
+    }
+}
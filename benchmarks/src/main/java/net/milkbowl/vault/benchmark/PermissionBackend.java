@@ -0,0 +1,82 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The permission hooks Vault ships, each with the plugin name and version its
+ * stand-in backend is registered under and the stand-in's plugin class.
+ * SuperPerms has no backend and only reads the online players.
+ *
+ * TotalPermissions is left out: its hook never registers its listener or
+ * looks for the plugin, so it never hooks.
+ */
+public enum PermissionBackend {
+    DroxPerms("DroxPerms", "0.5.0", de.hydrox.bukkit.DroxPerms.DroxPerms.class),
+    GroupManager("GroupManager", "2.0", org.anjocaido.groupmanager.GroupManager.class),
+    KPerms("KPerms", "1.0", com.lightniinja.kperms.KPermsPlugin.class),
+    OverPermissions("OverPermissions", "2.0.0", com.overmc.overpermissions.internal.OverPermissions.class),
+    Permissions3("Permissions", "3.1.6", com.nijikokun.bukkit.Permissions.Permissions.class),
+    PermissionsBukkit("PermissionsBukkit", "2.0", com.platymuus.bukkit.permissions.PermissionsPlugin.class),
+    PermissionsEx("PermissionsEx", "1.23", ru.tehkode.permissions.bukkit.PermissionsEx.class),
+    Privileges("Privileges", "1.8", net.krinsoft.privileges.Privileges.class),
+    SimplyPerms("SimplyPerms", "1.7", net.crystalyx.bukkit.simplyperms.SimplyPlugin.class),
+    Starburst("Starburst", "1.0", com.dthielke.starburst.StarburstPlugin.class),
+    SuperPerms("SuperPerms", "1.0", StubPlugin.class),
+    Xperms("Xperms", "1.1", com.github.sebc722.xperms.core.Main.class),
+    bPermissions("bPermissions", "1.9", de.bananaco.permissions.Permissions.class),
+    bPermissions2("bPermissions", "2.10", de.bananaco.bpermissions.imp.Permissions.class),
+    rscPermissions("rscPermissions", "0.8", ru.simsonic.rscPermissions.MainPluginClass.class);
+
+    private final String pluginName;
+    private final String version;
+    private final Class<? extends StubPlugin> pluginClass;
+
+    private PermissionBackend(String pluginName, String version, Class<? extends StubPlugin> pluginClass) {
+        this.pluginName = pluginName;
+        this.version = version;
+        this.pluginClass = pluginClass;
+    }
+
+    /**
+     * Registers and enables the stand-in backend. Done before the hook is
+     * created, as some hooks only look for their backend in the constructor.
+     */
+    public StubPlugin load(BenchmarkServer server) {
+        StubPlugin backend = server.load(pluginClass, pluginName, version);
+        server.enable(backend);
+        return backend;
+    }
+
+    /**
+     * Creates Vault's hook for this backend, then repeats the backend's enable
+     * event for the hooks that only pick it up from their listener.
+     */
+    public Permission hook(BenchmarkServer server, Plugin vault, StubPlugin backend) {
+        Permission permission;
+        try {
+            permission = (Permission) Class.forName("net.milkbowl.vault.permission.plugins.Permission_" + name())
+                    .getConstructor(Plugin.class).newInstance(vault);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the " + name() + " hook", e);
+        }
+        server.enable(backend);
+        return permission;
+    }
+}
@@ -0,0 +1,342 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The groups, users and nodes behind every stand-in permission backend, the
+ * permission counterpart of {@link Ledger}. Lookups walk the inheritance
+ * chain with one hash lookup per group, so the backend side of a check costs
+ * about the same for every hook and grows with the group depth the way a
+ * real backend does.
+ */
+public class PermissionGraph {
+
+    /**
+     * The group every user is in besides their rank. It inherits nothing.
+     */
+    public static final String MEMBER = "member";
+
+    private final Map<String, Group> groups = new LinkedHashMap<String, Group>();
+    private final Map<String, User> users = new HashMap<String, User>();
+    private final Map<List<Group>, Set<String>> effective = new HashMap<List<Group>, Set<String>>();
+
+    /**
+     * Creates a chain of ranks where each rank inherits the one below it, and
+     * spreads the nodes evenly over the ranks. rank0 is at the bottom.
+     * @param depth the number of ranks
+     * @param nodes the number of nodes over all ranks
+     */
+    public void build(int depth, int nodes) {
+        clear();
+        Group parent = null;
+        for (int rank = 0; rank < depth; rank++) {
+            Group group = createGroup(rankName(rank));
+            if (parent != null) {
+                group.parents.add(parent);
+            }
+            group.meta.put("prefix", "[Rank " + rank + "] ");
+            group.meta.put("suffix", "");
+            parent = group;
+        }
+        for (int i = 0; i < nodes; i++) {
+            groups.get(rankName(i % depth)).nodes.add(node(i));
+        }
+        Group member = createGroup(MEMBER);
+        member.nodes.add("bench.member");
+        member.meta.put("prefix", "");
+        member.meta.put("suffix", "");
+    }
+
+    public static String rankName(int rank) {
+        return "rank" + rank;
+    }
+
+    /**
+     * @return the i-th node handed out by {@link #build(int, int)}; node i
+     *         belongs to rank i % depth
+     */
+    public static String node(int i) {
+        return "bench.plugin" + (i % 97) + ".node" + i;
+    }
+
+    /**
+     * @return the meta value the way a YAML backend loads it: a Boolean,
+     *         Integer or Double where it reads as one, else the string
+     */
+    public static Object typed(String value) {
+        if (value == null) {
+            return null;
+        } else if (value.equals("true") || value.equals("false")) {
+            return Boolean.valueOf(value);
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+        }
+        return value;
+    }
+
+    public Group createGroup(String name) {
+        Group group = new Group(name);
+        groups.put(name, group);
+        return group;
+    }
+
+    /**
+     * Adds a user in the given groups. The first group is the primary one.
+     */
+    public User createUser(String name, String... groupNames) {
+        User user = new User(name);
+        for (String groupName : groupNames) {
+            user.groups.add(groups.get(groupName));
+        }
+        user.nodes.add("bench.user." + name);
+        users.put(name, user);
+        return user;
+    }
+
+    public Group getGroup(String name) {
+        return groups.get(name);
+    }
+
+    public User getUser(String name) {
+        return users.get(name);
+    }
+
+    public Collection<User> getUsers() {
+        return users.values();
+    }
+
+    public Collection<Group> getGroups() {
+        return groups.values();
+    }
+
+    public List<String> getGroupNames() {
+        return new ArrayList<String>(groups.keySet());
+    }
+
+    public boolean has(String user, String node) {
+        User u = users.get(user);
+        return u != null && u.has(node);
+    }
+
+    /**
+     * @return whether the user is directly in the group, or with
+     *         inherited true also through one of their groups' parents
+     */
+    public boolean inGroup(String user, String group, boolean inherited) {
+        User u = users.get(user);
+        if (u == null) {
+            return false;
+        }
+        for (Group g : inherited ? u.getAllGroups() : u.groups) {
+            if (g.name.equals(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Every node the user has, flattened the way the server keeps them for an
+     * online player. Users with the same groups share one set.
+     */
+    public Set<String> effective(User user) {
+        Set<String> nodes = effective.get(user.groups);
+        if (nodes == null) {
+            nodes = new HashSet<String>();
+            for (Group group : user.getAllGroups()) {
+                nodes.addAll(group.nodes);
+            }
+            effective.put(new ArrayList<Group>(user.groups), nodes);
+        }
+        return nodes;
+    }
+
+    public void clear() {
+        groups.clear();
+        users.clear();
+        effective.clear();
+    }
+
+    /**
+     * A group with its own nodes, the groups it inherits and its chat meta.
+     */
+    public static class Group {
+        private final String name;
+        private final List<Group> parents = new ArrayList<Group>();
+        private final Set<String> nodes = new HashSet<String>();
+        private final Map<String, String> meta = new HashMap<String, String>();
+
+        Group(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<Group> getParents() {
+            return Collections.unmodifiableList(parents);
+        }
+
+        public Set<String> getNodes() {
+            return nodes;
+        }
+
+        public Map<String, String> getMeta() {
+            return meta;
+        }
+
+        public boolean has(String node) {
+            if (nodes.contains(node)) {
+                return true;
+            }
+            for (Group parent : parents) {
+                if (parent.has(node)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the meta value from this group or the closest parent
+         */
+        public String getMeta(String key) {
+            String value = meta.get(key);
+            if (value != null) {
+                return value;
+            }
+            for (Group parent : parents) {
+                value = parent.getMeta(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        void collect(List<Group> into) {
+            if (into.contains(this)) {
+                return;
+            }
+            into.add(this);
+            for (Group parent : parents) {
+                parent.collect(into);
+            }
+        }
+    }
+
+    /**
+     * A user with their own nodes and meta and the groups they are in.
+     */
+    public static class User {
+        private final String name;
+        private final List<Group> groups = new ArrayList<Group>();
+        private final Set<String> nodes = new HashSet<String>();
+        private final Map<String, String> meta = new HashMap<String, String>();
+
+        User(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the groups the user is directly in, primary group first
+         */
+        public List<Group> getGroups() {
+            return Collections.unmodifiableList(groups);
+        }
+
+        public List<String> getGroupNames() {
+            List<String> names = new ArrayList<String>(groups.size());
+            for (Group group : groups) {
+                names.add(group.name);
+            }
+            return names;
+        }
+
+        /**
+         * @return the user's groups and everything they inherit, nearest first
+         */
+        public List<Group> getAllGroups() {
+            List<Group> all = new ArrayList<Group>();
+            for (Group group : groups) {
+                group.collect(all);
+            }
+            return all;
+        }
+
+        public Group getPrimaryGroup() {
+            return groups.isEmpty() ? null : groups.get(0);
+        }
+
+        public Set<String> getNodes() {
+            return nodes;
+        }
+
+        public Map<String, String> getMeta() {
+            return meta;
+        }
+
+        public boolean has(String node) {
+            if (nodes.contains(node)) {
+                return true;
+            }
+            for (Group group : groups) {
+                if (group.has(node)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the user's own meta value, else the one from their groups
+         */
+        public String getMeta(String key) {
+            String value = meta.get(key);
+            if (value != null) {
+                return value;
+            }
+            for (Group group : groups) {
+                value = group.getMeta(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+}
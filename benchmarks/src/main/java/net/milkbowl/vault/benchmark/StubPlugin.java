@@ -0,0 +1,60 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.benchmark;
+
+import java.io.File;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * A plugin created outside a plugin class loader. Used as the Vault instance
+ * handed to the hooks and as the base of every stand-in backend plugin, which
+ * must keep the backend's class name so the hooks' casts and class name
+ * checks pass.
+ */
+public class StubPlugin extends JavaPlugin {
+
+    private final Ledger ledger = new Ledger();
+    private final PermissionGraph permissions = new PermissionGraph();
+
+    public StubPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    /**
+     * @return the balances this backend reads and writes
+     */
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * @return the groups and nodes this backend reads and writes
+     */
+    public PermissionGraph getPermissions() {
+        return permissions;
+    }
+
+    void enable() {
+        setEnabled(true);
+    }
+
+    void disable() {
+        setEnabled(false);
+    }
+}
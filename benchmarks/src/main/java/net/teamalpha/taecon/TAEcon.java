@@ -0,0 +1,59 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.teamalpha.taecon;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+/**
+ * In-memory stand-in for TAEcon, an integer economy.
+ */
+public class TAEcon extends StubPlugin {
+
+    public TAEcon(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    public int getBalance(String name) {
+        return (int) getLedger().get(name);
+    }
+
+    public Boolean setBalance(String name, int balance) {
+        getLedger().set(name, balance);
+        return true;
+    }
+
+    public Boolean addBalance(String name, int amount) {
+        getLedger().add(name, amount);
+        return true;
+    }
+
+    public Boolean removeBalance(String name, int amount) {
+        if (!getLedger().has(name, amount)) {
+            return false;
+        }
+        getLedger().add(name, -amount);
+        return true;
+    }
+
+    public String getCurrencyName(Boolean plural) {
+        return plural ? "Dollars" : "Dollar";
+    }
+}
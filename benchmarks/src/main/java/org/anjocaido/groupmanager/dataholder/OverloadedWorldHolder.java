@@ -0,0 +1,62 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.anjocaido.groupmanager.dataholder;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import org.anjocaido.groupmanager.data.Group;
+
+/**
+ * In-memory stand-in for the groups of a GroupManager world.
+ */
+public class OverloadedWorldHolder {
+
+    private final PermissionGraph permissions;
+    private final Map<String, Group> groups = new LinkedHashMap<String, Group>();
+
+    public OverloadedWorldHolder(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    public Group getGroup(String name) {
+        Group group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = permissions.getGroup(name);
+            if (backing == null) {
+                return null;
+            }
+            group = new Group(backing);
+            groups.put(name, group);
+        }
+        return group;
+    }
+
+    /**
+     * @return a view of the world's groups, like the real map values
+     */
+    public Collection<Group> getGroupList() {
+        if (groups.size() != permissions.getGroups().size()) {
+            for (PermissionGraph.Group group : permissions.getGroups()) {
+                getGroup(group.getName());
+            }
+        }
+        return groups.values();
+    }
+}
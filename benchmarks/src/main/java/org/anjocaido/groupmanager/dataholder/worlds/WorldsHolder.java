@@ -0,0 +1,57 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.anjocaido.groupmanager.dataholder.worlds;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+
+import org.anjocaido.groupmanager.GroupManager;
+import org.anjocaido.groupmanager.dataholder.OverloadedWorldHolder;
+import org.anjocaido.groupmanager.permissions.AnjoPermissionsHandler;
+
+/**
+ * In-memory stand-in for the GroupManager world registry. There is only the
+ * one world, which every player is mirrored to.
+ */
+public class WorldsHolder {
+
+    private final OverloadedWorldHolder data;
+    private final AnjoPermissionsHandler handler;
+
+    public WorldsHolder(GroupManager plugin) {
+        data = new OverloadedWorldHolder(plugin.getPermissions());
+        handler = new AnjoPermissionsHandler(plugin.getPermissions());
+    }
+
+    public OverloadedWorldHolder getWorldData(String world) {
+        return BenchmarkServer.WORLD.equalsIgnoreCase(world) ? data : null;
+    }
+
+    public OverloadedWorldHolder getWorldDataByPlayerName(String player) {
+        return data;
+    }
+
+    public OverloadedWorldHolder getDefaultWorld() {
+        return data;
+    }
+
+    public AnjoPermissionsHandler getWorldPermissions(String world) {
+        return BenchmarkServer.WORLD.equalsIgnoreCase(world) ? handler : null;
+    }
+
+    public AnjoPermissionsHandler getWorldPermissionsByPlayerName(String player) {
+        return handler;
+    }
+}
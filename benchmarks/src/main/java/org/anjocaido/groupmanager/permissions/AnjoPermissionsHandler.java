@@ -0,0 +1,105 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.anjocaido.groupmanager.permissions;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the GroupManager permission reader of a world.
+ */
+public class AnjoPermissionsHandler {
+
+    private final PermissionGraph permissions;
+
+    public AnjoPermissionsHandler(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    public boolean permission(String player, String node) {
+        return permissions.has(player, node);
+    }
+
+    public boolean inGroup(String player, String group) {
+        return permissions.inGroup(player, group, true);
+    }
+
+    /**
+     * @return the player's groups and everything they inherit
+     */
+    public String[] getGroups(String player) {
+        PermissionGraph.User user = permissions.getUser(player);
+        if (user == null) {
+            return new String[0];
+        }
+        List<PermissionGraph.Group> groups = user.getAllGroups();
+        String[] names = new String[groups.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = groups.get(i).getName();
+        }
+        return names;
+    }
+
+    public String getGroup(String player) {
+        PermissionGraph.User user = permissions.getUser(player);
+        return user == null ? null : user.getPrimaryGroup().getName();
+    }
+
+    public String getUserPrefix(String player) {
+        String prefix = getUserPermissionString(player, "prefix");
+        return prefix == null ? "" : prefix;
+    }
+
+    public String getUserSuffix(String player) {
+        String suffix = getUserPermissionString(player, "suffix");
+        return suffix == null ? "" : suffix;
+    }
+
+    /**
+     * @return the player's own variable, else the one from their groups
+     */
+    public String getUserPermissionString(String player, String node) {
+        PermissionGraph.User user = permissions.getUser(player);
+        return user == null ? null : user.getMeta(node);
+    }
+
+    public int getUserPermissionInteger(String player, String node) {
+        try {
+            return Integer.parseInt(getUserPermissionString(player, node));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public double getUserPermissionDouble(String player, String node) {
+        String value = getUserPermissionString(player, node);
+        try {
+            return value == null ? -1 : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public boolean getUserPermissionBoolean(String player, String node) {
+        return Boolean.parseBoolean(getUserPermissionString(player, node));
+    }
+
+    public String getGroupPermissionString(String group, String node) {
+        PermissionGraph.Group g = permissions.getGroup(group);
+        return g == null ? null : g.getMeta(node);
+    }
+}
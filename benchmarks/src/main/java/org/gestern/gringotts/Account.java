@@ -0,0 +1,47 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gestern.gringotts;
+
+/**
+ * In-memory stand-in for a Gringotts account.
+ */
+public class Account {
+
+    public final AccountHolder owner;
+    private final Gringotts plugin;
+
+    Account(Gringotts plugin, AccountHolder owner) {
+        this.plugin = plugin;
+        this.owner = owner;
+    }
+
+    public double balance() {
+        return plugin.getLedger().get(owner.getName());
+    }
+
+    public boolean add(double value) {
+        plugin.getLedger().add(owner.getName(), value);
+        return true;
+    }
+
+    public boolean remove(double value) {
+        if (!plugin.getLedger().has(owner.getName(), value)) {
+            return false;
+        }
+        plugin.getLedger().add(owner.getName(), -value);
+        return true;
+    }
+}
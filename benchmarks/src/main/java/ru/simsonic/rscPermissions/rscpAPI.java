@@ -0,0 +1,99 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.simsonic.rscPermissions;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+import org.bukkit.entity.Player;
+
+/**
+ * In-memory stand-in for the rscPermissions Vault API. Permission checks
+ * go to the online player, whose attachment rscPermissions fills.
+ */
+public class rscpAPI {
+
+    private final MainPluginClass plugin;
+
+    public rscpAPI(MainPluginClass plugin) {
+        this.plugin = plugin;
+    }
+
+    public String getName() {
+        return plugin.getName();
+    }
+
+    public boolean isEnabled() {
+        return plugin.isEnabled();
+    }
+
+    public boolean hasSuperPermsCompat() {
+        return true;
+    }
+
+    public boolean playerHas(String world, String player, String node) {
+        Player online = plugin.getServer().getPlayerExact(player);
+        return online != null && online.hasPermission(node);
+    }
+
+    public boolean playerInGroup(String world, String player, String group) {
+        return plugin.getPermissions().inGroup(player, group, true);
+    }
+
+    public String[] getPlayerGroups(String world, String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        if (user == null) {
+            return new String[0];
+        }
+        List<PermissionGraph.Group> groups = user.getAllGroups();
+        String[] names = new String[groups.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = groups.get(i).getName();
+        }
+        return names;
+    }
+
+    public String getPrimaryGroup(String world, String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? null : user.getPrimaryGroup().getName();
+    }
+
+    public String[] getGroups() {
+        List<String> names = plugin.getPermissions().getGroupNames();
+        return names.toArray(new String[names.size()]);
+    }
+
+    public String getPlayerPrefix(String world, String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? "" : user.getMeta("prefix");
+    }
+
+    public String getPlayerSuffix(String world, String player) {
+        PermissionGraph.User user = plugin.getPermissions().getUser(player);
+        return user == null ? "" : user.getMeta("suffix");
+    }
+
+    public String getGroupPrefix(String world, String group) {
+        PermissionGraph.Group g = plugin.getPermissions().getGroup(group);
+        return g == null ? "" : g.getMeta("prefix");
+    }
+
+    public String getGroupSuffix(String world, String group) {
+        PermissionGraph.Group g = plugin.getPermissions().getGroup(group);
+        return g == null ? "" : g.getMeta("suffix");
+    }
+}
@@ -0,0 +1,78 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.tehkode.permissions;
+
+import java.util.List;
+
+/**
+ * Stand-in for the PermissionsEx base of users and groups.
+ */
+public abstract class PermissionEntity {
+
+    public abstract String getName();
+
+    public abstract boolean has(String node, String world);
+
+    public abstract List<String> getParentIdentifiers(String world);
+
+    /**
+     * @return the option from this entity or what it inherits, else the
+     *         default
+     */
+    public abstract String getOption(String node, String world, String defaultValue);
+
+    public String getPrefix(String world) {
+        return getOption("prefix", world, "");
+    }
+
+    public String getSuffix(String world) {
+        return getOption("suffix", world, "");
+    }
+
+    public int getOptionInteger(String node, String world, int defaultValue) {
+        String value = getOption(node, world, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public double getOptionDouble(String node, String world, double defaultValue) {
+        String value = getOption(node, world, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getOptionBoolean(String node, String world, boolean defaultValue) {
+        String value = getOption(node, world, null);
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        return defaultValue;
+    }
+}
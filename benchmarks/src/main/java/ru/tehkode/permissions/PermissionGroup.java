@@ -0,0 +1,63 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.tehkode.permissions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a PermissionsEx group.
+ */
+public class PermissionGroup extends PermissionEntity implements Comparable<PermissionGroup> {
+
+    private final PermissionGraph.Group group;
+
+    PermissionGroup(PermissionGraph.Group group) {
+        this.group = group;
+    }
+
+    @Override
+    public String getName() {
+        return group.getName();
+    }
+
+    @Override
+    public boolean has(String node, String world) {
+        return group.has(node);
+    }
+
+    @Override
+    public String getOption(String node, String world, String defaultValue) {
+        String value = group.getMeta(node);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public List<String> getParentIdentifiers(String world) {
+        List<String> names = new ArrayList<String>();
+        for (PermissionGraph.Group parent : group.getParents()) {
+            names.add(parent.getName());
+        }
+        return names;
+    }
+
+    @Override
+    public int compareTo(PermissionGroup other) {
+        return getName().compareTo(other.getName());
+    }
+}
@@ -0,0 +1,89 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.tehkode.permissions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import net.milkbowl.vault.benchmark.BenchmarkServer;
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for the PermissionsEx manager. Users and groups are
+ * created on first use and kept, with users also indexed by id the way the
+ * real manager caches them.
+ */
+public class PermissionManager {
+
+    private final PermissionGraph permissions;
+    private final Map<String, PermissionUser> users = new HashMap<String, PermissionUser>();
+    private final Map<UUID, PermissionUser> usersById = new HashMap<UUID, PermissionUser>();
+    private final Map<String, PermissionGroup> groups = new HashMap<String, PermissionGroup>();
+
+    public PermissionManager(PermissionGraph permissions) {
+        this.permissions = permissions;
+    }
+
+    public PermissionUser getUser(String name) {
+        PermissionUser user = users.get(name);
+        if (user == null) {
+            PermissionGraph.User backing = permissions.getUser(name);
+            if (backing == null) {
+                return null;
+            }
+            user = new PermissionUser(backing);
+            users.put(name, user);
+            usersById.put(BenchmarkServer.offlineId(name), user);
+        }
+        return user;
+    }
+
+    public PermissionUser getUser(UUID id) {
+        PermissionUser user = usersById.get(id);
+        if (user == null) {
+            for (PermissionGraph.User backing : permissions.getUsers()) {
+                if (BenchmarkServer.offlineId(backing.getName()).equals(id)) {
+                    return getUser(backing.getName());
+                }
+            }
+        }
+        return user;
+    }
+
+    public PermissionGroup getGroup(String name) {
+        PermissionGroup group = groups.get(name);
+        if (group == null) {
+            PermissionGraph.Group backing = permissions.getGroup(name);
+            if (backing == null) {
+                return null;
+            }
+            group = new PermissionGroup(backing);
+            groups.put(name, group);
+        }
+        return group;
+    }
+
+    public List<PermissionGroup> getGroupList() {
+        List<PermissionGroup> list = new ArrayList<PermissionGroup>();
+        for (PermissionGraph.Group group : permissions.getGroups()) {
+            list.add(getGroup(group.getName()));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,62 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.tehkode.permissions;
+
+import java.util.List;
+
+import net.milkbowl.vault.benchmark.PermissionGraph;
+
+/**
+ * In-memory stand-in for a PermissionsEx user.
+ */
+public class PermissionUser extends PermissionEntity {
+
+    private final PermissionGraph.User user;
+
+    PermissionUser(PermissionGraph.User user) {
+        this.user = user;
+    }
+
+    @Override
+    public String getName() {
+        return user.getName();
+    }
+
+    @Override
+    public boolean has(String node, String world) {
+        return user.has(node);
+    }
+
+    public boolean inGroup(String group, String world) {
+        for (PermissionGraph.Group parent : user.getAllGroups()) {
+            if (parent.getName().equalsIgnoreCase(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getOption(String node, String world, String defaultValue) {
+        String value = user.getMeta(node);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public List<String> getParentIdentifiers(String world) {
+        return user.getGroupNames();
+    }
+}
@@ -0,0 +1,51 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ru.tehkode.permissions.bukkit;
+
+import java.io.File;
+
+import net.milkbowl.vault.benchmark.StubPlugin;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import ru.tehkode.permissions.PermissionManager;
+
+/**
+ * In-memory stand-in for PermissionsEx, whose manager is reached statically.
+ */
+public class PermissionsEx extends StubPlugin {
+
+    private static PermissionManager manager;
+
+    public PermissionsEx(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onEnable() {
+        manager = new PermissionManager(getPermissions());
+    }
+
+    @Override
+    public void onDisable() {
+        manager = null;
+    }
+
+    public static PermissionManager getPermissionManager() {
+        return manager;
+    }
+}
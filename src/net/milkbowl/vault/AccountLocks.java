@@ -0,0 +1,106 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks for hooks whose backend only offers separate reads and writes, so a
+ * withdrawal checks the balance and takes the money without another thread
+ * changing it in between. Accounts are spread over a fixed set of locks by
+ * name, so calls for different players rarely wait on each other and the
+ * locks never need to be cleaned up. Account names are compared ignoring
+ * case, as most backends do.
+ *
+ * The locks are reentrant and shared by every hook, so code holding one may
+ * call into a hook that takes the same one.
+ */
+public final class AccountLocks {
+
+    private static final int STRIPES = 256;
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private AccountLocks() {
+    }
+
+    /**
+     * Waits for and takes the lock of a player's account.
+     * @return the lock, to unlock in a finally block
+     */
+    public static Lock lockPlayer(String playerName) {
+        Lock lock = LOCKS[stripe(playerName, 0)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Waits for and takes the lock of a bank account.
+     * @return the lock, to unlock in a finally block
+     */
+    public static Lock lockBank(String bankName) {
+        Lock lock = LOCKS[stripe(bankName, 0x5bd1e995)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Waits for and takes the locks of several players' accounts, always in
+     * the same order so two threads doing this cannot block each other.
+     * @return the locks taken, to pass to {@link #unlock(List)} in a finally
+     *         block
+     */
+    public static List<Lock> lockPlayers(Collection<String> playerNames) {
+        TreeSet<Integer> stripes = new TreeSet<Integer>();
+        for (String name : playerNames) {
+            stripes.add(stripe(name, 0));
+        }
+        List<Lock> locks = new ArrayList<Lock>(stripes.size());
+        for (int stripe : stripes) {
+            Lock lock = LOCKS[stripe];
+            lock.lock();
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+    /**
+     * Releases locks taken by {@link #lockPlayers(Collection)}.
+     */
+    public static void unlock(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private static int stripe(String name, int seed) {
+        int hash = name == null ? 0 : name.toLowerCase(Locale.ROOT).hashCode();
+        // Spread the bits, as names often differ only in their last letters
+        hash = (hash ^ seed) * 0x9e3779b9;
+        return hash >>> 24;
+    }
+}
@@ -0,0 +1,274 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+/**
+ * Finds players by name for hooks whose backend wants an OfflinePlayer but
+ * gets a name from Vault. Bukkit.getOfflinePlayer(String) asks Mojang for
+ * names it has not seen, blocking the calling thread, so hooks ask here
+ * instead. Names are known from the server's usercache.json, from players
+ * joining, and from Vault's own names.yml, which keeps them for good.
+ *
+ * A name that is not known is asked for from Mojang right away when the
+ * caller is not on the main thread, which is waiting anyway. On the main
+ * thread it is looked up on an async task and null is returned meanwhile,
+ * so the hook treats the player as unknown for the moment a lookup takes;
+ * that trades a correct answer to that one call for not stalling the
+ * server. Such a player has never been on the server, so there is rarely
+ * anything to find anyway.
+ */
+public class NameResolver {
+
+    private static final long RETRY_MISSES = TimeUnit.MINUTES.toMillis(10);
+    private static final long SAVE_TICKS = 20 * 60 * 5;
+    private static volatile NameResolver instance;
+
+    private final Plugin plugin;
+    private final File file;
+    private final ConcurrentMap<String, UUID> names = new ConcurrentHashMap<String, UUID>();
+    // Names being looked up, or not found, with when to try again
+    private final ConcurrentMap<String, Long> lookups = new ConcurrentHashMap<String, Long>();
+    private volatile boolean dirty;
+
+    /**
+     * @param file where to keep the names known
+     */
+    public NameResolver(Plugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    /**
+     * Finds a player by name, without waiting for Mojang on the main thread.
+     * @return the player, or null if the name is not known yet
+     */
+    public static OfflinePlayer getOfflinePlayer(String name) {
+        NameResolver resolver = instance;
+        if (resolver == null) {
+            // Vault is not enabled, there is nothing better to do
+            return Bukkit.getOfflinePlayer(name);
+        }
+        return resolver.resolve(name);
+    }
+
+    /**
+     * Loads the names known and makes this the resolver hooks use.
+     */
+    public void start() {
+        load();
+        loadUserCache();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            put(player.getName(), player.getUniqueId());
+        }
+        Bukkit.getServer().getPluginManager().registerEvents(new NameListener(), plugin);
+        Bukkit.getServer().getScheduler().runTaskTimerAsynchronously(plugin, new Runnable() {
+            @Override
+            public void run() {
+                if (dirty) {
+                    save();
+                }
+            }
+        }, SAVE_TICKS, SAVE_TICKS);
+        instance = this;
+    }
+
+    public void stop() {
+        if (instance == this) {
+            instance = null;
+        }
+        if (dirty) {
+            save();
+        }
+    }
+
+    public OfflinePlayer resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            return online;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        UUID uuid = names.get(key);
+        if (uuid == null && !Bukkit.getOnlineMode()) {
+            // The server makes up the same UUID for names it has not seen
+            uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+        }
+        if (uuid != null) {
+            return Bukkit.getOfflinePlayer(uuid);
+        } else if (!Bukkit.isPrimaryThread()) {
+            return find(name);
+        }
+        lookup(name, key);
+        return null;
+    }
+
+    /**
+     * Asks Bukkit, and so Mojang, for a name, keeping it if Mojang knows it.
+     */
+    @SuppressWarnings("deprecation")
+    private OfflinePlayer find(String name) {
+        OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+        UUID uuid = player == null ? null : player.getUniqueId();
+        // Names Mojang does not know get a made up version 3 UUID
+        if (uuid != null && uuid.version() == 4) {
+            put(name, uuid);
+        }
+        return player;
+    }
+
+    private void lookup(final String name, final String key) {
+        long now = System.currentTimeMillis();
+        Long retry = lookups.get(key);
+        if (retry != null && now < retry) {
+            return;
+        } else if (retry == null ? lookups.putIfAbsent(key, Long.MAX_VALUE) != null : !lookups.replace(key, retry, Long.MAX_VALUE)) {
+            return;
+        }
+        try {
+            Bukkit.getServer().getScheduler().runTaskAsynchronously(plugin, new Runnable() {
+                @Override
+                public void run() {
+                    find(name);
+                    if (names.containsKey(key)) {
+                        lookups.remove(key);
+                    } else {
+                        lookups.put(key, System.currentTimeMillis() + RETRY_MISSES);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Vault is being disabled
+            lookups.remove(key);
+        }
+    }
+
+    private void put(String name, UUID uuid) {
+        if (name != null && uuid != null && !uuid.equals(names.put(name.toLowerCase(Locale.ROOT), uuid))) {
+            dirty = true;
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        for (String line : yaml.getStringList("players")) {
+            int space = line.indexOf(' ');
+            if (space > 0) {
+                try {
+                    names.put(line.substring(space + 1), UUID.fromString(line.substring(0, space)));
+                } catch (IllegalArgumentException e) {
+                    // skip a broken line rather than the whole file
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the names the server remembers from recent logins.
+     */
+    private void loadUserCache() {
+        File cache = new File("usercache.json");
+        if (!cache.exists()) {
+            return;
+        }
+        Reader reader = null;
+        try {
+            reader = new InputStreamReader(new FileInputStream(cache), StandardCharsets.UTF_8);
+            Object parsed = JSONValue.parse(reader);
+            if (parsed instanceof JSONArray) {
+                for (Object entry : (JSONArray) parsed) {
+                    if (entry instanceof JSONObject) {
+                        Object name = ((JSONObject) entry).get("name");
+                        Object uuid = ((JSONObject) entry).get("uuid");
+                        if (name instanceof String && uuid instanceof String) {
+                            try {
+                                put((String) name, UUID.fromString((String) uuid));
+                            } catch (IllegalArgumentException e) {
+                                // not a UUID, skip it
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read usercache.json: " + e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // nothing left to do
+                }
+            }
+        }
+    }
+
+    private synchronized void save() {
+        dirty = false;
+        List<String> lines = new ArrayList<String>(names.size());
+        for (Map.Entry<String, UUID> entry : names.entrySet()) {
+            lines.add(entry.getValue() + " " + entry.getKey());
+        }
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("players", lines);
+        try {
+            yaml.save(file);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().warning("Could not save " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    public class NameListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The packages in the jars of the plugins loaded, read from the jars' file
+ * lists without loading any class. Looking for a backend class that is not
+ * installed with Class.forName makes every plugin class loader search for
+ * it, and throws, once for each of the fifty or so hooks Vault has; asking
+ * the index first rules out the backends that are not there with a lookup.
+ */
+public class PluginClassIndex {
+
+    private final Set<String> packages = new HashSet<String>();
+    private final Set<File> jars = new HashSet<File>();
+    private boolean complete = true;
+
+    public PluginClassIndex(Plugin[] plugins) {
+        for (Plugin plugin : plugins) {
+            add(plugin);
+        }
+    }
+
+    /**
+     * Adds the packages of a plugin loaded after the index was made.
+     */
+    public void add(Plugin plugin) {
+        String main = plugin.getDescription().getMain();
+        if (main != null) {
+            packages.add(packageOf(main));
+        }
+        CodeSource source = plugin.getClass().getProtectionDomain().getCodeSource();
+        File jar = null;
+        try {
+            jar = source == null || source.getLocation() == null ? null : new File(source.getLocation().toURI());
+        } catch (URISyntaxException e) {
+            // handled below, as any jar we cannot read
+        } catch (IllegalArgumentException e) {
+            // not a file: URL
+        }
+        if (jar == null || !jar.isFile()) {
+            complete = false;
+            return;
+        }
+        if (!jars.add(jar)) {
+            return;
+        }
+        ZipFile zip = null;
+        try {
+            zip = new ZipFile(jar);
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                int slash = name.lastIndexOf('/');
+                if (slash > 0 && name.endsWith(".class")) {
+                    packages.add(name.substring(0, slash).replace('/', '.'));
+                }
+            }
+        } catch (IOException e) {
+            complete = false;
+        } finally {
+            if (zip != null) {
+                try {
+                    zip.close();
+                } catch (IOException e) {
+                    // read already
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if no plugin has the class, true if one may have it
+     */
+    public boolean mayContain(String className) {
+        return !complete || packages.contains(packageOf(className));
+    }
+
+    private static String packageOf(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot < 0 ? "" : className.substring(0, dot);
+    }
+}
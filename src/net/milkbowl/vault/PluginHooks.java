@@ -0,0 +1,119 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+/**
+ * Passes plugin enable and disable events to the hooks waiting for that
+ * plugin. Hooks hand their listener over with the names of the plugins it
+ * is for, and Vault listens once and looks the plugin up by name, so a
+ * plugin being enabled no longer goes through every hook Vault loaded.
+ *
+ * Used from the main thread only, like the events themselves.
+ */
+public final class PluginHooks {
+
+    private static final Map<String, List<RegisteredListener>> enable = new HashMap<String, List<RegisteredListener>>();
+    private static final Map<String, List<RegisteredListener>> disable = new HashMap<String, List<RegisteredListener>>();
+    private static boolean listening;
+
+    private PluginHooks() {
+    }
+
+    /**
+     * Registers the listener's PluginEnableEvent and PluginDisableEvent
+     * handlers for the plugins named, instead of with Bukkit.
+     * @param plugins the names the plugins go by in their plugin.yml
+     */
+    public static void register(Plugin vault, Listener listener, String... plugins) {
+        if (!listening) {
+            vault.getServer().getPluginManager().registerEvents(new Dispatcher(), vault);
+            listening = true;
+        }
+        Map<Class<? extends Event>, Set<RegisteredListener>> handlers = vault.getPluginLoader().createRegisteredListeners(listener, vault);
+        for (String name : plugins) {
+            add(enable, name, handlers.get(PluginEnableEvent.class));
+            add(disable, name, handlers.get(PluginDisableEvent.class));
+        }
+    }
+
+    private static void add(Map<String, List<RegisteredListener>> hooks, String name, Set<RegisteredListener> handlers) {
+        if (handlers == null || handlers.isEmpty()) {
+            return;
+        }
+        List<RegisteredListener> listeners = hooks.get(name);
+        if (listeners == null) {
+            listeners = new ArrayList<RegisteredListener>(1);
+            hooks.put(name, listeners);
+        }
+        listeners.addAll(handlers);
+    }
+
+    /**
+     * Forgets every hook, as Bukkit drops Vault's listener on disable.
+     */
+    public static void clear() {
+        enable.clear();
+        disable.clear();
+        listening = false;
+    }
+
+    private static void dispatch(Map<String, List<RegisteredListener>> hooks, Event event, Plugin plugin) {
+        List<RegisteredListener> listeners = hooks.get(plugin.getDescription().getName());
+        if (listeners == null) {
+            return;
+        }
+        for (RegisteredListener listener : listeners) {
+            try {
+                listener.callEvent(event);
+            } catch (Throwable e) {
+                // One broken hook should not keep the others from hooking, as with Bukkit's own listeners
+                Throwable cause = e instanceof EventException && e.getCause() != null ? e.getCause() : e;
+                listener.getPlugin().getLogger().log(Level.SEVERE, String.format("Could not pass %s for %s to %s",
+                        event.getEventName(), plugin.getDescription().getName(), listener.getListener().getClass().getName()), cause);
+            }
+        }
+    }
+
+    public static class Dispatcher implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginEnable(PluginEnableEvent event) {
+            dispatch(enable, event, event.getPlugin());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(PluginDisableEvent event) {
+            dispatch(disable, event, event.getPlugin());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.milkbowl.vault.cache.ForwardingEconomy;
+import net.milkbowl.vault.instrument.Instrumented;
+import net.milkbowl.vault.lazy.LazyEconomy;
+
+/**
+ * Decides whether a provider may be called off the main thread. The
+ * {@link ThreadSafe} annotation on the hook class is the default, and server
+ * owners can override it either way by provider name in the config.
+ */
+public class ThreadSafety {
+
+    private final Set<String> safe = new HashSet<String>();
+    private final Set<String> unsafe = new HashSet<String>();
+
+    /**
+     * @param safe provider names to always treat as thread-safe
+     * @param unsafe provider names to never treat as thread-safe
+     */
+    public ThreadSafety(Collection<String> safe, Collection<String> unsafe) {
+        for (String name : safe) {
+            this.safe.add(key(name));
+        }
+        for (String name : unsafe) {
+            this.unsafe.add(key(name));
+        }
+    }
+
+    /**
+     * @param provider the registered provider
+     * @param name the provider's name as reported by getName()
+     * @return true if the provider may be called from any thread
+     */
+    public boolean isThreadSafe(Object provider, String name) {
+        String key = key(name);
+        if (unsafe.contains(key)) {
+            return false;
+        } else if (safe.contains(key)) {
+            return true;
+        }
+        return unwrap(provider).getClass().isAnnotationPresent(ThreadSafe.class);
+    }
+
+    /**
+     * @return the hook behind Vault's caches and instrumentation, or the lazy
+     *         proxy of a hook not made yet, which is only made on the main thread
+     */
+    private static Object unwrap(Object provider) {
+        while (true) {
+            if (provider instanceof LazyEconomy && !((LazyEconomy) provider).isLoaded()) {
+                return provider;
+            } else if (provider instanceof ForwardingEconomy) {
+                provider = ((ForwardingEconomy) provider).getProvider();
+            } else if (provider instanceof Instrumented) {
+                provider = ((Instrumented) provider).getProvider();
+            } else {
+                return provider;
+            }
+        }
+    }
+
+    private static String key(String name) {
+        return name.replace(" ", "").toLowerCase();
+    }
+}
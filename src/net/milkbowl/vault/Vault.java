@@ -16,15 +16,26 @@
 package net.milkbowl.vault;
 
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.async.AsyncEconomy;
+import net.milkbowl.vault.cache.CachedChat;
+import net.milkbowl.vault.cache.CachedEconomy;
+import net.milkbowl.vault.cache.CachedPermission;
+import net.milkbowl.vault.cache.CoalescingEconomy;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.chat.plugins.Chat_DroxPerms;
 import net.milkbowl.vault.chat.plugins.Chat_GroupManager;
@@ -38,6 +49,11 @@ import net.milkbowl.vault.chat.plugins.Chat_iChat;
 import net.milkbowl.vault.chat.plugins.Chat_mChat;
 import net.milkbowl.vault.chat.plugins.Chat_mChatSuite;
 import net.milkbowl.vault.chat.plugins.Chat_rscPermissions;
+import net.milkbowl.vault.convert.Conversion;
+import net.milkbowl.vault.convert.ConversionCheckpoint;
+import net.milkbowl.vault.convert.ConversionTask;
+import net.milkbowl.vault.convert.ConversionVerifier;
+import net.milkbowl.vault.convert.ParallelConversion;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.plugins.Economy_BOSE7;
 import net.milkbowl.vault.economy.plugins.Economy_CommandsEX;
@@ -59,6 +75,17 @@ import net.milkbowl.vault.economy.plugins.Economy_eWallet;
 import net.milkbowl.vault.economy.plugins.Economy_iConomy6;
 import net.milkbowl.vault.economy.plugins.Economy_SDFEconomy;
 import net.milkbowl.vault.economy.plugins.Economy_Minefaconomy;  
+import net.milkbowl.vault.instrument.CallerSampler;
+import net.milkbowl.vault.instrument.Instrumentation;
+import net.milkbowl.vault.instrument.Instrumented;
+import net.milkbowl.vault.instrument.LatencyHistogram;
+import net.milkbowl.vault.instrument.ProviderStats;
+import net.milkbowl.vault.instrument.SlowCallWatchdog;
+import net.milkbowl.vault.instrument.StartupTimings;
+import net.milkbowl.vault.lazy.LazyChat;
+import net.milkbowl.vault.lazy.LazyEconomy;
+import net.milkbowl.vault.lazy.LazyHookListener;
+import net.milkbowl.vault.lazy.LazyPermission;
 import net.milkbowl.vault.permission.Permission;
 import net.milkbowl.vault.permission.plugins.Permission_DroxPerms;
 import net.milkbowl.vault.permission.plugins.Permission_GroupManager;
@@ -79,7 +106,6 @@ import net.milkbowl.vault.permission.plugins.Permission_KPerms;
 
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -114,9 +140,35 @@ public class Vault extends JavaPlugin {
     private String currentVersionTitle = "";
     private ServicesManager sm;
     private Vault plugin;
+    private ThreadSafety threadSafety;
+    private Conversion conversion;
+    private ConversionVerifier verifier;
+    private Instrumentation instrumentation;
+    private AsyncEconomy asyncEconomy;
+    private NameResolver nameResolver;
+    private PluginClassIndex classIndex;
+    private StartupTimings startup;
+    private final List<CoalescingEconomy> writeBehind = new CopyOnWriteArrayList<CoalescingEconomy>();
 
     @Override
     public void onDisable() {
+        if (conversion != null) {
+            conversion.cancel();
+        }
+        if (verifier != null) {
+            verifier.cancel();
+        }
+        if (asyncEconomy != null) {
+            asyncEconomy.shutdown();
+        }
+        for (CoalescingEconomy coalescing : writeBehind) {
+            coalescing.shutdown();
+        }
+        writeBehind.clear();
+        if (nameResolver != null) {
+            nameResolver.stop();
+        }
+        PluginHooks.clear();
         // Remove all Service Registrations
         getServer().getServicesManager().unregisterAll(this);
         Bukkit.getScheduler().cancelTasks(this);
@@ -124,6 +176,7 @@ public class Vault extends JavaPlugin {
 
     @Override
     public void onEnable() {
+        startup = new StartupTimings();
         plugin = this;
         log = this.getLogger();
         currentVersionTitle = getDescription().getVersion().split("-")[0];
@@ -131,16 +184,73 @@ public class Vault extends JavaPlugin {
         sm = getServer().getServicesManager();
         // set defaults
         getConfig().addDefault("update-check", true);
+        getConfig().addDefault("convert.tick-budget-ms", 10.0);
+        getConfig().addDefault("convert.batch-size", 500);
+        getConfig().addDefault("convert.checkpoint-interval", 1000);
+        getConfig().addDefault("convert.threads", Runtime.getRuntime().availableProcessors());
+        getConfig().addDefault("convert.max-in-flight", 2000);
+        getConfig().addDefault("convert.write-batch-size", 100);
+        getConfig().addDefault("convert.verify-tolerance", 0.001);
+        getConfig().addDefault("thread-safety.safe", new ArrayList<String>());
+        getConfig().addDefault("thread-safety.unsafe", new ArrayList<String>());
+        getConfig().addDefault("instrumentation.enabled", false);
+        getConfig().addDefault("instrumentation.sample-callers-every", 0);
+        getConfig().addDefault("instrumentation.slow-call-ms", 0);
+        getConfig().addDefault("permission-cache.enabled", false);
+        getConfig().addDefault("permission-cache.max-nodes-per-player", 1024);
+        getConfig().addDefault("permission-cache.expire-ticks", 100);
+        getConfig().addDefault("chat-cache.enabled", false);
+        getConfig().addDefault("chat-cache.max-nodes-per-player", 256);
+        getConfig().addDefault("chat-cache.expire-ticks", 100);
+        getConfig().addDefault("balance-cache.enabled", false);
+        getConfig().addDefault("balance-cache.ttl-ms", 1000);
+        getConfig().addDefault("balance-cache.max-accounts", 10000);
+        getConfig().addDefault("write-behind.enabled", false);
+        getConfig().addDefault("write-behind.flush-ticks", 20);
+        getConfig().addDefault("async.threads", 4);
+        getConfig().addDefault("async.queue-size", 1000);
+        getConfig().addDefault("async.virtual-threads.enabled", false);
+        getConfig().addDefault("async.virtual-threads.max-per-provider", 32);
+        getConfig().addDefault("lazy-hooks.enabled", true);
+        getConfig().addDefault("startup-report.enabled", false);
         getConfig().options().copyDefaults(true);
+        long step = System.nanoTime();
         saveConfig();
+        startup.step("Save config", step);
+        threadSafety = new ThreadSafety(getConfig().getStringList("thread-safety.safe"), getConfig().getStringList("thread-safety.unsafe"));
+        if (getConfig().getBoolean("instrumentation.enabled", false)) {
+            int every = getConfig().getInt("instrumentation.sample-callers-every", 0);
+            int slowMillis = getConfig().getInt("instrumentation.slow-call-ms", 0);
+            instrumentation = new Instrumentation(every > 0 ? new CallerSampler(this, every) : null,
+                    slowMillis > 0 ? new SlowCallWatchdog(log, TimeUnit.MILLISECONDS.toNanos(slowMillis)) : null);
+            if (instrumentation.hasFlightRecorderEvents()) {
+                log.info("[Instrumentation] Provider calls can be recorded by Flight Recorder as net.milkbowl.vault.ProviderCall events.");
+            }
+        }
+        step = System.nanoTime();
+        nameResolver = new NameResolver(this, new File(getDataFolder(), "names.yml"));
+        nameResolver.start();
+        startup.step("Load player names", step);
+        step = System.nanoTime();
+        classIndex = new PluginClassIndex(getServer().getPluginManager().getPlugins());
+        startup.step("Index plugin classes", step);
         // Load Vault Addons
         loadEconomy();
         loadPermission();
         loadChat();
+        step = System.nanoTime();
+        asyncEconomy = new AsyncEconomy(this, threadSafety, getConfig().getInt("async.threads", 4), getConfig().getInt("async.queue-size", 1000),
+                getConfig().getBoolean("async.virtual-threads.enabled", false) ? Math.max(1, getConfig().getInt("async.virtual-threads.max-per-provider", 32)) : 0);
+        sm.register(AsyncEconomy.class, asyncEconomy, this, ServicePriority.Normal);
+        startup.step("Start async economy", step);
 
         getCommand("vault-info").setExecutor(this);
         getCommand("vault-convert").setExecutor(this);
+        getCommand("vault-stats").setExecutor(this);
         getServer().getPluginManager().registerEvents(new VaultListener(), this);
+        if (getConfig().getBoolean("lazy-hooks.enabled", true)) {
+            getServer().getPluginManager().registerEvents(new LazyHookListener(this), this);
+        }
         // Schedule to check the version every 30 minutes for an update. This is to update the most recent 
         // version so if an admin reconnects they will be warned about newer versions.
         this.getServer().getScheduler().runTask(this, new Runnable() {
@@ -185,12 +295,32 @@ public class Vault extends JavaPlugin {
         });
 
         // Load up the Plugin metrics
+        step = System.nanoTime();
         Metrics metrics = new Metrics(this);
         findCustomData(metrics);
+        startup.step("Set up metrics", step);
 
+        startup.finish();
+        if (getConfig().getBoolean("startup-report.enabled", false)) {
+            reportStartup();
+        }
         log.info(String.format("Enabled Version %s", getDescription().getVersion()));
     }
 
+    /**
+     * Logs the startup timings as a table and writes them to startup.json.
+     */
+    private void reportStartup() {
+        for (String line : startup.toTable()) {
+            log.info("[Startup] " + line);
+        }
+        try {
+            startup.save(new File(getDataFolder(), "startup.json"));
+        } catch (IOException e) {
+            log.warning("[Startup] Could not write startup.json: " + e.getMessage());
+        }
+    }
+
     /**
      * Attempts to load Chat Addons
      */
@@ -352,49 +482,191 @@ public class Vault extends JavaPlugin {
         // Try to load KPerms
         hookPermission("KPerms", Permission_KPerms.class, ServicePriority.Normal, "com.lightniinja.kperms.KPermsPlugin");
 
+        long make = System.nanoTime();
         Permission perms = new Permission_SuperPerms(this);
-        sm.register(Permission.class, perms, this, ServicePriority.Lowest);
+        sm.register(Permission.class, wrap(perms), this, ServicePriority.Lowest);
+        startup.hook("Permission", "SuperPerms", StartupTimings.Result.HOOKED, 0, System.nanoTime() - make);
         log.info(String.format("[Permission] SuperPermissions loaded as backup permission system."));
 
         this.perms = sm.getRegistration(Permission.class).getProvider();
     }
 
-    private void hookChat (String name, Class<? extends Chat> hookClass, ServicePriority priority, String...packages) {
+    /**
+     * @return which providers may be called off the main thread
+     */
+    public ThreadSafety getThreadSafety() {
+        return threadSafety;
+    }
+
+    /**
+     * @return how long each step of enabling Vault took
+     */
+    public StartupTimings getStartupTimings() {
+        return startup;
+    }
+
+    private void hookChat (final String name, final Class<? extends Chat> hookClass, ServicePriority priority, String...packages) {
+        long probe = System.nanoTime();
+        long make = 0;
         try {
-            if (packagesExists(packages)) {
+            if (!packagesExists(packages)) {
+                startup.hook("Chat", name, StartupTimings.Result.NOT_INSTALLED, System.nanoTime() - probe, 0);
+                return;
+            }
+            make = System.nanoTime();
+            probe = make - probe;
+            if (isOutranked(Chat.class, priority)) {
+                sm.register(Chat.class, new LazyChat(name, perms, new Callable<Chat>() {
+                    @Override
+                    public Chat call() throws Exception {
+                        Chat chat = hookClass.getConstructor(Plugin.class, Permission.class).newInstance(plugin, perms);
+                        log.info(String.format("[Chat] %s hooked on first use: %s", name, chat.isEnabled() ? "Loaded" : "Waiting"));
+                        return wrap(chat);
+                    }
+                }), this, priority);
+                log.info(String.format("[Chat] %s found: Outranked, hooks on first use", name));
+                startup.hook("Chat", name, StartupTimings.Result.OUTRANKED, probe, System.nanoTime() - make);
+            } else {
                 Chat chat = hookClass.getConstructor(Plugin.class, Permission.class).newInstance(this, perms);
-                sm.register(Chat.class, chat, this, priority);
+                sm.register(Chat.class, wrap(chat), this, priority);
                 log.info(String.format("[Chat] %s found: %s", name, chat.isEnabled() ? "Loaded" : "Waiting"));
+                startup.hook("Chat", name, StartupTimings.Result.HOOKED, probe, System.nanoTime() - make);
             }
         } catch (Exception e) {
+            // A failure while probing counts as probing time
+            startup.hook("Chat", name, StartupTimings.Result.FAILED, make == 0 ? System.nanoTime() - probe : probe, make == 0 ? 0 : System.nanoTime() - make);
             log.severe(String.format("[Chat] There was an error hooking %s - check to make sure you're using a compatible version!", name));
         }
     }
 
-    private void hookEconomy (String name, Class<? extends Economy> hookClass, ServicePriority priority, String...packages) {
+    private void hookEconomy (final String name, final Class<? extends Economy> hookClass, ServicePriority priority, String...packages) {
+        long probe = System.nanoTime();
+        long make = 0;
         try {
-            if (packagesExists(packages)) {
+            if (!packagesExists(packages)) {
+                startup.hook("Economy", name, StartupTimings.Result.NOT_INSTALLED, System.nanoTime() - probe, 0);
+                return;
+            }
+            make = System.nanoTime();
+            probe = make - probe;
+            if (isOutranked(Economy.class, priority)) {
+                sm.register(Economy.class, new LazyEconomy(name, new Callable<Economy>() {
+                    @Override
+                    public Economy call() throws Exception {
+                        Economy econ = hookClass.getConstructor(Plugin.class).newInstance(plugin);
+                        log.info(String.format("[Economy] %s hooked on first use: %s", name, econ.isEnabled() ? "Loaded" : "Waiting"));
+                        return wrap(econ);
+                    }
+                }), this, priority);
+                log.info(String.format("[Economy] %s found: Outranked, hooks on first use", name));
+                startup.hook("Economy", name, StartupTimings.Result.OUTRANKED, probe, System.nanoTime() - make);
+            } else {
                 Economy econ = hookClass.getConstructor(Plugin.class).newInstance(this);
-                sm.register(Economy.class, econ, this, priority);
+                sm.register(Economy.class, wrap(econ), this, priority);
                 log.info(String.format("[Economy] %s found: %s", name, econ.isEnabled() ? "Loaded" : "Waiting"));
+                startup.hook("Economy", name, StartupTimings.Result.HOOKED, probe, System.nanoTime() - make);
             }
         } catch (Exception e) {
+            // A failure while probing counts as probing time
+            startup.hook("Economy", name, StartupTimings.Result.FAILED, make == 0 ? System.nanoTime() - probe : probe, make == 0 ? 0 : System.nanoTime() - make);
             log.severe(String.format("[Economy] There was an error hooking %s - check to make sure you're using a compatible version!", name));
         }
     }
 
-    private void hookPermission (String name, Class<? extends Permission> hookClass, ServicePriority priority, String...packages) {
+    private void hookPermission (final String name, final Class<? extends Permission> hookClass, ServicePriority priority, String...packages) {
+        long probe = System.nanoTime();
+        long make = 0;
         try {
-            if (packagesExists(packages)) {
+            if (!packagesExists(packages)) {
+                startup.hook("Permission", name, StartupTimings.Result.NOT_INSTALLED, System.nanoTime() - probe, 0);
+                return;
+            }
+            make = System.nanoTime();
+            probe = make - probe;
+            if (isOutranked(Permission.class, priority)) {
+                sm.register(Permission.class, new LazyPermission(name, new Callable<Permission>() {
+                    @Override
+                    public Permission call() throws Exception {
+                        Permission perms = hookClass.getConstructor(Plugin.class).newInstance(plugin);
+                        log.info(String.format("[Permission] %s hooked on first use: %s", name, perms.isEnabled() ? "Loaded" : "Waiting"));
+                        return wrap(perms);
+                    }
+                }), this, priority);
+                log.info(String.format("[Permission] %s found: Outranked, hooks on first use", name));
+                startup.hook("Permission", name, StartupTimings.Result.OUTRANKED, probe, System.nanoTime() - make);
+            } else {
                 Permission perms = hookClass.getConstructor(Plugin.class).newInstance(this);
-                sm.register(Permission.class, perms, this, priority);
+                sm.register(Permission.class, wrap(perms), this, priority);
                 log.info(String.format("[Permission] %s found: %s", name, perms.isEnabled() ? "Loaded" : "Waiting"));
+                startup.hook("Permission", name, StartupTimings.Result.HOOKED, probe, System.nanoTime() - make);
             }
         } catch (Exception e) {
+            // A failure while probing counts as probing time
+            startup.hook("Permission", name, StartupTimings.Result.FAILED, make == 0 ? System.nanoTime() - probe : probe, make == 0 ? 0 : System.nanoTime() - make);
             log.severe(String.format("[Permission] There was an error hooking %s - check to make sure you're using a compatible version!", name));
         }
     }
 
+    /**
+     * @return true if a provider already registered would be picked over a
+     *         new one with this priority, as the first of equals is
+     */
+    private boolean isOutranked(Class<?> service, ServicePriority priority) {
+        if (!getConfig().getBoolean("lazy-hooks.enabled", true)) {
+            return false;
+        }
+        RegisteredServiceProvider<?> top = sm.getRegistration(service);
+        return top != null && top.getPriority().compareTo(priority) >= 0;
+    }
+
+    /**
+     * @return the hook with instrumentation, write-behind deposits and the
+     *         balance cache around it, as far as they are enabled
+     */
+    private Economy wrap(Economy econ) {
+        if (instrumentation != null) {
+            econ = instrumentation.wrap(econ);
+        }
+        if (getConfig().getBoolean("write-behind.enabled", false)) {
+            File unwritten = new File(getDataFolder(), "unwritten-deposits-" + econ.getName().replaceAll("[^A-Za-z0-9_-]", "_") + ".yml");
+            CoalescingEconomy coalescing = new CoalescingEconomy(this, econ, getConfig().getLong("write-behind.flush-ticks", 20), unwritten);
+            writeBehind.add(coalescing);
+            econ = coalescing;
+        }
+        if (getConfig().getBoolean("balance-cache.enabled", false)) {
+            econ = new CachedEconomy(econ, TimeUnit.MILLISECONDS.toNanos(getConfig().getLong("balance-cache.ttl-ms", 1000)), getConfig().getInt("balance-cache.max-accounts", 10000));
+        }
+        return econ;
+    }
+
+    /**
+     * @return the hook with instrumentation and the meta cache around it, as
+     *         far as they are enabled
+     */
+    private Chat wrap(Chat chat) {
+        if (instrumentation != null) {
+            chat = instrumentation.wrap(chat, perms);
+        }
+        if (getConfig().getBoolean("chat-cache.enabled", false)) {
+            chat = new CachedChat(this, chat, perms, getConfig().getInt("chat-cache.max-nodes-per-player", 256), getConfig().getLong("chat-cache.expire-ticks", 100));
+        }
+        return chat;
+    }
+
+    /**
+     * @return the hook with instrumentation and the decision cache around it,
+     *         as far as they are enabled
+     */
+    private Permission wrap(Permission perms) {
+        if (instrumentation != null) {
+            perms = instrumentation.wrap(perms);
+        }
+        if (getConfig().getBoolean("permission-cache.enabled", false)) {
+            perms = new CachedPermission(this, perms, getConfig().getInt("permission-cache.max-nodes-per-player", 1024), getConfig().getLong("permission-cache.expire-ticks", 100));
+        }
+        return perms;
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, Command command, String commandLabel, String[] args) {
         if (!sender.hasPermission("vault.admin")) {
@@ -408,21 +680,60 @@ public class Vault extends JavaPlugin {
         } else if (command.getName().equalsIgnoreCase("vault-convert")) {
             convertCommand(sender, args);
             return true;
+        } else if (command.getName().equalsIgnoreCase("vault-stats")) {
+            statsCommand(sender, args);
+            return true;
         } else {
             // Show help
             sender.sendMessage("Vault Commands:");
             sender.sendMessage("  /vault-info - Displays information about Vault");
-            sender.sendMessage("  /vault-convert [economy1] [economy2] - Converts from one Economy to another");
+            sender.sendMessage("  /vault-convert [economy1] [economy2] [restart] - Converts from one Economy to another");
+            sender.sendMessage("  /vault-convert verify [economy1] [economy2] - Compares balances and writes a report, changes nothing");
+            sender.sendMessage("  /vault-convert <status|cancel> - Shows or stops a running conversion");
+            sender.sendMessage("  /vault-stats [reset] - Shows or clears call counts and latencies per provider");
+            sender.sendMessage("  /vault-stats callers - Shows which plugins spend the most time in Vault");
+            sender.sendMessage("  /vault-stats slow - Shows the slowest calls made on the server thread");
+            sender.sendMessage("  /vault-stats startup - Shows how long each hook took to load at startup");
             return true;
         }
     }
 
     private void convertCommand(CommandSender sender, String[] args) {
+        boolean converting = conversion != null && conversion.isRunning();
+        boolean verifying = verifier != null && verifier.isRunning();
+        if (args.length == 1 && args[0].equalsIgnoreCase("status")) {
+            if (!converting && !verifying) {
+                sender.sendMessage("No conversion is running.");
+            } else {
+                sender.sendMessage(converting ? conversion.getStatus() : verifier.getStatus());
+            }
+            return;
+        } else if (args.length == 1 && args[0].equalsIgnoreCase("cancel")) {
+            if (converting) {
+                conversion.cancel();
+                sender.sendMessage("Conversion cancelled, run the same command again to resume it.");
+            } else if (verifying) {
+                verifier.cancel();
+                sender.sendMessage("Verification cancelled.");
+            } else {
+                sender.sendMessage("No conversion is running.");
+            }
+            return;
+        } else if (converting || verifying) {
+            sender.sendMessage("A conversion is already running, use /vault-convert cancel to stop it first.");
+            sender.sendMessage(converting ? conversion.getStatus() : verifier.getStatus());
+            return;
+        }
+
         Collection<RegisteredServiceProvider<Economy>> econs = this.getServer().getServicesManager().getRegistrations(Economy.class);
+        boolean verify = args.length == 3 && args[0].equalsIgnoreCase("verify");
+        boolean restart = args.length == 3 && args[2].equalsIgnoreCase("restart");
+        String from = verify ? args[1] : args.length > 0 ? args[0] : null;
+        String to = verify ? args[2] : args.length > 1 ? args[1] : null;
         if (econs == null || econs.size() < 2) {
             sender.sendMessage("You must have at least 2 economies loaded to convert.");
             return;
-        } else if (args.length != 2) {
+        } else if (args.length != 2 && !restart && !verify) {
             sender.sendMessage("You must specify only the economy to convert from and the economy to convert to. (names should not contain spaces)");
             return;
         }
@@ -431,9 +742,9 @@ public class Vault extends JavaPlugin {
         String economies = "";
         for (RegisteredServiceProvider<Economy> econ : econs) {
             String econName = econ.getProvider().getName().replace(" ", "");
-            if (econName.equalsIgnoreCase(args[0])) {
+            if (econName.equalsIgnoreCase(from)) {
                 econ1 = econ.getProvider();
-            } else if (econName.equalsIgnoreCase(args[1])) {
+            } else if (econName.equalsIgnoreCase(to)) {
                 econ2 = econ.getProvider();
             }
             if (economies.length() > 0) {
@@ -443,32 +754,49 @@ public class Vault extends JavaPlugin {
         }
 
         if (econ1 == null) {
-            sender.sendMessage("Could not find " + args[0] + " loaded on the server, check your spelling.");
+            sender.sendMessage("Could not find " + from + " loaded on the server, check your spelling.");
             sender.sendMessage("Valid economies are: " + economies);
             return;
         } else if (econ2 == null) {
-            sender.sendMessage("Could not find " + args[1] + " loaded on the server, check your spelling.");
+            sender.sendMessage("Could not find " + to + " loaded on the server, check your spelling.");
             sender.sendMessage("Valid economies are: " + economies);
             return;
         }
 
-        sender.sendMessage("This may take some time to convert, expect server lag.");
-        for (OfflinePlayer op : Bukkit.getServer().getOfflinePlayers()) {
-            if (econ1.hasAccount(op)) {
-                if (econ2.hasAccount(op)) {
-                    continue;
-                }
-                econ2.createPlayerAccount(op);
-                double diff = econ1.getBalance(op) - econ2.getBalance(op);
-                if (diff > 0) {
-                	econ2.depositPlayer(op, diff);
-                } else if (diff < 0) {
-                	econ2.withdrawPlayer(op, -diff);
-                }
-                
+        double tickBudget = getConfig().getDouble("convert.tick-budget-ms", 10.0);
+        boolean sourceSafe = threadSafety.isThreadSafe(econ1, econ1.getName());
+        boolean targetSafe = threadSafety.isThreadSafe(econ2, econ2.getName());
+        if (verify) {
+            verifier = new ConversionVerifier(this, sender, econ1, econ2,
+                    getConfig().getDouble("convert.verify-tolerance", 0.001),
+                    sourceSafe && targetSafe ? getConfig().getInt("convert.threads", Runtime.getRuntime().availableProcessors()) : 0,
+                    tickBudget);
+            try {
+                verifier.start();
+            } catch (IOException e) {
+                verifier = null;
+                sender.sendMessage("Could not create the verification report: " + e.getMessage());
             }
+            return;
+        }
+
+        ConversionCheckpoint checkpoint = ConversionCheckpoint.load(new File(getDataFolder(), "conversion.yml"));
+        if (restart) {
+            checkpoint.delete();
         }
-        sender.sendMessage("Converson complete, please verify the data before using it.");
+        int checkpointInterval = getConfig().getInt("convert.checkpoint-interval", 1000);
+        // Backends that can be called off the main thread get the parallel pipeline
+        if (sourceSafe) {
+            conversion = new ParallelConversion(this, sender, econ1, econ2, checkpoint,
+                    getConfig().getInt("convert.threads", Runtime.getRuntime().availableProcessors()),
+                    getConfig().getInt("convert.max-in-flight", 2000),
+                    getConfig().getInt("convert.write-batch-size", 100),
+                    targetSafe, tickBudget, checkpointInterval);
+        } else {
+            conversion = new ConversionTask(this, sender, econ1, econ2, checkpoint, tickBudget,
+                    getConfig().getInt("convert.batch-size", 500), checkpointInterval);
+        }
+        conversion.start();
     }
 
     private void infoCommand(CommandSender sender) {
@@ -530,6 +858,82 @@ public class Vault extends JavaPlugin {
         sender.sendMessage(String.format("[%s] Chat: %s [%s]", getDescription().getName(), chat == null ? "None" : chat.getName(), registeredChats));
     }
 
+    private void statsCommand(CommandSender sender, String[] args) {
+        if (args.length == 1 && args[0].equalsIgnoreCase("startup")) {
+            sender.sendMessage(String.format("[%s] Time spent enabling Vault", getDescription().getName()));
+            for (String line : startup.toTable()) {
+                sender.sendMessage("  " + line);
+            }
+            return;
+        } else if (instrumentation == null) {
+            sender.sendMessage("Call statistics are off, set instrumentation.enabled to true in the config and restart to turn them on.");
+            return;
+        } else if (args.length == 1 && args[0].equalsIgnoreCase("reset")) {
+            instrumentation.reset();
+            sender.sendMessage("Call statistics cleared.");
+            return;
+        } else if (args.length == 1 && args[0].equalsIgnoreCase("callers")) {
+            callersCommand(sender);
+            return;
+        } else if (args.length == 1 && args[0].equalsIgnoreCase("slow")) {
+            slowCommand(sender);
+            return;
+        }
+        sender.sendMessage(String.format("[%s] Calls per provider since the last reset", getDescription().getName()));
+        for (Instrumented provider : instrumentation.getProviders()) {
+            List<ProviderStats.MethodStats> methods = provider.getStats().getMethods();
+            if (methods.isEmpty()) {
+                continue;
+            }
+            sender.sendMessage(String.format("[%s] %s: %s", getDescription().getName(), provider.getStats().getService(), provider.getName()));
+            for (ProviderStats.MethodStats method : methods) {
+                LatencyHistogram.Snapshot snapshot = method.getSnapshot();
+                sender.sendMessage(String.format("  %s: %d calls, p50 %s, p99 %s, max %s", method.getMethod(), snapshot.getCount(),
+                        Instrumentation.format(snapshot.getValueAtPercentile(50)),
+                        Instrumentation.format(snapshot.getValueAtPercentile(99)),
+                        Instrumentation.format(snapshot.getMax())));
+            }
+        }
+    }
+
+    private void callersCommand(CommandSender sender) {
+        CallerSampler callers = instrumentation.getCallers();
+        if (callers == null) {
+            sender.sendMessage("Caller sampling is off, set instrumentation.sample-callers-every in the config and restart to turn it on.");
+            return;
+        }
+        List<CallerSampler.CallerStats> stats = callers.getCallers();
+        sender.sendMessage(String.format("[%s] Time spent per calling plugin, estimated from one in %d calls", getDescription().getName(), callers.getEvery()));
+        for (int i = 0; i < stats.size() && i < 20; i++) {
+            CallerSampler.CallerStats caller = stats.get(i);
+            sender.sendMessage(String.format("  %s: %s, ~%d calls, ~%s", caller.getPlugin(), caller.getMethod(), caller.getCalls(), Instrumentation.format(caller.getNanos())));
+        }
+        if (stats.size() > 20) {
+            sender.sendMessage(String.format("  ... and %d more", stats.size() - 20));
+        }
+    }
+
+    private void slowCommand(CommandSender sender) {
+        SlowCallWatchdog watchdog = instrumentation.getWatchdog();
+        if (watchdog == null) {
+            sender.sendMessage("The slow call watchdog is off, set instrumentation.slow-call-ms in the config and restart to turn it on.");
+            return;
+        }
+        List<SlowCallWatchdog.SlowCall> calls = watchdog.getCalls();
+        sender.sendMessage(String.format("[%s] Calls on the server thread slower than %s, most time spent first", getDescription().getName(), Instrumentation.format(watchdog.getThreshold())));
+        for (int i = 0; i < calls.size() && i < 20; i++) {
+            SlowCallWatchdog.SlowCall call = calls.get(i);
+            sender.sendMessage(String.format("  %s from %s: %d times, %s total, max %s", call.getMethod(), call.getCaller(), call.getCount(),
+                    Instrumentation.format(call.getTotal()), Instrumentation.format(call.getMax())));
+        }
+        if (calls.size() > 20) {
+            sender.sendMessage(String.format("  ... and %d more, see the log for their stacks", calls.size() - 20));
+        }
+        if (watchdog.getDropped() > 0) {
+            sender.sendMessage(String.format("  %d slow calls from other places were not kept", watchdog.getDropped()));
+        }
+    }
+
     /**
      * Determines if all packages in a String array are within the Classpath
      * This is the best way to determine if a specific plugin exists and will be
@@ -538,7 +942,13 @@ public class Vault extends JavaPlugin {
      * @param packages String Array of package names to check
      * @return Success or Failure
      */
-    private static boolean packagesExists(String...packages) {
+    private boolean packagesExists(String...packages) {
+        // Rule out backends that are not installed without asking every class loader
+        for (String pkg : packages) {
+            if (classIndex != null && !classIndex.mayContain(pkg)) {
+                return false;
+            }
+        }
         try {
             for (String pkg : packages) {
                 Class.forName(pkg);
@@ -631,6 +1041,7 @@ public class Vault extends JavaPlugin {
 
         @EventHandler(priority = EventPriority.MONITOR)
         public void onPluginEnable(PluginEnableEvent event) {
+            classIndex.add(event.getPlugin());
             if (event.getPlugin().getDescription().getName().equals("Register") && packagesExists("com.nijikokun.register.payment.Methods")) {
                 if (!Methods.hasMethod()) {
                     try {
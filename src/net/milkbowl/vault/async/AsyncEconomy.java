@@ -0,0 +1,504 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.async;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import net.milkbowl.vault.NamedThreadFactory;
+import net.milkbowl.vault.ThreadSafety;
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.bulk.BulkEconomy;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import net.milkbowl.vault.transfer.Transfer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+
+/**
+ * Calls the registered economy without making the caller wait. Providers
+ * that are thread-safe are called on a small pool of Vault threads; all
+ * others are called on the main thread, right away if the caller is on it
+ * and on the next tick otherwise. Get it from the services manager like the
+ * economy itself.
+ *
+ * The futures complete on the thread the call was made on, so use
+ * {@link #mainThread()} with the *Async methods of CompletableFuture to get
+ * back to the main thread before touching the world. When the pool is busy
+ * with too many calls, new ones fail with a RejectedExecutionException
+ * rather than queue up without end.
+ *
+ * On Java 21 and later the pool can be replaced by a virtual thread per
+ * call, for backends that block on a database. The registered provider
+ * then gets a limit of calls running at once, and of calls waiting for one
+ * of those slots, so a burst of lookups neither needs a platform thread per
+ * call nor floods the database with connections. Only the registered
+ * provider is ever called, so there is one limit, started over when another
+ * provider is registered in its place.
+ */
+public class AsyncEconomy {
+
+    private final Plugin plugin;
+    private final ThreadSafety threadSafety;
+    private final int queueSize;
+    private final ExecutorService pool;
+    // Only with virtual threads
+    private final int maxPerProvider;
+    private volatile Limit limit;
+    private final Set<Call<?>> scheduled = Collections.newSetFromMap(new ConcurrentHashMap<Call<?>, Boolean>());
+    private final Executor mainThread = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            if (Bukkit.isPrimaryThread()) {
+                command.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, command);
+            }
+        }
+    };
+    private volatile Safety last;
+    private volatile boolean shuttingDown;
+
+    /**
+     * @param threads how many calls to thread-safe providers to run at once,
+     *        without virtual threads
+     * @param queueSize how many calls to thread-safe providers may wait for a
+     *        thread before new ones are refused, per provider with virtual
+     *        threads
+     * @param maxPerProvider how many calls to run at once per provider on
+     *        virtual threads, 0 to use a pool of platform threads
+     */
+    public AsyncEconomy(Plugin plugin, ThreadSafety threadSafety, int threads, int queueSize, int maxPerProvider) {
+        this.plugin = plugin;
+        this.threadSafety = threadSafety;
+        this.queueSize = Math.max(1, queueSize);
+        ExecutorService virtual = maxPerProvider > 0 ? virtualThreads("Vault Economy #") : null;
+        if (virtual != null) {
+            this.pool = virtual;
+            this.maxPerProvider = maxPerProvider;
+            plugin.getLogger().info(String.format("[Economy] Async calls run on virtual threads, at most %d at once per provider.", maxPerProvider));
+        } else {
+            if (maxPerProvider > 0) {
+                plugin.getLogger().warning("[Economy] Virtual threads need Java 21 or later, async calls run on a thread pool instead.");
+            }
+            threads = Math.max(1, threads);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(this.queueSize), new NamedThreadFactory("Vault Economy"));
+            executor.allowCoreThreadTimeOut(true);
+            this.pool = executor;
+            this.maxPerProvider = 0;
+        }
+    }
+
+    /**
+     * Vault is built for Java 8, so the Java 21 API is looked up by name.
+     * @return an executor starting a named virtual thread per task, or null
+     *         if this Java has none
+     */
+    private static ExecutorService virtualThreads(String name) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            virtual = builder.getMethod("name", String.class, long.class).invoke(virtual, name, 1L);
+            ThreadFactory factory = (ThreadFactory) builder.getMethod("factory").invoke(virtual);
+            Method executor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) executor.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return an executor running tasks on the main thread, for continuing
+     *         with the result of a call
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Calls the registered economy with any function, on a thread it may be
+     * called from.
+     * @return the function's result, or a failed future if there is no
+     *         economy or the call threw
+     */
+    public <T> CompletableFuture<T> supply(Function<Economy, T> function) {
+        RegisteredServiceProvider<Economy> rsp = Bukkit.getServicesManager().getRegistration(Economy.class);
+        Call<T> call = new Call<T>(rsp == null ? null : rsp.getProvider(), function);
+        if (call.economy == null) {
+            call.future.completeExceptionally(new IllegalStateException("No economy is registered"));
+        } else if (isThreadSafe(call.economy)) {
+            execute(call);
+        } else if (Bukkit.isPrimaryThread()) {
+            call.run();
+        } else {
+            scheduled.add(call);
+            try {
+                Bukkit.getScheduler().runTask(plugin, call);
+            } catch (RuntimeException e) {
+                // Vault is being disabled
+                scheduled.remove(call);
+                call.future.completeExceptionally(e);
+            }
+        }
+        return call.future;
+    }
+
+    private void execute(Call<?> call) {
+        if (maxPerProvider > 0) {
+            Limit limit = limitFor(call.economy);
+            if (!limit.enter()) {
+                call.future.completeExceptionally(new RejectedExecutionException("Too many calls waiting for " + call.economy.getName()));
+                return;
+            }
+            call.limit = limit;
+        }
+        try {
+            pool.execute(call);
+        } catch (RejectedExecutionException e) {
+            if (call.limit != null) {
+                call.limit.leave();
+            }
+            call.future.completeExceptionally(e);
+        }
+    }
+
+    private boolean isThreadSafe(Economy economy) {
+        Safety safety = last;
+        if (safety == null || safety.economy != economy) {
+            safety = new Safety(economy, threadSafety.isThreadSafe(economy, economy.getName()));
+            last = safety;
+        }
+        return safety.threadSafe;
+    }
+
+    public CompletableFuture<Double> getBalance(final OfflinePlayer player) {
+        return supply(new Function<Economy, Double>() {
+            @Override
+            public Double apply(Economy economy) {
+                return economy.getBalance(player);
+            }
+        });
+    }
+
+    public CompletableFuture<Double> getBalance(final OfflinePlayer player, final String world) {
+        return supply(new Function<Economy, Double>() {
+            @Override
+            public Double apply(Economy economy) {
+                return economy.getBalance(player, world);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> has(final OfflinePlayer player, final double amount) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.has(player, amount);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> has(final OfflinePlayer player, final String world, final double amount) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.has(player, world, amount);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> hasAccount(final OfflinePlayer player) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.hasAccount(player);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> hasAccount(final OfflinePlayer player, final String world) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.hasAccount(player, world);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> createPlayerAccount(final OfflinePlayer player) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.createPlayerAccount(player);
+            }
+        });
+    }
+
+    public CompletableFuture<Boolean> createPlayerAccount(final OfflinePlayer player, final String world) {
+        return supply(new Function<Economy, Boolean>() {
+            @Override
+            public Boolean apply(Economy economy) {
+                return economy.createPlayerAccount(player, world);
+            }
+        });
+    }
+
+    public CompletableFuture<EconomyResponse> withdrawPlayer(final OfflinePlayer player, final double amount) {
+        return supply(new Function<Economy, EconomyResponse>() {
+            @Override
+            public EconomyResponse apply(Economy economy) {
+                return economy.withdrawPlayer(player, amount);
+            }
+        });
+    }
+
+    public CompletableFuture<EconomyResponse> withdrawPlayer(final OfflinePlayer player, final String world, final double amount) {
+        return supply(new Function<Economy, EconomyResponse>() {
+            @Override
+            public EconomyResponse apply(Economy economy) {
+                return economy.withdrawPlayer(player, world, amount);
+            }
+        });
+    }
+
+    public CompletableFuture<EconomyResponse> depositPlayer(final OfflinePlayer player, final double amount) {
+        return supply(new Function<Economy, EconomyResponse>() {
+            @Override
+            public EconomyResponse apply(Economy economy) {
+                return economy.depositPlayer(player, amount);
+            }
+        });
+    }
+
+    public CompletableFuture<EconomyResponse> depositPlayer(final OfflinePlayer player, final String world, final double amount) {
+        return supply(new Function<Economy, EconomyResponse>() {
+            @Override
+            public EconomyResponse apply(Economy economy) {
+                return economy.depositPlayer(player, world, amount);
+            }
+        });
+    }
+
+    /**
+     * @param world the world to look balances up in, or null for the default
+     * @return the balance of every player given that has an account
+     */
+    public CompletableFuture<BalanceMap> getBalances(final Collection<? extends OfflinePlayer> players, final String world) {
+        return supply(new Function<Economy, BalanceMap>() {
+            @Override
+            public BalanceMap apply(Economy economy) {
+                return BulkEconomy.getBalances(economy, players, world);
+            }
+        });
+    }
+
+    /**
+     * Runs a transfer on a thread the economy may be called from.
+     */
+    public CompletableFuture<Transfer.Result> transfer(final Transfer transfer) {
+        return supply(new Function<Economy, Transfer.Result>() {
+            @Override
+            public Transfer.Result apply(Economy economy) {
+                return transfer.execute(economy);
+            }
+        });
+    }
+
+    /**
+     * Fails every call that has not started, and waits a few seconds for the
+     * running ones. Those are never interrupted, as that could leave a
+     * transfer or a database write half done.
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        if (pool instanceof ThreadPoolExecutor) {
+            List<Runnable> waiting = new ArrayList<Runnable>();
+            ((ThreadPoolExecutor) pool).getQueue().drainTo(waiting);
+            for (Runnable call : waiting) {
+                ((Call<?>) call).cancel();
+            }
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[Economy] Economy calls still running after 5 seconds, leaving them to finish.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Call<?> call : scheduled) {
+            call.cancel();
+        }
+        scheduled.clear();
+    }
+
+    /**
+     * One call to the economy, and the future it completes.
+     */
+    private class Call<T> implements Runnable {
+        private final Economy economy;
+        private final Function<Economy, T> function;
+        private final CompletableFuture<T> future = new CompletableFuture<T>();
+        private Limit limit;
+
+        Call(Economy economy, Function<Economy, T> function) {
+            this.economy = economy;
+            this.function = function;
+        }
+
+        @Override
+        public void run() {
+            scheduled.remove(this);
+            if (limit == null) {
+                callUnlessShuttingDown();
+                return;
+            } else if (!acquire()) {
+                limit.leave();
+                cancel();
+                return;
+            }
+            try {
+                callUnlessShuttingDown();
+            } finally {
+                limit.running.release();
+                limit.leave();
+            }
+        }
+
+        /**
+         * Waits for a slot, waking up now and then to notice Vault shutting down.
+         * @return false if Vault is shutting down
+         */
+        private boolean acquire() {
+            try {
+                while (!limit.running.tryAcquire(50, TimeUnit.MILLISECONDS)) {
+                    if (shuttingDown) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void callUnlessShuttingDown() {
+            if (shuttingDown) {
+                cancel();
+            } else {
+                call();
+            }
+        }
+
+        private void call() {
+            try {
+                future.complete(function.apply(economy));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        void cancel() {
+            future.completeExceptionally(new CancellationException("Vault is shutting down"));
+        }
+    }
+
+    /**
+     * Calls already running keep the limit they entered, so the old
+     * provider's limit goes once those finish.
+     */
+    private Limit limitFor(Economy economy) {
+        Limit current = limit;
+        if (current != null && current.economy == economy) {
+            return current;
+        }
+        synchronized (this) {
+            if (limit == null || limit.economy != economy) {
+                limit = new Limit(economy, maxPerProvider, queueSize);
+            }
+            return limit;
+        }
+    }
+
+    /**
+     * The calls the registered provider may run at once on virtual threads,
+     * and how many more may wait for their turn.
+     */
+    private static class Limit {
+        private final Economy economy;
+        private final Semaphore running;
+        private final int max;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        Limit(Economy economy, int running, int waiting) {
+            this.economy = economy;
+            this.running = new Semaphore(running);
+            this.max = running + waiting;
+        }
+
+        /**
+         * @return false if too many calls are running or waiting already
+         */
+        boolean enter() {
+            if (calls.incrementAndGet() > max) {
+                calls.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        void leave() {
+            calls.decrementAndGet();
+        }
+    }
+
+    /**
+     * Whether the registered economy is thread-safe, remembered until
+     * another one is registered.
+     */
+    private static class Safety {
+        private final Economy economy;
+        private final boolean threadSafe;
+
+        Safety(Economy economy, boolean threadSafe) {
+            this.economy = economy;
+            this.threadSafe = threadSafe;
+        }
+    }
+}
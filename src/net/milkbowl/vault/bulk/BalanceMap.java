@@ -0,0 +1,126 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.bulk;
+
+import java.util.UUID;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Balances by player UUID, kept in plain long and double arrays, so a map of
+ * a few thousand balances is a handful of objects rather than an entry, a
+ * UUID and a Double per player. Not safe for writing from several threads.
+ */
+public class BalanceMap {
+
+    private long[] most;
+    private long[] least;
+    private double[] balances;
+    private boolean[] used;
+    private int size;
+
+    public BalanceMap() {
+        this(16);
+    }
+
+    /**
+     * @param expected how many balances will be put, to size the map for
+     */
+    public BalanceMap(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        balances = new double[capacity];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * @return the slot holding the UUID, or the empty slot it belongs in
+     */
+    private int slot(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9e3779b97f4a7c15L;
+        int mask = used.length - 1;
+        int i = (int) (hash >>> 32) & mask;
+        while (used[i] && (most[i] != msb || least[i] != lsb)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    public void put(UUID player, double balance) {
+        long msb = player.getMostSignificantBits();
+        long lsb = player.getLeastSignificantBits();
+        int i = slot(msb, lsb);
+        if (!used[i]) {
+            if ((size + 1) * 2 > used.length) {
+                grow();
+                i = slot(msb, lsb);
+            }
+            used[i] = true;
+            most[i] = msb;
+            least[i] = lsb;
+            size++;
+        }
+        balances[i] = balance;
+    }
+
+    private void grow() {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        double[] oldBalances = balances;
+        boolean[] oldUsed = used;
+        allocate(used.length * 2);
+        for (int j = 0; j < oldUsed.length; j++) {
+            if (oldUsed[j]) {
+                int i = slot(oldMost[j], oldLeast[j]);
+                used[i] = true;
+                most[i] = oldMost[j];
+                least[i] = oldLeast[j];
+                balances[i] = oldBalances[j];
+            }
+        }
+    }
+
+    public boolean containsKey(UUID player) {
+        return used[slot(player.getMostSignificantBits(), player.getLeastSignificantBits())];
+    }
+
+    /**
+     * @return the player's balance, or NaN if there is none
+     */
+    public double get(UUID player) {
+        int i = slot(player.getMostSignificantBits(), player.getLeastSignificantBits());
+        return used[i] ? balances[i] : Double.NaN;
+    }
+
+    /**
+     * @return the player's balance, or NaN if there is none
+     */
+    public double get(OfflinePlayer player) {
+        return get(player.getUniqueId());
+    }
+
+    public int size() {
+        return size;
+    }
+}
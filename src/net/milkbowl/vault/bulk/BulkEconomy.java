@@ -0,0 +1,56 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.bulk;
+
+import java.util.Collection;
+
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Implemented by economies that can look up many balances faster than one
+ * by one. Callers go through {@link #getBalances(Economy, Collection, String)},
+ * which falls back to one lookup per player for every other economy.
+ */
+public interface BulkEconomy {
+
+    /**
+     * @param world the world to look balances up in, or null for the default
+     * @return the balance of every player given that has an account
+     */
+    BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world);
+
+    /**
+     * Looks up many balances in one call, for scoreboards and top lists.
+     * Call it where the economy itself may be called, or through
+     * AsyncEconomy.
+     * @param world the world to look balances up in, or null for the default
+     * @return the balance of every player given that has an account
+     */
+    static BalanceMap getBalances(Economy economy, Collection<? extends OfflinePlayer> players, String world) {
+        if (economy instanceof BulkEconomy) {
+            return ((BulkEconomy) economy).getBalances(players, world);
+        }
+        BalanceMap balances = new BalanceMap(players.size());
+        for (OfflinePlayer player : players) {
+            if (world == null ? economy.hasAccount(player) : economy.hasAccount(player, world)) {
+                balances.put(player.getUniqueId(), world == null ? economy.getBalance(player) : economy.getBalance(player, world));
+            }
+        }
+        return balances;
+    }
+}
@@ -0,0 +1,81 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.bulk;
+
+import java.util.BitSet;
+import java.util.List;
+
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Implemented by permission hooks that can check many nodes for a player,
+ * or a node for many players, faster than one by one, usually by looking
+ * the user up once. Callers go through the static methods, which fall back
+ * to one playerHas call per check for every other hook.
+ *
+ * Bit i of a result is set if check i succeeded, counting in the order of
+ * the list given.
+ */
+public interface BulkPermission {
+
+    /**
+     * @param world the world to check in, or null for all worlds
+     */
+    BitSet playerHas(String world, OfflinePlayer player, List<String> permissions);
+
+    /**
+     * @param world the world to check in, or null for all worlds
+     */
+    BitSet playersHave(String world, List<? extends OfflinePlayer> players, String permission);
+
+    /**
+     * Checks many nodes for one player, e.g. to draw a menu.
+     * @param world the world to check in, or null for all worlds
+     * @return bit i set if the player has permissions.get(i)
+     */
+    static BitSet playerHas(Permission perms, String world, OfflinePlayer player, List<String> permissions) {
+        if (perms instanceof BulkPermission) {
+            return ((BulkPermission) perms).playerHas(world, player, permissions);
+        }
+        BitSet has = new BitSet(permissions.size());
+        for (int i = 0; i < permissions.size(); i++) {
+            if (perms.playerHas(world, player, permissions.get(i))) {
+                has.set(i);
+            }
+        }
+        return has;
+    }
+
+    /**
+     * Checks one node for many players, e.g. to pick who gets a broadcast.
+     * @param world the world to check in, or null for all worlds
+     * @return bit i set if players.get(i) has the permission
+     */
+    static BitSet playersHave(Permission perms, String world, List<? extends OfflinePlayer> players, String permission) {
+        if (perms instanceof BulkPermission) {
+            return ((BulkPermission) perms).playersHave(world, players, permission);
+        }
+        BitSet have = new BitSet(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            if (perms.playerHas(world, players.get(i), permission)) {
+                have.set(i);
+            }
+        }
+        return have;
+    }
+}
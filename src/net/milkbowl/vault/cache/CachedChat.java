@@ -0,0 +1,726 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Remembers a chat provider's prefixes, suffixes and info nodes per player
+ * and world, so the lookups chat plugins make for every message are map
+ * reads. Prefix and suffix are loaded when a player joins. A player's meta is
+ * dropped when they change worlds or quit, or when Vault is used to change
+ * it, and everyone's when a group's meta changes or a player is changed by
+ * name only. Changes made in the chat plugin itself are not seen, so all meta
+ * is also dropped after a few ticks.
+ */
+public class CachedChat extends ForwardingChat {
+
+    // Compared by identity, so it never matches a prefix or suffix
+    private static final String UNSET = new String("unset");
+
+    private final int maxNodes;
+    private final ConcurrentMap<UUID, PlayerMeta> players = new ConcurrentHashMap<UUID, PlayerMeta>();
+
+    /**
+     * @param perms the permission provider the hook was created with
+     * @param maxNodes how many info nodes to keep per player before starting over
+     * @param expireTicks how often to drop all meta, 0 for never
+     */
+    public CachedChat(Plugin plugin, Chat provider, Permission perms, int maxNodes, long expireTicks) {
+        super(provider, perms);
+        this.maxNodes = maxNodes;
+        Bukkit.getServer().getPluginManager().registerEvents(new CacheListener(), plugin);
+        if (expireTicks > 0) {
+            Bukkit.getServer().getScheduler().runTaskTimer(plugin, new Runnable() {
+                @Override
+                public void run() {
+                    invalidateAll();
+                }
+            }, expireTicks, expireTicks);
+        }
+    }
+
+    /**
+     * Forgets all meta of one player.
+     */
+    public void invalidate(UUID player) {
+        players.remove(player);
+    }
+
+    /**
+     * Forgets all meta.
+     */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    /**
+     * Drops the meta of a player known by name only. Without a lookup the
+     * name only leads to a UUID while they are online.
+     */
+    private void invalidate(String player) {
+        Player online = player == null ? null : Bukkit.getPlayerExact(player);
+        if (online != null) {
+            invalidate(online.getUniqueId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private PlayerMeta meta(UUID player) {
+        PlayerMeta meta = players.get(player);
+        if (meta == null) {
+            PlayerMeta created = new PlayerMeta();
+            meta = players.putIfAbsent(player, created);
+            if (meta == null) {
+                meta = created;
+            }
+        }
+        return meta;
+    }
+
+    private void store(UUID player, PlayerMeta meta, ConcurrentMap<String, Info> nodes, String node, Info info) {
+        if (!meta.store(nodes, node, info, maxNodes)) {
+            // Full, start over rather than keep track of which to drop
+            players.remove(player, meta);
+        }
+    }
+
+    @Override
+    public String getPlayerPrefix(String world, OfflinePlayer player) {
+        Meta meta = meta(player.getUniqueId()).world(world);
+        String prefix = meta.prefix;
+        if (prefix == UNSET) {
+            prefix = super.getPlayerPrefix(world, player);
+            meta.prefix = prefix;
+        }
+        return prefix;
+    }
+
+    @Override
+    public String getPlayerPrefix(Player player) {
+        Meta meta = meta(player.getUniqueId()).current;
+        String prefix = meta.prefix;
+        if (prefix == UNSET) {
+            prefix = super.getPlayerPrefix(player);
+            meta.prefix = prefix;
+        }
+        return prefix;
+    }
+
+    @Override
+    public String getPlayerSuffix(String world, OfflinePlayer player) {
+        Meta meta = meta(player.getUniqueId()).world(world);
+        String suffix = meta.suffix;
+        if (suffix == UNSET) {
+            suffix = super.getPlayerSuffix(world, player);
+            meta.suffix = suffix;
+        }
+        return suffix;
+    }
+
+    @Override
+    public String getPlayerSuffix(Player player) {
+        Meta meta = meta(player.getUniqueId()).current;
+        String suffix = meta.suffix;
+        if (suffix == UNSET) {
+            suffix = super.getPlayerSuffix(player);
+            meta.suffix = suffix;
+        }
+        return suffix;
+    }
+
+    @Override
+    public int getPlayerInfoInteger(String world, OfflinePlayer player, String node, int defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoInteger(world, player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoInteger = meta.world(world).integers;
+        Info info = infoInteger.get(node);
+        if (info != null && info.isFor(defaultValue)) {
+            return (Integer) info.value;
+        }
+        int value = super.getPlayerInfoInteger(world, player, node, defaultValue);
+        store(uuid, meta, infoInteger, node, new Info(defaultValue, Integer.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public int getPlayerInfoInteger(Player player, String node, int defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoInteger(player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoInteger = meta.current.integers;
+        Info info = infoInteger.get(node);
+        if (info != null && info.isFor(defaultValue)) {
+            return (Integer) info.value;
+        }
+        int value = super.getPlayerInfoInteger(player, node, defaultValue);
+        store(uuid, meta, infoInteger, node, new Info(defaultValue, Integer.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public double getPlayerInfoDouble(String world, OfflinePlayer player, String node, double defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoDouble(world, player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoDouble = meta.world(world).doubles;
+        Info info = infoDouble.get(node);
+        if (info != null && info.isFor(Double.doubleToLongBits(defaultValue))) {
+            return (Double) info.value;
+        }
+        double value = super.getPlayerInfoDouble(world, player, node, defaultValue);
+        store(uuid, meta, infoDouble, node, new Info(Double.doubleToLongBits(defaultValue), Double.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public double getPlayerInfoDouble(Player player, String node, double defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoDouble(player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoDouble = meta.current.doubles;
+        Info info = infoDouble.get(node);
+        if (info != null && info.isFor(Double.doubleToLongBits(defaultValue))) {
+            return (Double) info.value;
+        }
+        double value = super.getPlayerInfoDouble(player, node, defaultValue);
+        store(uuid, meta, infoDouble, node, new Info(Double.doubleToLongBits(defaultValue), Double.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoBoolean(world, player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoBoolean = meta.world(world).booleans;
+        Info info = infoBoolean.get(node);
+        if (info != null && info.isFor(defaultValue ? 1 : 0)) {
+            return (Boolean) info.value;
+        }
+        boolean value = super.getPlayerInfoBoolean(world, player, node, defaultValue);
+        store(uuid, meta, infoBoolean, node, new Info(defaultValue ? 1 : 0, Boolean.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(Player player, String node, boolean defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoBoolean(player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoBoolean = meta.current.booleans;
+        Info info = infoBoolean.get(node);
+        if (info != null && info.isFor(defaultValue ? 1 : 0)) {
+            return (Boolean) info.value;
+        }
+        boolean value = super.getPlayerInfoBoolean(player, node, defaultValue);
+        store(uuid, meta, infoBoolean, node, new Info(defaultValue ? 1 : 0, Boolean.valueOf(value)));
+        return value;
+    }
+
+    @Override
+    public String getPlayerInfoString(String world, OfflinePlayer player, String node, String defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoString(world, player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoString = meta.world(world).strings;
+        Info info = infoString.get(node);
+        if (info != null && info.isFor(defaultValue)) {
+            return (String) info.value;
+        }
+        String value = super.getPlayerInfoString(world, player, node, defaultValue);
+        store(uuid, meta, infoString, node, new Info(defaultValue, value));
+        return value;
+    }
+
+    @Override
+    public String getPlayerInfoString(Player player, String node, String defaultValue) {
+        if (node == null) {
+            return super.getPlayerInfoString(player, node, defaultValue);
+        }
+        UUID uuid = player.getUniqueId();
+        PlayerMeta meta = meta(uuid);
+        ConcurrentMap<String, Info> infoString = meta.current.strings;
+        Info info = infoString.get(node);
+        if (info != null && info.isFor(defaultValue)) {
+            return (String) info.value;
+        }
+        String value = super.getPlayerInfoString(player, node, defaultValue);
+        store(uuid, meta, infoString, node, new Info(defaultValue, value));
+        return value;
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, String player, String prefix) {
+        try {
+            super.setPlayerPrefix(world, player, prefix);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, OfflinePlayer player, String prefix) {
+        try {
+            super.setPlayerPrefix(world, player, prefix);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(World world, String player, String prefix) {
+        try {
+            super.setPlayerPrefix(world, player, prefix);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(Player player, String prefix) {
+        try {
+            super.setPlayerPrefix(player, prefix);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupPrefix(String world, String group, String prefix) {
+        try {
+            super.setGroupPrefix(world, group, prefix);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupPrefix(World world, String group, String prefix) {
+        try {
+            super.setGroupPrefix(world, group, prefix);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, String player, String suffix) {
+        try {
+            super.setPlayerSuffix(world, player, suffix);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, OfflinePlayer player, String suffix) {
+        try {
+            super.setPlayerSuffix(world, player, suffix);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(World world, String player, String suffix) {
+        try {
+            super.setPlayerSuffix(world, player, suffix);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(Player player, String suffix) {
+        try {
+            super.setPlayerSuffix(player, suffix);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupSuffix(String world, String group, String suffix) {
+        try {
+            super.setGroupSuffix(world, group, suffix);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupSuffix(World world, String group, String suffix) {
+        try {
+            super.setGroupSuffix(world, group, suffix);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, OfflinePlayer player, String node, int value) {
+        try {
+            super.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, String player, String node, int value) {
+        try {
+            super.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(World world, String player, String node, int value) {
+        try {
+            super.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(Player player, String node, int value) {
+        try {
+            super.setPlayerInfoInteger(player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupInfoInteger(String world, String group, String node, int value) {
+        try {
+            super.setGroupInfoInteger(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupInfoInteger(World world, String group, String node, int value) {
+        try {
+            super.setGroupInfoInteger(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, OfflinePlayer player, String node, double value) {
+        try {
+            super.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, String player, String node, double value) {
+        try {
+            super.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(World world, String player, String node, double value) {
+        try {
+            super.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(Player player, String node, double value) {
+        try {
+            super.setPlayerInfoDouble(player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupInfoDouble(String world, String group, String node, double value) {
+        try {
+            super.setGroupInfoDouble(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupInfoDouble(World world, String group, String node, double value) {
+        try {
+            super.setGroupInfoDouble(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean value) {
+        try {
+            super.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, String player, String node, boolean value) {
+        try {
+            super.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(World world, String player, String node, boolean value) {
+        try {
+            super.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(Player player, String node, boolean value) {
+        try {
+            super.setPlayerInfoBoolean(player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupInfoBoolean(String world, String group, String node, boolean value) {
+        try {
+            super.setGroupInfoBoolean(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupInfoBoolean(World world, String group, String node, boolean value) {
+        try {
+            super.setGroupInfoBoolean(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, OfflinePlayer player, String node, String value) {
+        try {
+            super.setPlayerInfoString(world, player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, String player, String node, String value) {
+        try {
+            super.setPlayerInfoString(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(World world, String player, String node, String value) {
+        try {
+            super.setPlayerInfoString(world, player, node, value);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(Player player, String node, String value) {
+        try {
+            super.setPlayerInfoString(player, node, value);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void setGroupInfoString(String world, String group, String node, String value) {
+        try {
+            super.setGroupInfoString(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void setGroupInfoString(World world, String group, String node, String value) {
+        try {
+            super.setGroupInfoString(world, group, node, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * One player's meta. The meta for the world the player is in is kept
+     * apart from the meta for a named world, since hooks may answer the two
+     * differently.
+     */
+    private static class PlayerMeta {
+        private final Meta current = new Meta();
+        private final Meta global = new Meta();
+        private final ConcurrentMap<String, Meta> worlds = new ConcurrentHashMap<String, Meta>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * @param world a world name, or null for the meta for all worlds
+         */
+        Meta world(String world) {
+            if (world == null) {
+                return global;
+            }
+            Meta meta = worlds.get(world);
+            if (meta == null) {
+                Meta created = new Meta();
+                meta = worlds.putIfAbsent(world, created);
+                if (meta == null) {
+                    meta = created;
+                }
+            }
+            return meta;
+        }
+
+        /**
+         * @return false if the player already has the most info nodes allowed
+         */
+        boolean store(ConcurrentMap<String, Info> nodes, String node, Info info, int max) {
+            if (size.get() >= max) {
+                return false;
+            }
+            if (nodes.put(node, info) == null) {
+                size.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    private static class Meta {
+        private volatile String prefix = UNSET;
+        private volatile String suffix = UNSET;
+        private final ConcurrentMap<String, Info> integers = new ConcurrentHashMap<String, Info>();
+        private final ConcurrentMap<String, Info> doubles = new ConcurrentHashMap<String, Info>();
+        private final ConcurrentMap<String, Info> booleans = new ConcurrentHashMap<String, Info>();
+        private final ConcurrentMap<String, Info> strings = new ConcurrentHashMap<String, Info>();
+    }
+
+    /**
+     * An info node's value, which only holds for the default value it was
+     * looked up with. Numeric defaults are kept as bits so checking one does
+     * not box it.
+     */
+    private static class Info {
+        private final long defaultBits;
+        private final String defaultString;
+        private final Object value;
+
+        Info(long defaultBits, Object value) {
+            this.defaultBits = defaultBits;
+            this.defaultString = null;
+            this.value = value;
+        }
+
+        Info(String defaultString, Object value) {
+            this.defaultBits = 0;
+            this.defaultString = defaultString;
+            this.value = value;
+        }
+
+        boolean isFor(long defaultBits) {
+            return this.defaultBits == defaultBits;
+        }
+
+        boolean isFor(String defaultString) {
+            return defaultString == null ? this.defaultString == null : defaultString.equals(this.defaultString);
+        }
+    }
+
+    public class CacheListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            Player player = event.getPlayer();
+            getPlayerPrefix(player);
+            getPlayerSuffix(player);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+            invalidate(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            invalidate(event.getPlayer().getUniqueId());
+        }
+    }
+}
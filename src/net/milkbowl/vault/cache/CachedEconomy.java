@@ -0,0 +1,350 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+/**
+ * Remembers an economy's balances for a short time, so plugins polling
+ * getBalance do not reach the backend every time. Deposits and withdrawals
+ * made through Vault replace the player's balance with the one in the
+ * response, or drop it if the response has none. Changes made outside Vault
+ * show once the balance has expired.
+ *
+ * Balances asked for by player and by name are kept apart. A change by
+ * player drops the balance known by their name, and a change by name drops
+ * the one known by player while they are online, or all of those otherwise.
+ */
+public class CachedEconomy extends ForwardingEconomy {
+
+    private final long ttl;
+    private final int maxAccounts;
+    private final ConcurrentMap<UUID, Balances> byPlayer = new ConcurrentHashMap<UUID, Balances>();
+    private final ConcurrentMap<String, Balances> byName = new ConcurrentHashMap<String, Balances>();
+
+    /**
+     * @param ttl how long a balance is kept, in nanoseconds
+     * @param maxAccounts how many accounts to keep balances of, per kind,
+     *        before starting over
+     */
+    public CachedEconomy(Economy provider, long ttl, int maxAccounts) {
+        super(provider);
+        this.ttl = ttl;
+        this.maxAccounts = maxAccounts;
+    }
+
+    /**
+     * Forgets every balance.
+     */
+    public void invalidateAll() {
+        byPlayer.clear();
+        byName.clear();
+    }
+
+    private <K> Balances balances(ConcurrentMap<K, Balances> balances, K key) {
+        Balances account = balances.get(key);
+        if (account == null) {
+            if (balances.size() >= maxAccounts) {
+                // Full, e.g. from a top list going through every account
+                balances.clear();
+            }
+            Balances created = new Balances();
+            account = balances.putIfAbsent(key, created);
+            if (account == null) {
+                account = created;
+            }
+        }
+        return account;
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        return getBalance(playerName, (String) null);
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        return getBalance(player, (String) null);
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        if (playerName == null) {
+            return world == null ? super.getBalance(playerName) : super.getBalance(playerName, world);
+        }
+        long now = System.nanoTime();
+        Balances account = balances(byName, playerName);
+        Balance balance = account.get(world);
+        if (balance != null && balance.isFresh(now)) {
+            return balance.amount;
+        }
+        double amount = world == null ? super.getBalance(playerName) : super.getBalance(playerName, world);
+        account.put(world, new Balance(amount, now + ttl));
+        return amount;
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player, String world) {
+        long now = System.nanoTime();
+        Balances account = balances(byPlayer, player.getUniqueId());
+        Balance balance = account.get(world);
+        if (balance != null && balance.isFresh(now)) {
+            return balance.amount;
+        }
+        double amount = world == null ? super.getBalance(player) : super.getBalance(player, world);
+        account.put(world, new Balance(amount, now + ttl));
+        return amount;
+    }
+
+    /**
+     * Answers the balances it has, and looks up the rest in one call.
+     */
+    @Override
+    public BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world) {
+        long now = System.nanoTime();
+        BalanceMap balances = new BalanceMap(players.size());
+        List<OfflinePlayer> missing = new ArrayList<OfflinePlayer>();
+        // Taken before the call, so a change made meanwhile drops what it returns
+        List<Balances> accounts = new ArrayList<Balances>();
+        for (OfflinePlayer player : players) {
+            Balances account = balances(byPlayer, player.getUniqueId());
+            Balance balance = account.get(world);
+            if (balance != null && balance.isFresh(now)) {
+                balances.put(player.getUniqueId(), balance.amount);
+            } else {
+                missing.add(player);
+                accounts.add(account);
+            }
+        }
+        if (!missing.isEmpty()) {
+            BalanceMap found = super.getBalances(missing, world);
+            for (int i = 0; i < missing.size(); i++) {
+                UUID uuid = missing.get(i).getUniqueId();
+                if (found.containsKey(uuid)) {
+                    double amount = found.get(uuid);
+                    balances.put(uuid, amount);
+                    accounts.get(i).put(world, new Balance(amount, now + ttl));
+                }
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Drops the player's balances in every world, as most backends have one
+     * account for all of them, and keeps the new one if the response has it.
+     */
+    private void changed(String playerName, String world, EconomyResponse response) {
+        if (playerName == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        byName.remove(playerName);
+        if (response != null && response.transactionSuccess()) {
+            balances(byName, playerName).put(world, new Balance(response.balance, now + ttl));
+        }
+        Player online = Bukkit.getPlayerExact(playerName);
+        if (online != null) {
+            byPlayer.remove(online.getUniqueId());
+        } else {
+            byPlayer.clear();
+        }
+    }
+
+    private void changed(OfflinePlayer player, String world, EconomyResponse response) {
+        long now = System.nanoTime();
+        UUID uuid = player.getUniqueId();
+        byPlayer.remove(uuid);
+        if (response != null && response.transactionSuccess()) {
+            balances(byPlayer, uuid).put(world, new Balance(response.balance, now + ttl));
+        }
+        String name = player.getName();
+        if (name != null) {
+            byName.remove(name);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.withdrawPlayer(playerName, amount);
+            return response;
+        } finally {
+            changed(playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.withdrawPlayer(player, amount);
+            return response;
+        } finally {
+            changed(player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.withdrawPlayer(playerName, worldName, amount);
+            return response;
+        } finally {
+            changed(playerName, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.withdrawPlayer(player, worldName, amount);
+            return response;
+        } finally {
+            changed(player, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.depositPlayer(playerName, amount);
+            return response;
+        } finally {
+            changed(playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.depositPlayer(player, amount);
+            return response;
+        } finally {
+            changed(player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.depositPlayer(playerName, worldName, amount);
+            return response;
+        } finally {
+            changed(playerName, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        EconomyResponse response = null;
+        try {
+            response = super.depositPlayer(player, worldName, amount);
+            return response;
+        } finally {
+            changed(player, worldName, response);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        try {
+            return super.createPlayerAccount(playerName);
+        } finally {
+            changed(playerName, null, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player) {
+        try {
+            return super.createPlayerAccount(player);
+        } finally {
+            changed(player, null, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        try {
+            return super.createPlayerAccount(playerName, worldName);
+        } finally {
+            changed(playerName, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player, String worldName) {
+        try {
+            return super.createPlayerAccount(player, worldName);
+        } finally {
+            changed(player, worldName, null);
+        }
+    }
+
+    /**
+     * One account's balances, for all worlds and per world.
+     */
+    private static class Balances {
+        private volatile Balance global;
+        private final ConcurrentMap<String, Balance> worlds = new ConcurrentHashMap<String, Balance>();
+
+        Balance get(String world) {
+            return world == null ? global : worlds.get(world);
+        }
+
+        void put(String world, Balance balance) {
+            if (world == null) {
+                global = balance;
+            } else {
+                worlds.put(world, balance);
+            }
+        }
+    }
+
+    private static class Balance {
+        private final double amount;
+        private final long expires;
+
+        Balance(double amount, long expires) {
+            this.amount = amount;
+            this.expires = expires;
+        }
+
+        boolean isFresh(long now) {
+            return now - expires < 0;
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Remembers the answers of a permission provider's playerHas calls per
+ * player, world and node. A player's answers are dropped when they change
+ * worlds or quit, or when Vault is used to change their nodes or groups, and
+ * everyone's when a group's nodes change or a player is changed by name only.
+ * Changes made in the permission plugin itself are not seen, so every answer
+ * is also dropped after a few ticks.
+ */
+public class CachedPermission extends ForwardingPermission {
+
+    private final int maxNodes;
+    private final ConcurrentMap<UUID, Decisions> players = new ConcurrentHashMap<UUID, Decisions>();
+
+    /**
+     * @param maxNodes how many answers to keep per player before starting over
+     * @param expireTicks how often to drop every answer, 0 for never
+     */
+    public CachedPermission(Plugin plugin, Permission provider, int maxNodes, long expireTicks) {
+        super(provider);
+        this.plugin = plugin;
+        this.maxNodes = maxNodes;
+        Bukkit.getServer().getPluginManager().registerEvents(new CacheListener(), plugin);
+        if (expireTicks > 0) {
+            Bukkit.getServer().getScheduler().runTaskTimer(plugin, new Runnable() {
+                @Override
+                public void run() {
+                    invalidateAll();
+                }
+            }, expireTicks, expireTicks);
+        }
+    }
+
+    /**
+     * Forgets every answer for one player.
+     */
+    public void invalidate(UUID player) {
+        players.remove(player);
+    }
+
+    /**
+     * Forgets every answer.
+     */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    private Decisions decisions(UUID player) {
+        Decisions decisions = players.get(player);
+        if (decisions == null) {
+            Decisions created = new Decisions();
+            decisions = players.putIfAbsent(player, created);
+            if (decisions == null) {
+                decisions = created;
+            }
+        }
+        return decisions;
+    }
+
+    private void store(UUID player, Decisions decisions, ConcurrentMap<String, Boolean> nodes, String permission, boolean decision) {
+        if (!decisions.store(nodes, permission, decision, maxNodes)) {
+            // Full, start over rather than keep track of which to drop
+            players.remove(player, decisions);
+        }
+    }
+
+    @Override
+    public boolean playerHas(String world, OfflinePlayer player, String permission) {
+        if (permission == null) {
+            return super.playerHas(world, player, permission);
+        }
+        UUID uuid = player.getUniqueId();
+        Decisions decisions = decisions(uuid);
+        ConcurrentMap<String, Boolean> nodes = decisions.world(world);
+        Boolean decision = nodes.get(permission);
+        if (decision == null) {
+            decision = super.playerHas(world, player, permission);
+            store(uuid, decisions, nodes, permission, decision);
+        }
+        return decision;
+    }
+
+    @Override
+    public boolean playerHas(Player player, String permission) {
+        if (permission == null) {
+            return super.playerHas(player, permission);
+        }
+        UUID uuid = player.getUniqueId();
+        Decisions decisions = decisions(uuid);
+        Boolean decision = decisions.current.get(permission);
+        if (decision == null) {
+            decision = super.playerHas(player, permission);
+            store(uuid, decisions, decisions.current, permission, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Answers the checks it knows, and passes the rest on in one call.
+     */
+    @Override
+    public BitSet playerHas(String world, OfflinePlayer player, List<String> permissions) {
+        UUID uuid = player.getUniqueId();
+        Decisions decisions = decisions(uuid);
+        ConcurrentMap<String, Boolean> nodes = decisions.world(world);
+        BitSet has = new BitSet(permissions.size());
+        List<String> missing = new ArrayList<String>();
+        int[] missingAt = new int[permissions.size()];
+        for (int i = 0; i < permissions.size(); i++) {
+            String permission = permissions.get(i);
+            Boolean decision = permission == null ? null : nodes.get(permission);
+            if (decision == null) {
+                missingAt[missing.size()] = i;
+                missing.add(permission);
+            } else if (decision) {
+                has.set(i);
+            }
+        }
+        if (!missing.isEmpty()) {
+            BitSet found = super.playerHas(world, player, missing);
+            for (int j = 0; j < missing.size(); j++) {
+                boolean decision = found.get(j);
+                if (decision) {
+                    has.set(missingAt[j]);
+                }
+                if (missing.get(j) != null) {
+                    store(uuid, decisions, nodes, missing.get(j), decision);
+                }
+            }
+        }
+        return has;
+    }
+
+    @Override
+    public BitSet playersHave(String world, List<? extends OfflinePlayer> players, String permission) {
+        if (permission == null) {
+            return super.playersHave(world, players, permission);
+        }
+        BitSet have = new BitSet(players.size());
+        List<OfflinePlayer> missing = new ArrayList<OfflinePlayer>();
+        int[] missingAt = new int[players.size()];
+        // Taken before the call, so an invalidation made meanwhile drops what it returns
+        List<Decisions> missingDecisions = new ArrayList<Decisions>();
+        List<ConcurrentMap<String, Boolean>> missingNodes = new ArrayList<ConcurrentMap<String, Boolean>>();
+        for (int i = 0; i < players.size(); i++) {
+            OfflinePlayer player = players.get(i);
+            Decisions decisions = decisions(player.getUniqueId());
+            ConcurrentMap<String, Boolean> nodes = decisions.world(world);
+            Boolean decision = nodes.get(permission);
+            if (decision == null) {
+                missingAt[missing.size()] = i;
+                missing.add(player);
+                missingDecisions.add(decisions);
+                missingNodes.add(nodes);
+            } else if (decision) {
+                have.set(i);
+            }
+        }
+        if (!missing.isEmpty()) {
+            BitSet found = super.playersHave(world, missing, permission);
+            for (int j = 0; j < missing.size(); j++) {
+                boolean decision = found.get(j);
+                if (decision) {
+                    have.set(missingAt[j]);
+                }
+                store(missing.get(j).getUniqueId(), missingDecisions.get(j), missingNodes.get(j), permission, decision);
+            }
+        }
+        return have;
+    }
+
+    /**
+     * Drops the answers of a player known by name only. Without a lookup
+     * the name only leads to a UUID while they are online.
+     */
+    private void invalidate(String player) {
+        Player online = player == null ? null : Bukkit.getPlayerExact(player);
+        if (online != null) {
+            invalidate(online.getUniqueId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean playerAdd(String world, String player, String permission) {
+        try {
+            return super.playerAdd(world, player, permission);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(World world, String player, String permission) {
+        try {
+            return super.playerAdd(world, player, permission);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(String world, OfflinePlayer player, String permission) {
+        try {
+            return super.playerAdd(world, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAdd(Player player, String permission) {
+        try {
+            return super.playerAdd(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemove(String world, String player, String permission) {
+        try {
+            return super.playerRemove(world, player, permission);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(World world, String player, String permission) {
+        try {
+            return super.playerRemove(world, player, permission);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(String world, OfflinePlayer player, String permission) {
+        try {
+            return super.playerRemove(world, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemove(Player player, String permission) {
+        try {
+            return super.playerRemove(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(OfflinePlayer player, String permission) {
+        try {
+            return super.playerAddTransient(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(Player player, String permission) {
+        try {
+            return super.playerAddTransient(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, OfflinePlayer player, String permission) {
+        try {
+            return super.playerAddTransient(worldName, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, Player player, String permission) {
+        try {
+            return super.playerAddTransient(worldName, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(OfflinePlayer player, String permission) {
+        try {
+            return super.playerRemoveTransient(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(Player player, String permission) {
+        try {
+            return super.playerRemoveTransient(player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, OfflinePlayer player, String permission) {
+        try {
+            return super.playerRemoveTransient(worldName, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, Player player, String permission) {
+        try {
+            return super.playerRemoveTransient(worldName, player, permission);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, String player, String group) {
+        try {
+            return super.playerAddGroup(world, player, group);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(World world, String player, String group) {
+        try {
+            return super.playerAddGroup(world, player, group);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, OfflinePlayer player, String group) {
+        try {
+            return super.playerAddGroup(world, player, group);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(Player player, String group) {
+        try {
+            return super.playerAddGroup(player, group);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, String player, String group) {
+        try {
+            return super.playerRemoveGroup(world, player, group);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(World world, String player, String group) {
+        try {
+            return super.playerRemoveGroup(world, player, group);
+        } finally {
+            invalidate(player);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, OfflinePlayer player, String group) {
+        try {
+            return super.playerRemoveGroup(world, player, group);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(Player player, String group) {
+        try {
+            return super.playerRemoveGroup(player, group);
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean groupAdd(String world, String group, String permission) {
+        try {
+            return super.groupAdd(world, group, permission);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean groupAdd(World world, String group, String permission) {
+        try {
+            return super.groupAdd(world, group, permission);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean groupRemove(String world, String group, String permission) {
+        try {
+            return super.groupRemove(world, group, permission);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean groupRemove(World world, String group, String permission) {
+        try {
+            return super.groupRemove(world, group, permission);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * One player's answers. Answers for the world the player is in are kept
+     * apart from those for a named world, since hooks may answer the two
+     * differently.
+     */
+    private static class Decisions {
+        private final ConcurrentMap<String, Boolean> current = new ConcurrentHashMap<String, Boolean>();
+        private final ConcurrentMap<String, Boolean> global = new ConcurrentHashMap<String, Boolean>();
+        private final ConcurrentMap<String, ConcurrentMap<String, Boolean>> worlds = new ConcurrentHashMap<String, ConcurrentMap<String, Boolean>>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * @param world a world name, or null for the answers for all worlds
+         */
+        ConcurrentMap<String, Boolean> world(String world) {
+            if (world == null) {
+                return global;
+            }
+            ConcurrentMap<String, Boolean> nodes = worlds.get(world);
+            if (nodes == null) {
+                ConcurrentMap<String, Boolean> created = new ConcurrentHashMap<String, Boolean>();
+                nodes = worlds.putIfAbsent(world, created);
+                if (nodes == null) {
+                    nodes = created;
+                }
+            }
+            return nodes;
+        }
+
+        /**
+         * @return false if the player already has the most answers allowed
+         */
+        boolean store(ConcurrentMap<String, Boolean> nodes, String permission, boolean decision, int max) {
+            if (size.get() >= max) {
+                return false;
+            }
+            if (nodes.put(permission, decision) == null) {
+                size.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    public class CacheListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+            invalidate(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            invalidate(event.getPlayer().getUniqueId());
+        }
+    }
+}
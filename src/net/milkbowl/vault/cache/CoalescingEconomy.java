@@ -0,0 +1,524 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Sums up deposits per account and writes them to the economy in one go, so
+ * many small rewards cost one backend write instead of one each. Pending
+ * deposits are written every few ticks, before any balance check or
+ * withdrawal for the same player, and before any plugin is disabled, which
+ * Bukkit announces while the plugin is still enabled. Withdrawals are always
+ * passed on right away.
+ *
+ * The first deposit to an account after a flush is written right away, so
+ * the caller gets the backend's own answer and the account is known to take
+ * deposits. Only the ones after it are summed up, and answered with the
+ * balance that write returned plus everything pending since. A summed up
+ * deposit that the backend still refuses is kept and tried again on every
+ * flush, with deposits to that account passed on right away meanwhile, and
+ * whatever cannot be written by the time Vault is disabled is saved to a
+ * file and queued again on the next start.
+ */
+public class CoalescingEconomy extends ForwardingEconomy {
+
+    // Set while Transfer runs, which needs the backend's answer for every leg
+    private static final ThreadLocal<Boolean> writeThrough = new ThreadLocal<Boolean>();
+
+    private final Logger log;
+    private final File unwritten;
+    private final ConcurrentMap<Account, Pending> pending = new ConcurrentHashMap<Account, Pending>();
+    // How many pending deposits are for a world, so reads only have to look
+    // further than the account's deposit without one when there are any
+    private final AtomicInteger inWorlds = new AtomicInteger();
+
+    /**
+     * @param flushTicks how often to write all pending deposits
+     * @param unwritten where to keep deposits that could not be written
+     *        when Vault is disabled
+     */
+    public CoalescingEconomy(Plugin plugin, Economy provider, long flushTicks, File unwritten) {
+        super(provider);
+        this.log = plugin.getLogger();
+        this.unwritten = unwritten;
+        load();
+        Bukkit.getServer().getPluginManager().registerEvents(new FlushListener(), plugin);
+        Bukkit.getServer().getScheduler().runTaskTimer(plugin, new Runnable() {
+            @Override
+            public void run() {
+                flushAll();
+            }
+        }, flushTicks, flushTicks);
+    }
+
+    /**
+     * Makes deposits on the calling thread go to the economy right away
+     * rather than be summed up, so a failed one is seen by the caller.
+     * @return whether they did before, to restore afterwards
+     */
+    public static boolean setWriteThrough(boolean on) {
+        boolean was = writeThrough.get() != null;
+        if (on) {
+            writeThrough.set(Boolean.TRUE);
+        } else {
+            writeThrough.remove();
+        }
+        return was;
+    }
+
+    /**
+     * Writes every pending deposit.
+     */
+    public void flushAll() {
+        // Deposits queued again while writing wait for the next flush
+        List<Map.Entry<Account, Pending>> deposits = new ArrayList<Map.Entry<Account, Pending>>(pending.entrySet());
+        for (Map.Entry<Account, Pending> deposit : deposits) {
+            flush(deposit.getKey(), deposit.getValue());
+        }
+    }
+
+    /**
+     * Writes every pending deposit, and saves the ones that could not be
+     * written to be tried again on the next start.
+     */
+    public void shutdown() {
+        flushAll();
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> deposits = new ArrayList<Map<String, Object>>();
+        for (Map.Entry<Account, Pending> entry : pending.entrySet()) {
+            Pending deposit = entry.getValue();
+            double amount = deposit.close();
+            if (amount > 0) {
+                Map<String, Object> saved = new HashMap<String, Object>();
+                saved.put(entry.getKey().id instanceof UUID ? "uuid" : "name", entry.getKey().id.toString());
+                if (deposit.world != null) {
+                    saved.put("world", deposit.world);
+                }
+                saved.put("amount", amount);
+                deposits.add(saved);
+            }
+        }
+        pending.clear();
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("deposits", deposits);
+        try {
+            yaml.save(unwritten);
+            log.severe(String.format("[Economy] %d summed up deposits could not be written, saved to %s to be tried again on the next start", deposits.size(), unwritten.getName()));
+        } catch (IOException e) {
+            for (Map<String, Object> deposit : deposits) {
+                log.severe(String.format("[Economy] Lost a summed up deposit that could not be written or saved: %s", deposit));
+            }
+        }
+    }
+
+    /**
+     * Queues the deposits saved by the last shutdown again.
+     */
+    private void load() {
+        if (!unwritten.exists()) {
+            return;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(unwritten);
+        for (Map<?, ?> saved : yaml.getMapList("deposits")) {
+            Object uuid = saved.get("uuid");
+            Object name = saved.get("name");
+            Object world = saved.get("world");
+            Object amount = saved.get("amount");
+            if (!(amount instanceof Number) || (uuid == null && name == null)) {
+                log.severe(String.format("[Economy] Skipped a broken deposit in %s: %s", unwritten.getName(), saved));
+                continue;
+            }
+            try {
+                OfflinePlayer player = uuid == null ? null : Bukkit.getOfflinePlayer(UUID.fromString(uuid.toString()));
+                Object id = player == null ? name.toString() : player.getUniqueId();
+                retry(new Account(id, world == null ? null : world.toString()), player == null ? name.toString() : null, player,
+                        world == null ? null : world.toString(), ((Number) amount).doubleValue());
+            } catch (IllegalArgumentException e) {
+                log.severe(String.format("[Economy] Skipped a broken deposit in %s: %s", unwritten.getName(), saved));
+            }
+        }
+        // Queued now, and saved again on shutdown if still not written
+        if (!unwritten.delete()) {
+            log.severe(String.format("[Economy] Could not delete %s, remove it before the next start or its deposits are made twice", unwritten.getName()));
+        }
+    }
+
+    /**
+     * Writes the pending deposits of one account, in every world.
+     * @param id a player name or UUID
+     */
+    private void flush(Object id) {
+        Account account = new Account(id, null);
+        Pending deposit = pending.get(account);
+        if (deposit != null) {
+            flush(account, deposit);
+        }
+        if (inWorlds.get() > 0) {
+            for (Map.Entry<Account, Pending> entry : pending.entrySet()) {
+                if (entry.getKey().id.equals(id)) {
+                    flush(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void flush(Account account, Pending deposit) {
+        double amount = deposit.close();
+        remove(account, deposit);
+        if (amount > 0 && !write(deposit, amount)) {
+            retry(account, deposit.name, deposit.player, deposit.world, amount);
+        }
+    }
+
+    /**
+     * Queues an amount that could not be written for the next flush.
+     */
+    private void retry(Account account, String playerName, OfflinePlayer player, String world, double amount) {
+        Pending retry = new Pending(playerName, player, world, 0, true);
+        retry.add(amount);
+        while (true) {
+            Pending deposit = pending.putIfAbsent(account, retry);
+            if (deposit == null) {
+                if (world != null) {
+                    inWorlds.incrementAndGet();
+                }
+                return;
+            } else if (!Double.isNaN(deposit.add(amount))) {
+                return;
+            }
+            remove(account, deposit);
+        }
+    }
+
+    private void remove(Account account, Pending deposit) {
+        if (pending.remove(account, deposit) && account.world != null) {
+            inWorlds.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return true if the amount was written
+     */
+    private boolean write(Pending deposit, double amount) {
+        EconomyResponse response;
+        try {
+            response = depositNow(deposit.name, deposit.player, deposit.world, amount);
+        } catch (RuntimeException e) {
+            response = new EconomyResponse(amount, 0, ResponseType.FAILURE, e.toString());
+        }
+        if (response != null && response.transactionSuccess()) {
+            return true;
+        } else if (!deposit.retry) {
+            // Logged once, not on every flush it keeps failing
+            String account = deposit.player != null ? deposit.player.getUniqueId().toString() : deposit.name;
+            log.severe(String.format("[Economy] Could not deposit %s summed up for %s%s, will try again: %s", amount, account,
+                    deposit.world == null ? "" : " in " + deposit.world, response == null ? "no response" : response.errorMessage));
+        }
+        return false;
+    }
+
+    private EconomyResponse depositNow(String playerName, OfflinePlayer player, String world, double amount) {
+        if (player != null) {
+            return world == null ? super.depositPlayer(player, amount) : super.depositPlayer(player, world, amount);
+        }
+        return world == null ? super.depositPlayer(playerName, amount) : super.depositPlayer(playerName, world, amount);
+    }
+
+    /**
+     * Writes the pending deposits of a player known by name, and those made
+     * for them by UUID. Without a lookup the name only leads to a UUID while
+     * they are online, otherwise every deposit made by UUID is written.
+     */
+    private void flush(String playerName) {
+        if (playerName == null || pending.isEmpty()) {
+            return;
+        }
+        flush((Object) playerName);
+        Player online = Bukkit.getPlayerExact(playerName);
+        if (online != null) {
+            flush(online.getUniqueId());
+        } else {
+            for (Map.Entry<Account, Pending> entry : pending.entrySet()) {
+                if (entry.getKey().id instanceof UUID) {
+                    flush(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void flush(OfflinePlayer player) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flush(player.getUniqueId());
+        String name = player.getName();
+        if (name != null) {
+            flush((Object) name);
+        }
+    }
+
+    private EconomyResponse deposit(Object id, String playerName, OfflinePlayer player, String world, double amount) {
+        if (writeThrough.get() != null) {
+            if (player != null) {
+                flush(player);
+            } else {
+                flush(playerName);
+            }
+            return depositNow(playerName, player, world, amount);
+        }
+        Account account = new Account(id, world);
+        while (true) {
+            Pending deposit = pending.get(account);
+            if (deposit == null || deposit.retry) {
+                // The first deposit since the last flush, or one to an account
+                // the backend refused, is written so the caller gets its answer
+                EconomyResponse response = depositNow(playerName, player, world, amount);
+                if (deposit == null && response != null && response.transactionSuccess()) {
+                    Pending created = new Pending(playerName, player, world, response.balance, false);
+                    if (pending.putIfAbsent(account, created) == null && world != null) {
+                        inWorlds.incrementAndGet();
+                    }
+                }
+                return response;
+            }
+            double balance = deposit.add(amount);
+            if (!Double.isNaN(balance)) {
+                return new EconomyResponse(amount, balance, ResponseType.SUCCESS, null);
+            }
+            // Closed by a flush before the amount got in, start a new one
+            remove(account, deposit);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        if (playerName == null || !(amount > 0)) {
+            return super.depositPlayer(playerName, amount);
+        }
+        return deposit(playerName, playerName, null, null, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        if (!(amount > 0)) {
+            return super.depositPlayer(player, amount);
+        }
+        return deposit(player.getUniqueId(), null, player, null, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        if (playerName == null || !(amount > 0)) {
+            return super.depositPlayer(playerName, worldName, amount);
+        }
+        return deposit(playerName, playerName, null, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        if (!(amount > 0)) {
+            return super.depositPlayer(player, worldName, amount);
+        }
+        return deposit(player.getUniqueId(), null, player, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        flush(playerName);
+        return super.withdrawPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        flush(player);
+        return super.withdrawPlayer(player, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        flush(playerName);
+        return super.withdrawPlayer(playerName, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        flush(player);
+        return super.withdrawPlayer(player, worldName, amount);
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        flush(playerName);
+        return super.getBalance(playerName);
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        flush(player);
+        return super.getBalance(player);
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        flush(playerName);
+        return super.getBalance(playerName, world);
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player, String world) {
+        flush(player);
+        return super.getBalance(player, world);
+    }
+
+    @Override
+    public boolean has(String playerName, double amount) {
+        flush(playerName);
+        return super.has(playerName, amount);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, double amount) {
+        flush(player);
+        return super.has(player, amount);
+    }
+
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        flush(playerName);
+        return super.has(playerName, worldName, amount);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, String worldName, double amount) {
+        flush(player);
+        return super.has(player, worldName, amount);
+    }
+
+    @Override
+    public BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world) {
+        for (OfflinePlayer player : players) {
+            flush(player);
+        }
+        return super.getBalances(players, world);
+    }
+
+    /**
+     * A player name or UUID, with the world deposits were made in or null.
+     */
+    private static class Account {
+        private final Object id;
+        private final String world;
+
+        Account(Object id, String world) {
+            this.id = id;
+            this.world = world;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Account)) {
+                return false;
+            }
+            Account other = (Account) o;
+            return id.equals(other.id) && (world == null ? other.world == null : world.equals(other.world));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + (world == null ? 0 : world.hashCode());
+        }
+    }
+
+    /**
+     * The deposits summed up for one account in one world. Once closed by a
+     * flush it takes no more, and a new one is started.
+     */
+    private static class Pending {
+        private final String name;
+        private final OfflinePlayer player;
+        private final String world;
+        private final double balance;
+        // Holds amounts the backend refused before
+        private final boolean retry;
+        private double amount;
+        private boolean closed;
+
+        Pending(String name, OfflinePlayer player, String world, double balance, boolean retry) {
+            this.name = name;
+            this.player = player;
+            this.world = world;
+            this.balance = balance;
+            this.retry = retry;
+        }
+
+        /**
+         * @return the balance once everything pending is written, or NaN if
+         *         already flushed
+         */
+        synchronized double add(double deposit) {
+            if (closed) {
+                return Double.NaN;
+            }
+            amount += deposit;
+            return balance + amount;
+        }
+
+        /**
+         * @return the amount to write
+         */
+        synchronized double close() {
+            closed = true;
+            return amount;
+        }
+    }
+
+    public class FlushListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onPluginDisable(PluginDisableEvent event) {
+            flushAll();
+        }
+    }
+}
@@ -0,0 +1,482 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * A chat provider that passes every call on to another one, for wrappers to
+ * override the calls they change.
+ */
+public class ForwardingChat extends Chat {
+
+    private final Chat provider;
+
+    /**
+     * @param perms the permission provider the wrapped hook was created with
+     */
+    public ForwardingChat(Chat provider, Permission perms) {
+        super(perms);
+        this.provider = provider;
+    }
+
+    /**
+     * @return the provider calls are passed on to
+     */
+    public Chat getProvider() {
+        return provider;
+    }
+
+    @Override
+    public String getName() {
+        return getProvider().getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return getProvider().isEnabled();
+    }
+
+    @Override
+    public String getPlayerPrefix(String world, String player) {
+        return getProvider().getPlayerPrefix(world, player);
+    }
+
+    @Override
+    public String getPlayerPrefix(String world, OfflinePlayer player) {
+        return getProvider().getPlayerPrefix(world, player);
+    }
+
+    @Override
+    public String getPlayerPrefix(World world, String player) {
+        return getProvider().getPlayerPrefix(world, player);
+    }
+
+    @Override
+    public String getPlayerPrefix(Player player) {
+        return getProvider().getPlayerPrefix(player);
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, String player, String prefix) {
+        getProvider().setPlayerPrefix(world, player, prefix);
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, OfflinePlayer player, String prefix) {
+        getProvider().setPlayerPrefix(world, player, prefix);
+    }
+
+    @Override
+    public void setPlayerPrefix(World world, String player, String prefix) {
+        getProvider().setPlayerPrefix(world, player, prefix);
+    }
+
+    @Override
+    public void setPlayerPrefix(Player player, String prefix) {
+        getProvider().setPlayerPrefix(player, prefix);
+    }
+
+    @Override
+    public String getGroupPrefix(String world, String group) {
+        return getProvider().getGroupPrefix(world, group);
+    }
+
+    @Override
+    public String getGroupPrefix(World world, String group) {
+        return getProvider().getGroupPrefix(world, group);
+    }
+
+    @Override
+    public void setGroupPrefix(String world, String group, String prefix) {
+        getProvider().setGroupPrefix(world, group, prefix);
+    }
+
+    @Override
+    public void setGroupPrefix(World world, String group, String prefix) {
+        getProvider().setGroupPrefix(world, group, prefix);
+    }
+
+    @Override
+    public String getPlayerSuffix(String world, String player) {
+        return getProvider().getPlayerSuffix(world, player);
+    }
+
+    @Override
+    public String getPlayerSuffix(String world, OfflinePlayer player) {
+        return getProvider().getPlayerSuffix(world, player);
+    }
+
+    @Override
+    public String getPlayerSuffix(World world, String player) {
+        return getProvider().getPlayerSuffix(world, player);
+    }
+
+    @Override
+    public String getPlayerSuffix(Player player) {
+        return getProvider().getPlayerSuffix(player);
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, String player, String suffix) {
+        getProvider().setPlayerSuffix(world, player, suffix);
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, OfflinePlayer player, String suffix) {
+        getProvider().setPlayerSuffix(world, player, suffix);
+    }
+
+    @Override
+    public void setPlayerSuffix(World world, String player, String suffix) {
+        getProvider().setPlayerSuffix(world, player, suffix);
+    }
+
+    @Override
+    public void setPlayerSuffix(Player player, String suffix) {
+        getProvider().setPlayerSuffix(player, suffix);
+    }
+
+    @Override
+    public String getGroupSuffix(String world, String group) {
+        return getProvider().getGroupSuffix(world, group);
+    }
+
+    @Override
+    public String getGroupSuffix(World world, String group) {
+        return getProvider().getGroupSuffix(world, group);
+    }
+
+    @Override
+    public void setGroupSuffix(String world, String group, String suffix) {
+        getProvider().setGroupSuffix(world, group, suffix);
+    }
+
+    @Override
+    public void setGroupSuffix(World world, String group, String suffix) {
+        getProvider().setGroupSuffix(world, group, suffix);
+    }
+
+    @Override
+    public int getPlayerInfoInteger(String world, OfflinePlayer player, String node, int defaultValue) {
+        return getProvider().getPlayerInfoInteger(world, player, node, defaultValue);
+    }
+
+    @Override
+    public int getPlayerInfoInteger(String world, String player, String node, int defaultValue) {
+        return getProvider().getPlayerInfoInteger(world, player, node, defaultValue);
+    }
+
+    @Override
+    public int getPlayerInfoInteger(World world, String player, String node, int defaultValue) {
+        return getProvider().getPlayerInfoInteger(world, player, node, defaultValue);
+    }
+
+    @Override
+    public int getPlayerInfoInteger(Player player, String node, int defaultValue) {
+        return getProvider().getPlayerInfoInteger(player, node, defaultValue);
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, OfflinePlayer player, String node, int value) {
+        getProvider().setPlayerInfoInteger(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, String player, String node, int value) {
+        getProvider().setPlayerInfoInteger(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoInteger(World world, String player, String node, int value) {
+        getProvider().setPlayerInfoInteger(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoInteger(Player player, String node, int value) {
+        getProvider().setPlayerInfoInteger(player, node, value);
+    }
+
+    @Override
+    public int getGroupInfoInteger(String world, String group, String node, int defaultValue) {
+        return getProvider().getGroupInfoInteger(world, group, node, defaultValue);
+    }
+
+    @Override
+    public int getGroupInfoInteger(World world, String group, String node, int defaultValue) {
+        return getProvider().getGroupInfoInteger(world, group, node, defaultValue);
+    }
+
+    @Override
+    public void setGroupInfoInteger(String world, String group, String node, int value) {
+        getProvider().setGroupInfoInteger(world, group, node, value);
+    }
+
+    @Override
+    public void setGroupInfoInteger(World world, String group, String node, int value) {
+        getProvider().setGroupInfoInteger(world, group, node, value);
+    }
+
+    @Override
+    public double getPlayerInfoDouble(String world, OfflinePlayer player, String node, double defaultValue) {
+        return getProvider().getPlayerInfoDouble(world, player, node, defaultValue);
+    }
+
+    @Override
+    public double getPlayerInfoDouble(String world, String player, String node, double defaultValue) {
+        return getProvider().getPlayerInfoDouble(world, player, node, defaultValue);
+    }
+
+    @Override
+    public double getPlayerInfoDouble(World world, String player, String node, double defaultValue) {
+        return getProvider().getPlayerInfoDouble(world, player, node, defaultValue);
+    }
+
+    @Override
+    public double getPlayerInfoDouble(Player player, String node, double defaultValue) {
+        return getProvider().getPlayerInfoDouble(player, node, defaultValue);
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, OfflinePlayer player, String node, double value) {
+        getProvider().setPlayerInfoDouble(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, String player, String node, double value) {
+        getProvider().setPlayerInfoDouble(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoDouble(World world, String player, String node, double value) {
+        getProvider().setPlayerInfoDouble(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoDouble(Player player, String node, double value) {
+        getProvider().setPlayerInfoDouble(player, node, value);
+    }
+
+    @Override
+    public double getGroupInfoDouble(String world, String group, String node, double defaultValue) {
+        return getProvider().getGroupInfoDouble(world, group, node, defaultValue);
+    }
+
+    @Override
+    public double getGroupInfoDouble(World world, String group, String node, double defaultValue) {
+        return getProvider().getGroupInfoDouble(world, group, node, defaultValue);
+    }
+
+    @Override
+    public void setGroupInfoDouble(String world, String group, String node, double value) {
+        getProvider().setGroupInfoDouble(world, group, node, value);
+    }
+
+    @Override
+    public void setGroupInfoDouble(World world, String group, String node, double value) {
+        getProvider().setGroupInfoDouble(world, group, node, value);
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean defaultValue) {
+        return getProvider().getPlayerInfoBoolean(world, player, node, defaultValue);
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(String world, String player, String node, boolean defaultValue) {
+        return getProvider().getPlayerInfoBoolean(world, player, node, defaultValue);
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(World world, String player, String node, boolean defaultValue) {
+        return getProvider().getPlayerInfoBoolean(world, player, node, defaultValue);
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(Player player, String node, boolean defaultValue) {
+        return getProvider().getPlayerInfoBoolean(player, node, defaultValue);
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean value) {
+        getProvider().setPlayerInfoBoolean(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, String player, String node, boolean value) {
+        getProvider().setPlayerInfoBoolean(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(World world, String player, String node, boolean value) {
+        getProvider().setPlayerInfoBoolean(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(Player player, String node, boolean value) {
+        getProvider().setPlayerInfoBoolean(player, node, value);
+    }
+
+    @Override
+    public boolean getGroupInfoBoolean(String world, String group, String node, boolean defaultValue) {
+        return getProvider().getGroupInfoBoolean(world, group, node, defaultValue);
+    }
+
+    @Override
+    public boolean getGroupInfoBoolean(World world, String group, String node, boolean defaultValue) {
+        return getProvider().getGroupInfoBoolean(world, group, node, defaultValue);
+    }
+
+    @Override
+    public void setGroupInfoBoolean(String world, String group, String node, boolean value) {
+        getProvider().setGroupInfoBoolean(world, group, node, value);
+    }
+
+    @Override
+    public void setGroupInfoBoolean(World world, String group, String node, boolean value) {
+        getProvider().setGroupInfoBoolean(world, group, node, value);
+    }
+
+    @Override
+    public String getPlayerInfoString(String world, OfflinePlayer player, String node, String defaultValue) {
+        return getProvider().getPlayerInfoString(world, player, node, defaultValue);
+    }
+
+    @Override
+    public String getPlayerInfoString(String world, String player, String node, String defaultValue) {
+        return getProvider().getPlayerInfoString(world, player, node, defaultValue);
+    }
+
+    @Override
+    public String getPlayerInfoString(World world, String player, String node, String defaultValue) {
+        return getProvider().getPlayerInfoString(world, player, node, defaultValue);
+    }
+
+    @Override
+    public String getPlayerInfoString(Player player, String node, String defaultValue) {
+        return getProvider().getPlayerInfoString(player, node, defaultValue);
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, OfflinePlayer player, String node, String value) {
+        getProvider().setPlayerInfoString(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, String player, String node, String value) {
+        getProvider().setPlayerInfoString(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoString(World world, String player, String node, String value) {
+        getProvider().setPlayerInfoString(world, player, node, value);
+    }
+
+    @Override
+    public void setPlayerInfoString(Player player, String node, String value) {
+        getProvider().setPlayerInfoString(player, node, value);
+    }
+
+    @Override
+    public String getGroupInfoString(String world, String group, String node, String defaultValue) {
+        return getProvider().getGroupInfoString(world, group, node, defaultValue);
+    }
+
+    @Override
+    public String getGroupInfoString(World world, String group, String node, String defaultValue) {
+        return getProvider().getGroupInfoString(world, group, node, defaultValue);
+    }
+
+    @Override
+    public void setGroupInfoString(String world, String group, String node, String value) {
+        getProvider().setGroupInfoString(world, group, node, value);
+    }
+
+    @Override
+    public void setGroupInfoString(World world, String group, String node, String value) {
+        getProvider().setGroupInfoString(world, group, node, value);
+    }
+
+    @Override
+    public boolean playerInGroup(String world, String player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(String world, OfflinePlayer player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(World world, String player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(Player player, String group) {
+        return getProvider().playerInGroup(player, group);
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, String player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, OfflinePlayer player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(World world, String player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(Player player) {
+        return getProvider().getPlayerGroups(player);
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, String player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, OfflinePlayer player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(World world, String player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(Player player) {
+        return getProvider().getPrimaryGroup(player);
+    }
+
+    @Override
+    public String[] getGroups() {
+        return getProvider().getGroups();
+    }
+}
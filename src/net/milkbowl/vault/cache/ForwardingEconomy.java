@@ -0,0 +1,266 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.bulk.BulkEconomy;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * An economy that passes every call on to another one, for wrappers to
+ * override the calls they change.
+ */
+public class ForwardingEconomy implements Economy, BulkEconomy {
+
+    private final Economy provider;
+
+    public ForwardingEconomy(Economy provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * @return the provider calls are passed on to
+     */
+    public Economy getProvider() {
+        return provider;
+    }
+
+    @Override
+    public BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world) {
+        return BulkEconomy.getBalances(getProvider(), players, world);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return getProvider().isEnabled();
+    }
+
+    @Override
+    public String getName() {
+        return getProvider().getName();
+    }
+
+    @Override
+    public boolean hasBankSupport() {
+        return getProvider().hasBankSupport();
+    }
+
+    @Override
+    public int fractionalDigits() {
+        return getProvider().fractionalDigits();
+    }
+
+    @Override
+    public String format(double amount) {
+        return getProvider().format(amount);
+    }
+
+    @Override
+    public String currencyNamePlural() {
+        return getProvider().currencyNamePlural();
+    }
+
+    @Override
+    public String currencyNameSingular() {
+        return getProvider().currencyNameSingular();
+    }
+
+    @Override
+    public boolean hasAccount(String playerName) {
+        return getProvider().hasAccount(playerName);
+    }
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player) {
+        return getProvider().hasAccount(player);
+    }
+
+    @Override
+    public boolean hasAccount(String playerName, String worldName) {
+        return getProvider().hasAccount(playerName, worldName);
+    }
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player, String worldName) {
+        return getProvider().hasAccount(player, worldName);
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        return getProvider().getBalance(playerName);
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        return getProvider().getBalance(player);
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        return getProvider().getBalance(playerName, world);
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player, String world) {
+        return getProvider().getBalance(player, world);
+    }
+
+    @Override
+    public boolean has(String playerName, double amount) {
+        return getProvider().has(playerName, amount);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, double amount) {
+        return getProvider().has(player, amount);
+    }
+
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        return getProvider().has(playerName, worldName, amount);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, String worldName, double amount) {
+        return getProvider().has(player, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        return getProvider().withdrawPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        return getProvider().withdrawPlayer(player, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        return getProvider().withdrawPlayer(playerName, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        return getProvider().withdrawPlayer(player, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        return getProvider().depositPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        return getProvider().depositPlayer(player, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        return getProvider().depositPlayer(playerName, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        return getProvider().depositPlayer(player, worldName, amount);
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, String player) {
+        return getProvider().createBank(name, player);
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, OfflinePlayer player) {
+        return getProvider().createBank(name, player);
+    }
+
+    @Override
+    public EconomyResponse deleteBank(String name) {
+        return getProvider().deleteBank(name);
+    }
+
+    @Override
+    public EconomyResponse bankBalance(String name) {
+        return getProvider().bankBalance(name);
+    }
+
+    @Override
+    public EconomyResponse bankHas(String name, double amount) {
+        return getProvider().bankHas(name, amount);
+    }
+
+    @Override
+    public EconomyResponse bankWithdraw(String name, double amount) {
+        return getProvider().bankWithdraw(name, amount);
+    }
+
+    @Override
+    public EconomyResponse bankDeposit(String name, double amount) {
+        return getProvider().bankDeposit(name, amount);
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, String playerName) {
+        return getProvider().isBankOwner(name, playerName);
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
+        return getProvider().isBankOwner(name, player);
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, String playerName) {
+        return getProvider().isBankMember(name, playerName);
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, OfflinePlayer player) {
+        return getProvider().isBankMember(name, player);
+    }
+
+    @Override
+    public List<String> getBanks() {
+        return getProvider().getBanks();
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        return getProvider().createPlayerAccount(playerName);
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player) {
+        return getProvider().createPlayerAccount(player);
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        return getProvider().createPlayerAccount(playerName, worldName);
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player, String worldName) {
+        return getProvider().createPlayerAccount(player, worldName);
+    }
+}
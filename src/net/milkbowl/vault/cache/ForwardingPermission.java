@@ -0,0 +1,332 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.cache;
+
+import java.util.BitSet;
+import java.util.List;
+
+import net.milkbowl.vault.bulk.BulkPermission;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * A permission provider that passes every call on to another one, for
+ * wrappers to override the calls they change.
+ */
+public class ForwardingPermission extends Permission implements BulkPermission {
+
+    private final Permission provider;
+
+    public ForwardingPermission(Permission provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * @return the provider calls are passed on to
+     */
+    public Permission getProvider() {
+        return provider;
+    }
+
+    @Override
+    public BitSet playerHas(String world, OfflinePlayer player, List<String> permissions) {
+        return BulkPermission.playerHas(getProvider(), world, player, permissions);
+    }
+
+    @Override
+    public BitSet playersHave(String world, List<? extends OfflinePlayer> players, String permission) {
+        return BulkPermission.playersHave(getProvider(), world, players, permission);
+    }
+
+    @Override
+    public String getName() {
+        return getProvider().getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return getProvider().isEnabled();
+    }
+
+    @Override
+    public boolean hasSuperPermsCompat() {
+        return getProvider().hasSuperPermsCompat();
+    }
+
+    @Override
+    public boolean has(String world, String player, String permission) {
+        return getProvider().has(world, player, permission);
+    }
+
+    @Override
+    public boolean has(World world, String player, String permission) {
+        return getProvider().has(world, player, permission);
+    }
+
+    @Override
+    public boolean has(CommandSender sender, String permission) {
+        return getProvider().has(sender, permission);
+    }
+
+    @Override
+    public boolean has(Player player, String permission) {
+        return getProvider().has(player, permission);
+    }
+
+    @Override
+    public boolean playerHas(String world, String player, String permission) {
+        return getProvider().playerHas(world, player, permission);
+    }
+
+    @Override
+    public boolean playerHas(World world, String player, String permission) {
+        return getProvider().playerHas(world, player, permission);
+    }
+
+    @Override
+    public boolean playerHas(String world, OfflinePlayer player, String permission) {
+        return getProvider().playerHas(world, player, permission);
+    }
+
+    @Override
+    public boolean playerHas(Player player, String permission) {
+        return getProvider().playerHas(player, permission);
+    }
+
+    @Override
+    public boolean playerAdd(String world, String player, String permission) {
+        return getProvider().playerAdd(world, player, permission);
+    }
+
+    @Override
+    public boolean playerAdd(World world, String player, String permission) {
+        return getProvider().playerAdd(world, player, permission);
+    }
+
+    @Override
+    public boolean playerAdd(String world, OfflinePlayer player, String permission) {
+        return getProvider().playerAdd(world, player, permission);
+    }
+
+    @Override
+    public boolean playerAdd(Player player, String permission) {
+        return getProvider().playerAdd(player, permission);
+    }
+
+    @Override
+    public boolean playerRemove(String world, String player, String permission) {
+        return getProvider().playerRemove(world, player, permission);
+    }
+
+    @Override
+    public boolean playerRemove(World world, String player, String permission) {
+        return getProvider().playerRemove(world, player, permission);
+    }
+
+    @Override
+    public boolean playerRemove(String world, OfflinePlayer player, String permission) {
+        return getProvider().playerRemove(world, player, permission);
+    }
+
+    @Override
+    public boolean playerRemove(Player player, String permission) {
+        return getProvider().playerRemove(player, permission);
+    }
+
+    @Override
+    public boolean playerInGroup(String world, String player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(World world, String player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(String world, OfflinePlayer player, String group) {
+        return getProvider().playerInGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerInGroup(Player player, String group) {
+        return getProvider().playerInGroup(player, group);
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, String player, String group) {
+        return getProvider().playerAddGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerAddGroup(World world, String player, String group) {
+        return getProvider().playerAddGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, OfflinePlayer player, String group) {
+        return getProvider().playerAddGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerAddGroup(Player player, String group) {
+        return getProvider().playerAddGroup(player, group);
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, String player, String group) {
+        return getProvider().playerRemoveGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerRemoveGroup(World world, String player, String group) {
+        return getProvider().playerRemoveGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, OfflinePlayer player, String group) {
+        return getProvider().playerRemoveGroup(world, player, group);
+    }
+
+    @Override
+    public boolean playerRemoveGroup(Player player, String group) {
+        return getProvider().playerRemoveGroup(player, group);
+    }
+
+    @Override
+    public boolean playerAddTransient(OfflinePlayer player, String permission) {
+        return getProvider().playerAddTransient(player, permission);
+    }
+
+    @Override
+    public boolean playerAddTransient(Player player, String permission) {
+        return getProvider().playerAddTransient(player, permission);
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, OfflinePlayer player, String permission) {
+        return getProvider().playerAddTransient(worldName, player, permission);
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, Player player, String permission) {
+        return getProvider().playerAddTransient(worldName, player, permission);
+    }
+
+    @Override
+    public boolean playerRemoveTransient(OfflinePlayer player, String permission) {
+        return getProvider().playerRemoveTransient(player, permission);
+    }
+
+    @Override
+    public boolean playerRemoveTransient(Player player, String permission) {
+        return getProvider().playerRemoveTransient(player, permission);
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, OfflinePlayer player, String permission) {
+        return getProvider().playerRemoveTransient(worldName, player, permission);
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, Player player, String permission) {
+        return getProvider().playerRemoveTransient(worldName, player, permission);
+    }
+
+    @Override
+    public boolean groupHas(String world, String group, String permission) {
+        return getProvider().groupHas(world, group, permission);
+    }
+
+    @Override
+    public boolean groupHas(World world, String group, String permission) {
+        return getProvider().groupHas(world, group, permission);
+    }
+
+    @Override
+    public boolean groupAdd(String world, String group, String permission) {
+        return getProvider().groupAdd(world, group, permission);
+    }
+
+    @Override
+    public boolean groupAdd(World world, String group, String permission) {
+        return getProvider().groupAdd(world, group, permission);
+    }
+
+    @Override
+    public boolean groupRemove(String world, String group, String permission) {
+        return getProvider().groupRemove(world, group, permission);
+    }
+
+    @Override
+    public boolean groupRemove(World world, String group, String permission) {
+        return getProvider().groupRemove(world, group, permission);
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, String player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(World world, String player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, OfflinePlayer player) {
+        return getProvider().getPlayerGroups(world, player);
+    }
+
+    @Override
+    public String[] getPlayerGroups(Player player) {
+        return getProvider().getPlayerGroups(player);
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, String player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(World world, String player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, OfflinePlayer player) {
+        return getProvider().getPrimaryGroup(world, player);
+    }
+
+    @Override
+    public String getPrimaryGroup(Player player) {
+        return getProvider().getPrimaryGroup(player);
+    }
+
+    @Override
+    public String[] getGroups() {
+        return getProvider().getGroups();
+    }
+
+    @Override
+    public boolean hasGroupSupport() {
+        return getProvider().hasGroupSupport();
+    }
+}
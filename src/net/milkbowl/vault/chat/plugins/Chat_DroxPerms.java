@@ -2,10 +2,10 @@ package net.milkbowl.vault.chat.plugins;
 
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -35,7 +35,7 @@ public class Chat_DroxPerms extends Chat {
                 log.info(String.format("[%s][Chat] %s hooked.", plugin.getDescription().getName(), name));
             }
         }
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), "DroxPerms");
     }
 
     public class PermissionServerListener implements Listener {
@@ -17,6 +17,7 @@ package net.milkbowl.vault.chat.plugins;
 
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
@@ -25,7 +26,6 @@ import org.anjocaido.groupmanager.data.Group;
 import org.anjocaido.groupmanager.data.User;
 import org.anjocaido.groupmanager.dataholder.OverloadedWorldHolder;
 import org.anjocaido.groupmanager.permissions.AnjoPermissionsHandler;
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -44,7 +44,7 @@ public class Chat_GroupManager extends Chat {
         super(perms);
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "GroupManager");
 
         // Load Plugin in case it was loaded before
         if (groupManager == null) {
@@ -12,6 +12,7 @@
 */
 package net.milkbowl.vault.chat.plugins;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
@@ -38,7 +39,7 @@ public class Chat_OverPermissions extends Chat {
         super(perms);
         this.plugin = plugin;
 
-        plugin.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "OverPermissions");
 
         if (overPerms == null) {
             Plugin p = plugin.getServer().getPluginManager().getPlugin("OverPermissions");
@@ -17,10 +17,10 @@ package net.milkbowl.vault.chat.plugins;
 
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -45,7 +45,7 @@ public class Chat_PermissionsEx extends Chat {
         this.plugin = plugin;
         this.log = plugin.getLogger();
 
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "PermissionsEx");
 
         // Load Plugin in case it was loaded before
         if (chat == null) {
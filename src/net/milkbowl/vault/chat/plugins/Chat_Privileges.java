@@ -16,9 +16,9 @@
 package net.milkbowl.vault.chat.plugins;
 
 import net.krinsoft.privileges.Privileges;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -38,7 +38,7 @@ public class Chat_Privileges extends Chat {
     public Chat_Privileges(Plugin plugin, Permission perms) {
         super(perms);
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), PLUGIN_NAME);
         // Load service in case it was loaded before
         if (privs == null) {
             Plugin privsPlugin = plugin.getServer().getPluginManager().getPlugin(PLUGIN_NAME);
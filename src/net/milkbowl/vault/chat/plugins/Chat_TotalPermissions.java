@@ -20,9 +20,9 @@ import net.ae97.totalpermissions.TotalPermissions;
 import net.ae97.totalpermissions.permission.PermissionBase;
 import net.ae97.totalpermissions.permission.PermissionGroup;
 import net.ae97.totalpermissions.permission.PermissionUser;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -43,7 +43,7 @@ public class Chat_TotalPermissions extends Chat {
     public Chat_TotalPermissions(Plugin plugin, Permission perms) {
         super(perms);
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "TotalPermissions");
 
         if (totalPermissions == null) {
             Plugin chat = plugin.getServer().getPluginManager().getPlugin("TotalPermissions");
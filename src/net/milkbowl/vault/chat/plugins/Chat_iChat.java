@@ -19,10 +19,10 @@ import java.util.logging.Logger;
 
 import net.TheDgtl.iChat.iChat;
 import net.TheDgtl.iChat.iChatAPI;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -43,7 +43,7 @@ public class Chat_iChat extends Chat {
 		this.plugin = plugin;
 		this.log = plugin.getLogger();
 
-		Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+		PluginHooks.register(plugin, new PermissionServerListener(this), "iChat");
 
 		// Load Plugin in case it was loaded before
 		if (iChat == null) {
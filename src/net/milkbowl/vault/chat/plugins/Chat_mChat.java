@@ -18,6 +18,7 @@ package net.milkbowl.vault.chat.plugins;
 import java.util.logging.Logger;
 
 import net.D3GN.MiracleM4n.mChat.mChatAPI;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
@@ -41,7 +42,7 @@ public class Chat_mChat extends Chat {
         this.plugin = plugin;
         this.log = plugin.getLogger();
 
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "mChat");
 
         // Load Plugin in case it was loaded before
         if (mChat == null) {
@@ -17,10 +17,10 @@ package net.milkbowl.vault.chat.plugins;
 
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -41,7 +41,7 @@ public class Chat_rscPermissions extends Chat {
         super(perm);
         this.vault = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new ChatServerListener(this), vault);
+        PluginHooks.register(vault, new ChatServerListener(this), "rscPermissions");
         if (rscp == null) {
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("rscPermissions");
             if (perms != null && perms.isEnabled()) {
@@ -0,0 +1,234 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.convert;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * State shared by the ways Vault can copy balances between two economies:
+ * the player list in a stable order, the counters, checkpointing and
+ * progress messages.
+ *
+ * Players are walked in UUID order and the last player before which
+ * everything is done is saved to a {@link ConversionCheckpoint}, so a run
+ * that was cancelled or cut short by a restart continues where it stopped.
+ */
+public abstract class Conversion {
+
+    private static final Comparator<OfflinePlayer> BY_UUID = new Comparator<OfflinePlayer>() {
+        @Override
+        public int compare(OfflinePlayer a, OfflinePlayer b) {
+            return a.getUniqueId().compareTo(b.getUniqueId());
+        }
+    };
+
+    protected final Plugin plugin;
+    protected final Logger log;
+    protected final CommandSender sender;
+    protected final Economy source;
+    protected final Economy target;
+    protected final OfflinePlayer[] players;
+    protected final AtomicInteger converted = new AtomicInteger();
+    protected final AtomicInteger skipped = new AtomicInteger();
+    protected final AtomicInteger failed = new AtomicInteger();
+    protected final int startIndex;
+    private final ConversionCheckpoint checkpoint;
+    private final AtomicBoolean saving = new AtomicBoolean();
+    private final long started = System.currentTimeMillis();
+    private int reportedPercent;
+
+    protected Conversion(Plugin plugin, CommandSender sender, Economy source, Economy target, ConversionCheckpoint checkpoint) {
+        this.plugin = plugin;
+        this.log = plugin.getLogger();
+        this.sender = sender;
+        this.source = source;
+        this.target = target;
+        this.checkpoint = checkpoint;
+        this.players = Bukkit.getServer().getOfflinePlayers();
+        Arrays.sort(players, BY_UUID);
+
+        if (checkpoint.matches(source.getName(), target.getName())) {
+            startIndex = resumeIndex(checkpoint.getLastPlayer());
+            converted.set(checkpoint.getConverted());
+            skipped.set(checkpoint.getSkipped());
+            failed.set(checkpoint.getFailed());
+        } else {
+            startIndex = 0;
+        }
+        reportedPercent = percent(startIndex);
+    }
+
+    /**
+     * Finds the first player after the checkpointed one. Players that joined
+     * since the checkpoint may sort anywhere, so a binary search is used
+     * instead of a stored index.
+     */
+    private int resumeIndex(UUID last) {
+        int low = 0;
+        int high = players.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = players[mid].getUniqueId().compareTo(last);
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public abstract void start();
+
+    /**
+     * Stops the conversion and saves a checkpoint so it can be resumed later.
+     */
+    public abstract void cancel();
+
+    public abstract boolean isRunning();
+
+    /**
+     * @return the number of players, counted from the start of the sorted
+     *         list, that are fully converted
+     */
+    protected abstract int completed();
+
+    protected void announceStart(String mode) {
+        if (startIndex > 0) {
+            sender.sendMessage(String.format("Resuming conversion from %s to %s at player %d of %d (%s).", source.getName(), target.getName(), startIndex, players.length, mode));
+        } else {
+            sender.sendMessage(String.format("Converting %d players from %s to %s in the background (%s).", players.length, source.getName(), target.getName(), mode));
+        }
+    }
+
+    /**
+     * Copies one player's source balance into the target economy, unless the
+     * player already has a target account.
+     * @param op the player
+     * @param balance the player's balance in the source economy
+     */
+    protected void write(OfflinePlayer op, double balance) {
+        try {
+            if (target.hasAccount(op)) {
+                skipped.incrementAndGet();
+                return;
+            }
+        } catch (Exception e) {
+            fail(op, e);
+            return;
+        }
+        copy(op, balance);
+    }
+
+    /**
+     * Creates the player's target account and brings it to the given balance.
+     * @param op a player without a target account
+     * @param balance the player's balance in the source economy
+     */
+    protected void copy(OfflinePlayer op, double balance) {
+        try {
+            target.createPlayerAccount(op);
+            double diff = balance - target.getBalance(op);
+            if (diff > 0) {
+                target.depositPlayer(op, diff);
+            } else if (diff < 0) {
+                target.withdrawPlayer(op, -diff);
+            }
+            converted.incrementAndGet();
+        } catch (Exception e) {
+            fail(op, e);
+        }
+    }
+
+    protected void fail(OfflinePlayer op, Exception e) {
+        failed.incrementAndGet();
+        log.log(Level.WARNING, String.format("[Convert] Could not convert %s (%s)", op.getName(), op.getUniqueId()), e);
+    }
+
+    /**
+     * Sends a progress line every 5%. Must be called on the main thread.
+     */
+    protected void reportProgress() {
+        int percent = percent(completed());
+        if (percent >= reportedPercent + 5) {
+            reportedPercent = percent;
+            sender.sendMessage(getStatus());
+        }
+    }
+
+    protected void finish() {
+        checkpoint.delete();
+        long seconds = (System.currentTimeMillis() - started) / 1000;
+        sender.sendMessage(String.format("Conversion complete in %ds: %d converted, %d skipped, %d failed. Please verify the data before using it.", seconds, converted.get(), skipped.get(), failed.get()));
+        sender.sendMessage(String.format("Run /vault-convert verify %s %s to compare every balance.", source.getName().replace(" ", ""), target.getName().replace(" ", "")));
+    }
+
+    /**
+     * Saves everything before the completed() watermark.
+     * @param async true to write the file off the main thread
+     */
+    protected void saveCheckpoint(boolean async) {
+        int done = completed();
+        if (done == 0) {
+            return;
+        }
+        final Runnable save;
+        synchronized (checkpoint) {
+            checkpoint.update(source.getName(), target.getName(), players[done - 1].getUniqueId(), converted.get(), skipped.get(), failed.get());
+            save = checkpoint.snapshot();
+        }
+        if (!async) {
+            save.run();
+            return;
+        }
+        // Skip this checkpoint if the previous one is still being written; the next one covers it
+        if (!saving.compareAndSet(false, true)) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    save.run();
+                } finally {
+                    saving.set(false);
+                }
+            }
+        });
+    }
+
+    private int percent(int done) {
+        return players.length == 0 ? 100 : (int) (done * 100L / players.length);
+    }
+
+    public String getStatus() {
+        int done = completed();
+        return String.format("Converting %s to %s: %d/%d players (%d%%), %d converted, %d skipped, %d failed.", source.getName(), target.getName(), done, players.length, percent(done), converted.get(), skipped.get(), failed.get());
+    }
+}
@@ -0,0 +1,153 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.convert;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Progress of a /vault-convert run as stored on disk, so an interrupted
+ * conversion can pick up after the last player it finished.
+ */
+public class ConversionCheckpoint {
+
+    private final File file;
+    private String source;
+    private String target;
+    private UUID lastPlayer;
+    private int converted;
+    private int skipped;
+    private int failed;
+    // Snapshots taken and written, so a slow async save cannot write over a newer one
+    private long snapshots;
+    private long saved;
+
+    private ConversionCheckpoint(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the checkpoint stored in the given file, or returns an empty
+     * checkpoint if there is none yet.
+     * @param file checkpoint file
+     * @return the checkpoint
+     */
+    public static ConversionCheckpoint load(File file) {
+        ConversionCheckpoint checkpoint = new ConversionCheckpoint(file);
+        if (!file.exists()) {
+            return checkpoint;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        checkpoint.source = yaml.getString("source");
+        checkpoint.target = yaml.getString("target");
+        String last = yaml.getString("last-player");
+        if (last != null) {
+            try {
+                checkpoint.lastPlayer = UUID.fromString(last);
+            } catch (IllegalArgumentException e) {
+                checkpoint.lastPlayer = null;
+            }
+        }
+        checkpoint.converted = yaml.getInt("converted");
+        checkpoint.skipped = yaml.getInt("skipped");
+        checkpoint.failed = yaml.getInt("failed");
+        return checkpoint;
+    }
+
+    /**
+     * @param source name of the economy being converted from
+     * @param target name of the economy being converted to
+     * @return true if this checkpoint belongs to an unfinished run between the two economies
+     */
+    public boolean matches(String source, String target) {
+        return lastPlayer != null && source.equalsIgnoreCase(this.source) && target.equalsIgnoreCase(this.target);
+    }
+
+    public void update(String source, String target, UUID lastPlayer, int converted, int skipped, int failed) {
+        this.source = source;
+        this.target = target;
+        this.lastPlayer = lastPlayer;
+        this.converted = converted;
+        this.skipped = skipped;
+        this.failed = failed;
+    }
+
+    /**
+     * Writes the checkpoint. The values are copied first so this can be
+     * handed to an async task while the conversion keeps going. The task does
+     * nothing if a newer snapshot was saved already or the checkpoint was
+     * deleted since it was taken.
+     * @return a task that saves the current state of this checkpoint
+     */
+    public synchronized Runnable snapshot() {
+        final long snapshot = ++snapshots;
+        final YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("source", source);
+        yaml.set("target", target);
+        yaml.set("last-player", lastPlayer == null ? null : lastPlayer.toString());
+        yaml.set("converted", converted);
+        yaml.set("skipped", skipped);
+        yaml.set("failed", failed);
+        yaml.set("updated", System.currentTimeMillis());
+        return new Runnable() {
+            @Override
+            public void run() {
+                synchronized (ConversionCheckpoint.this) {
+                    if (snapshot <= saved) {
+                        return;
+                    }
+                    try {
+                        yaml.save(file);
+                        saved = snapshot;
+                    } catch (IOException e) {
+                        // a missed checkpoint only costs re-checking a few players
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Deletes the file, after a save in progress, and keeps the saves of
+     * snapshots taken before from writing it again.
+     */
+    public synchronized void delete() {
+        saved = snapshots;
+        if (file.exists()) {
+            file.delete();
+        }
+        lastPlayer = null;
+    }
+
+    public UUID getLastPlayer() {
+        return lastPlayer;
+    }
+
+    public int getConverted() {
+        return converted;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,128 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.convert;
+
+import java.util.concurrent.TimeUnit;
+
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Copies balances from one economy to another a slice at a time on the main
+ * thread. Each tick converts players until either the batch size or the tick
+ * budget is used up, so a large player base no longer freezes the server.
+ * Used whenever the source economy is not safe to call off the main thread.
+ */
+public class ConversionTask extends Conversion implements Runnable {
+
+    private final long tickBudget;
+    private final int batchSize;
+    private final int checkpointInterval;
+
+    private BukkitTask task;
+    private int cursor;
+    private int sinceCheckpoint;
+
+    /**
+     * @param plugin owning plugin, used for scheduling
+     * @param sender who receives progress messages
+     * @param source economy to read balances from
+     * @param target economy to write balances to
+     * @param checkpoint checkpoint to resume from and save to
+     * @param tickBudgetMillis maximum time spent converting per tick
+     * @param batchSize maximum players converted per tick
+     * @param checkpointInterval players converted between checkpoint saves
+     */
+    public ConversionTask(Plugin plugin, CommandSender sender, Economy source, Economy target, ConversionCheckpoint checkpoint, double tickBudgetMillis, int batchSize, int checkpointInterval) {
+        super(plugin, sender, source, target, checkpoint);
+        this.tickBudget = (long) (tickBudgetMillis * TimeUnit.MILLISECONDS.toNanos(1));
+        this.batchSize = Math.max(1, batchSize);
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.cursor = startIndex;
+    }
+
+    @Override
+    public void start() {
+        announceStart("main thread");
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+    }
+
+    @Override
+    public void run() {
+        long deadline = System.nanoTime() + tickBudget;
+        int processed = 0;
+        while (cursor < players.length && processed < batchSize) {
+            convert(players[cursor++]);
+            processed++;
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        sinceCheckpoint += processed;
+
+        if (cursor >= players.length) {
+            task.cancel();
+            task = null;
+            finish();
+            return;
+        }
+        if (sinceCheckpoint >= checkpointInterval) {
+            sinceCheckpoint = 0;
+            saveCheckpoint(true);
+        }
+        reportProgress();
+    }
+
+    private void convert(OfflinePlayer op) {
+        double balance;
+        try {
+            if (!source.hasAccount(op) || target.hasAccount(op)) {
+                skipped.incrementAndGet();
+                return;
+            }
+            balance = source.getBalance(op);
+        } catch (Exception e) {
+            fail(op, e);
+            return;
+        }
+        copy(op, balance);
+    }
+
+    @Override
+    public void cancel() {
+        if (task == null) {
+            return;
+        }
+        task.cancel();
+        task = null;
+        saveCheckpoint(false);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    @Override
+    protected int completed() {
+        return cursor;
+    }
+}
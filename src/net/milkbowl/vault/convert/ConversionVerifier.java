@@ -0,0 +1,255 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.convert;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.milkbowl.vault.NamedThreadFactory;
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Compares every player's balance in two economies without changing either
+ * one. Run before a conversion it is a dry run showing what would be copied,
+ * run afterwards it checks the result.
+ *
+ * Only differences are kept, and those are written straight to a CSV report
+ * in the plugin folder, so memory use does not grow with the number of
+ * accounts. When both economies are thread-safe the players are split into
+ * chunks that are compared on a thread pool, otherwise they are compared on
+ * the main thread within the tick budget.
+ */
+public class ConversionVerifier {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final Plugin plugin;
+    private final Logger log;
+    private final CommandSender sender;
+    private final Economy source;
+    private final Economy target;
+    private final OfflinePlayer[] players;
+    private final File reportFile;
+    private final double tolerance;
+    private final int threads;
+    private final long tickBudget;
+    private final long started = System.currentTimeMillis();
+
+    private final AtomicInteger checked = new AtomicInteger();
+    private final AtomicInteger missing = new AtomicInteger();
+    private final AtomicInteger mismatched = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger chunksLeft = new AtomicInteger();
+    private final DoubleAdder sourceTotal = new DoubleAdder();
+    private final DoubleAdder targetTotal = new DoubleAdder();
+
+    private Writer report;
+    private ExecutorService pool;
+    private BukkitTask task;
+    private int cursor;
+    private int reportedPercent;
+
+    /**
+     * @param plugin owning plugin, used for scheduling and the report folder
+     * @param sender who receives progress messages
+     * @param source economy that was converted from
+     * @param target economy that was converted to
+     * @param tolerance largest balance difference that still counts as equal
+     * @param threads worker threads to use, or 0 to compare on the main thread
+     * @param tickBudgetMillis maximum time spent per tick when comparing on the main thread
+     */
+    public ConversionVerifier(Plugin plugin, CommandSender sender, Economy source, Economy target, double tolerance, int threads, double tickBudgetMillis) {
+        this.plugin = plugin;
+        this.log = plugin.getLogger();
+        this.sender = sender;
+        this.source = source;
+        this.target = target;
+        this.tolerance = tolerance;
+        this.threads = threads;
+        this.tickBudget = (long) (tickBudgetMillis * TimeUnit.MILLISECONDS.toNanos(1));
+        this.players = Bukkit.getServer().getOfflinePlayers();
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        this.reportFile = new File(plugin.getDataFolder(), String.format("verify-%s-%s-%s.csv", source.getName().replace(" ", ""), target.getName().replace(" ", ""), stamp));
+    }
+
+    public void start() throws IOException {
+        plugin.getDataFolder().mkdirs();
+        report = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), Charset.forName("UTF-8")));
+        report.write(String.format("# Vault verification of %s -> %s, %d players%n", source.getName(), target.getName(), players.length));
+        report.write("uuid,name,status,source,target\n");
+
+        if (threads > 0) {
+            sender.sendMessage(String.format("Verifying %d players from %s against %s on %d threads.", players.length, source.getName(), target.getName(), threads));
+            pool = Executors.newFixedThreadPool(threads, new NamedThreadFactory("Vault Verify"));
+            for (int from = 0; from < players.length; from += CHUNK_SIZE) {
+                final int start = from;
+                final int end = Math.min(players.length, from + CHUNK_SIZE);
+                chunksLeft.incrementAndGet();
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int i = start; i < end && !Thread.currentThread().isInterrupted(); i++) {
+                                compare(players[i]);
+                            }
+                        } finally {
+                            // Or the verification never finishes
+                            chunksLeft.decrementAndGet();
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+        } else {
+            sender.sendMessage(String.format("Verifying %d players from %s against %s on the main thread.", players.length, source.getName(), target.getName()));
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, 1L, 1L);
+    }
+
+    private void tick() {
+        if (pool == null) {
+            long deadline = System.nanoTime() + tickBudget;
+            while (cursor < players.length) {
+                compare(players[cursor++]);
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        }
+
+        if (pool == null ? cursor >= players.length : chunksLeft.get() == 0) {
+            task.cancel();
+            task = null;
+            pool = null;
+            finish();
+            return;
+        }
+        int percent = players.length == 0 ? 100 : (int) (checked.get() * 100L / players.length);
+        if (percent >= reportedPercent + 10) {
+            reportedPercent = percent;
+            sender.sendMessage(getStatus());
+        }
+    }
+
+    private void compare(OfflinePlayer op) {
+        try {
+            if (!source.hasAccount(op)) {
+                return;
+            }
+            double sourceBalance = source.getBalance(op);
+            sourceTotal.add(sourceBalance);
+            if (!target.hasAccount(op)) {
+                missing.incrementAndGet();
+                record(op, "missing", sourceBalance, 0);
+                return;
+            }
+            double targetBalance = target.getBalance(op);
+            targetTotal.add(targetBalance);
+            if (Math.abs(sourceBalance - targetBalance) > tolerance) {
+                mismatched.incrementAndGet();
+                record(op, "mismatch", sourceBalance, targetBalance);
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            record(op, "error", 0, 0);
+            log.log(Level.WARNING, String.format("[Verify] Could not check %s (%s)", op.getName(), op.getUniqueId()), e);
+        } finally {
+            checked.incrementAndGet();
+        }
+    }
+
+    private void record(OfflinePlayer op, String status, double sourceBalance, double targetBalance) {
+        String line = String.format("%s,%s,%s,%s,%s%n", op.getUniqueId(), op.getName(), status, sourceBalance, targetBalance);
+        synchronized (this) {
+            try {
+                report.write(line);
+            } catch (IOException e) {
+                // reported once the run ends
+            }
+        }
+    }
+
+    private void finish() {
+        long seconds = (System.currentTimeMillis() - started) / 1000;
+        String summary = String.format("Verified %d players in %ds: %d missing, %d mismatched, %d errors. Totals: %s %s, %s %s.",
+                checked.get(), seconds, missing.get(), mismatched.get(), failed.get(),
+                source.getName(), source.format(sourceTotal.sum()), target.getName(), target.format(targetTotal.sum()));
+        closeReport(summary);
+        sender.sendMessage(summary);
+        sender.sendMessage("Report written to " + reportFile.getPath());
+    }
+
+    private synchronized void closeReport(String summary) {
+        try {
+            report.write("# " + summary + "\n");
+            report.close();
+        } catch (IOException e) {
+            log.log(Level.WARNING, "[Verify] Could not write " + reportFile.getPath(), e);
+        }
+    }
+
+    public void cancel() {
+        if (task == null) {
+            return;
+        }
+        task.cancel();
+        task = null;
+        if (pool != null) {
+            pool.shutdownNow();
+            try {
+                pool.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool = null;
+        }
+        closeReport("Cancelled after " + checked.get() + " players");
+    }
+
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    public String getStatus() {
+        int done = checked.get();
+        return String.format("Verifying %s against %s: %d/%d players, %d missing, %d mismatched, %d errors.", source.getName(), target.getName(), done, players.length, missing.get(), mismatched.get(), failed.get());
+    }
+}
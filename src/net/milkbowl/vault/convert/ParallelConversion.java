@@ -0,0 +1,303 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.convert;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import net.milkbowl.vault.NamedThreadFactory;
+import net.milkbowl.vault.economy.Economy;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Conversion pipeline for a source economy that is safe to call off the main
+ * thread. Balances are read on a pool of worker threads and handed to a
+ * single writer, which applies them to the target economy in batches: on its
+ * own thread if the target is thread-safe too, otherwise on the main thread
+ * within the tick budget.
+ *
+ * A semaphore caps the number of players that have been read but not yet
+ * written, so slow writes hold the readers back instead of filling memory.
+ */
+public class ParallelConversion extends Conversion {
+
+    private final int threads;
+    private final int writeBatch;
+    private final int checkpointInterval;
+    private final boolean parallelWrites;
+    private final long tickBudget;
+    private final Semaphore inFlight;
+    private final BlockingQueue<Read> reads = new LinkedBlockingQueue<Read>();
+    private final BitSet done = new BitSet();
+
+    private volatile boolean running;
+    // Cancelled, but the writer may still be finishing its batch
+    private volatile boolean stopping;
+    private int watermark;
+    private int lastCheckpoint;
+    private ExecutorService readers;
+    private Thread feeder;
+    private Thread writer;
+    private BukkitTask task;
+
+    private static final class Read {
+        private final int index;
+        private final OfflinePlayer op;
+        private final double balance;
+
+        private Read(int index, OfflinePlayer op, double balance) {
+            this.index = index;
+            this.op = op;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * @param plugin owning plugin, used for scheduling
+     * @param sender who receives progress messages
+     * @param source thread-safe economy to read balances from
+     * @param target economy to write balances to
+     * @param checkpoint checkpoint to resume from and save to
+     * @param threads number of reader threads
+     * @param maxInFlight maximum players read but not yet written
+     * @param writeBatch maximum writes applied per batch
+     * @param parallelWrites true if the target is thread-safe and can be written off the main thread
+     * @param tickBudgetMillis maximum time spent writing per tick when writing on the main thread
+     * @param checkpointInterval players converted between checkpoint saves
+     */
+    public ParallelConversion(Plugin plugin, CommandSender sender, Economy source, Economy target, ConversionCheckpoint checkpoint, int threads, int maxInFlight, int writeBatch, boolean parallelWrites, double tickBudgetMillis, int checkpointInterval) {
+        super(plugin, sender, source, target, checkpoint);
+        this.threads = Math.max(1, threads);
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.writeBatch = Math.max(1, writeBatch);
+        this.parallelWrites = parallelWrites;
+        this.tickBudget = (long) (tickBudgetMillis * TimeUnit.MILLISECONDS.toNanos(1));
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.watermark = startIndex;
+        this.lastCheckpoint = startIndex;
+    }
+
+    @Override
+    public void start() {
+        announceStart(String.format("%d reader threads, writing on %s", threads, parallelWrites ? "a worker thread" : "the main thread"));
+        running = true;
+        readers = Executors.newFixedThreadPool(threads, new NamedThreadFactory("Vault Convert Reader"));
+        feeder = new NamedThreadFactory("Vault Convert Feeder").newThread(new Runnable() {
+            @Override
+            public void run() {
+                feed();
+            }
+        });
+        feeder.start();
+        if (parallelWrites) {
+            writer = new NamedThreadFactory("Vault Convert Writer").newThread(new Runnable() {
+                @Override
+                public void run() {
+                    writeLoop();
+                }
+            });
+            writer.start();
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, 1L, 1L);
+    }
+
+    /**
+     * Hands players to the reader pool, blocking whenever too many are
+     * waiting to be written.
+     */
+    private void feed() {
+        try {
+            for (int i = startIndex; i < players.length && running; i++) {
+                // Wake up now and then to notice the conversion was stopped
+                while (!inFlight.tryAcquire(50, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                final int index = i;
+                readers.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        read(index);
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            // cancelled
+        } catch (RejectedExecutionException e) {
+            // cancelled while submitting
+        }
+    }
+
+    private void read(int index) {
+        if (!running) {
+            // queued before the conversion was stopped
+            return;
+        }
+        OfflinePlayer op = players[index];
+        try {
+            if (!source.hasAccount(op)) {
+                skipped.incrementAndGet();
+                complete(index);
+                return;
+            }
+            reads.add(new Read(index, op, source.getBalance(op)));
+        } catch (Exception e) {
+            fail(op, e);
+            complete(index);
+        }
+    }
+
+    private void writeLoop() {
+        List<Read> batch = new ArrayList<Read>(writeBatch);
+        try {
+            while (running) {
+                Read first = reads.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                reads.drainTo(batch, writeBatch - 1);
+                for (Read read : batch) {
+                    write(read.op, read.balance);
+                    complete(read.index);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // cancelled
+        }
+    }
+
+    private void complete(int index) {
+        synchronized (done) {
+            done.set(index);
+            while (done.get(watermark)) {
+                watermark++;
+            }
+        }
+        inFlight.release();
+    }
+
+    private void tick() {
+        if (!parallelWrites) {
+            long deadline = System.nanoTime() + tickBudget;
+            int written = 0;
+            Read read;
+            while (written < writeBatch && (read = reads.poll()) != null) {
+                write(read.op, read.balance);
+                complete(read.index);
+                written++;
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        }
+
+        int completed = completed();
+        if (completed >= players.length) {
+            stop();
+            finish();
+            return;
+        }
+        if (completed - lastCheckpoint >= checkpointInterval) {
+            lastCheckpoint = completed;
+            saveCheckpoint(true);
+        }
+        reportProgress();
+    }
+
+    /**
+     * Stops handing out work. The threads wind down on their own, so no
+     * backend call is interrupted halfway through a write, and the server
+     * thread does not wait for them.
+     */
+    private void stop() {
+        running = false;
+        task.cancel();
+        task = null;
+        readers.shutdown();
+    }
+
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (task == null) {
+            return;
+        }
+        stop();
+        stopping = true;
+        Runnable windDown = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    join(feeder);
+                    // Let the batch in progress finish so the checkpoint covers it
+                    join(writer);
+                    saveCheckpoint(false);
+                } finally {
+                    stopping = false;
+                }
+            }
+        };
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, windDown);
+        } catch (RuntimeException e) {
+            // Vault is being disabled, the server is not ticking anyway
+            windDown.run();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return task != null || stopping;
+    }
+
+    @Override
+    protected int completed() {
+        synchronized (done) {
+            return watermark;
+        }
+    }
+}
@@ -16,13 +16,15 @@
 package net.milkbowl.vault.economy.plugins;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.AccountLocks;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -41,7 +43,7 @@ public class Economy_BOSE7 extends AbstractEconomy {
     public Economy_BOSE7(Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "BOSEconomy");
 
         // Load Plugin in case it was loaded before
         if (economy == null) {
@@ -79,34 +81,44 @@ public class Economy_BOSE7 extends AbstractEconomy {
 
     @Override
     public EconomyResponse withdrawPlayer(String playerName, double amount) {
-        if (amount < 0) {
-            return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Cannot withdraw negative funds");
-        }
+        Lock lock = AccountLocks.lockPlayer(playerName);
+        try {
+            if (amount < 0) {
+                return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Cannot withdraw negative funds");
+            }
 
-        if (!has(playerName, amount)) {
-            return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Insufficient funds");
-        }
-        
-        double balance = economy.getPlayerMoneyDouble(playerName);
-        if (economy.setPlayerMoney(playerName, balance - amount, false)) {
-            balance = economy.getPlayerMoneyDouble(playerName);
-            return new EconomyResponse(amount, balance, ResponseType.SUCCESS, "");
-        } else {
-              return new EconomyResponse(0, balance, ResponseType.FAILURE, "Error withdrawing funds");
+            if (!has(playerName, amount)) {
+                return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Insufficient funds");
+            }
+
+            double balance = economy.getPlayerMoneyDouble(playerName);
+            if (economy.setPlayerMoney(playerName, balance - amount, false)) {
+                balance = economy.getPlayerMoneyDouble(playerName);
+                return new EconomyResponse(amount, balance, ResponseType.SUCCESS, "");
+            } else {
+                  return new EconomyResponse(0, balance, ResponseType.FAILURE, "Error withdrawing funds");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public EconomyResponse depositPlayer(String playerName, double amount) {
-        if (amount < 0) {
-            return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Cannot deposit negative funds");
-        }
-        double balance = economy.getPlayerMoneyDouble(playerName);
-        if (economy.setPlayerMoney(playerName, balance + amount, false)) {
-            balance = economy.getPlayerMoneyDouble(playerName);
-            return new EconomyResponse(amount, balance, ResponseType.SUCCESS, "");
-        } else {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, "Error depositing funds");
+        Lock lock = AccountLocks.lockPlayer(playerName);
+        try {
+            if (amount < 0) {
+                return new EconomyResponse(0, economy.getPlayerMoneyDouble(playerName), ResponseType.FAILURE, "Cannot deposit negative funds");
+            }
+            double balance = economy.getPlayerMoneyDouble(playerName);
+            if (economy.setPlayerMoney(playerName, balance + amount, false)) {
+                balance = economy.getPlayerMoneyDouble(playerName);
+                return new EconomyResponse(amount, balance, ResponseType.SUCCESS, "");
+            } else {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, "Error depositing funds");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -189,22 +201,32 @@ public class Economy_BOSE7 extends AbstractEconomy {
 
     @Override
     public EconomyResponse bankWithdraw(String name, double amount) {
-        EconomyResponse er = bankHas(name, amount);
-        if (!er.transactionSuccess()) {
-            return er;
-        } else {
-            economy.addBankMoney(name, -amount, true);
-            return new EconomyResponse(amount, economy.getBankMoneyDouble(name), ResponseType.SUCCESS, "");
+        Lock lock = AccountLocks.lockBank(name);
+        try {
+            EconomyResponse er = bankHas(name, amount);
+            if (!er.transactionSuccess()) {
+                return er;
+            } else {
+                economy.addBankMoney(name, -amount, true);
+                return new EconomyResponse(amount, economy.getBankMoneyDouble(name), ResponseType.SUCCESS, "");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public EconomyResponse bankDeposit(String name, double amount) {
-        if (!economy.bankExists(name))
-            return new EconomyResponse(amount, 0, ResponseType.FAILURE, "That bank does not exist!");
-        else {
-            economy.addBankMoney(name,  amount, true);
-            return new EconomyResponse(amount, economy.getBankMoneyDouble(name), ResponseType.SUCCESS, "");
+        Lock lock = AccountLocks.lockBank(name);
+        try {
+            if (!economy.bankExists(name))
+                return new EconomyResponse(amount, 0, ResponseType.FAILURE, "That bank does not exist!");
+            else {
+                economy.addBankMoney(name,  amount, true);
+                return new EconomyResponse(amount, economy.getBankMoneyDouble(name), ResponseType.SUCCESS, "");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
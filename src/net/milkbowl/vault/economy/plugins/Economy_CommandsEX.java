@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -15,6 +14,7 @@ import org.bukkit.plugin.Plugin;
 import com.github.zathrus_writer.commandsex.CommandsEX;
 import com.github.zathrus_writer.commandsex.api.economy.Economy;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
@@ -28,7 +28,7 @@ public class Economy_CommandsEX extends AbstractEconomy {
 	public Economy_CommandsEX(Plugin plugin){
 		this.plugin = plugin;
 		this.log = plugin.getLogger();
-		Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+		PluginHooks.register(plugin, new EconomyServerListener(this), "CommandsEX");
 		
 		if (economy == null) {
             Plugin commandsex = plugin.getServer().getPluginManager().getPlugin("CommandsEX");
@@ -15,14 +15,19 @@
  */
 package net.milkbowl.vault.economy.plugins;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
+import net.milkbowl.vault.ThreadSafe;
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.bulk.BulkEconomy;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -36,7 +41,8 @@ import com.greatmancode.craftconomy3.account.Account;
 import com.greatmancode.craftconomy3.groups.WorldGroupsManager;
 import com.greatmancode.craftconomy3.tools.interfaces.BukkitLoader;
 
-public class Economy_Craftconomy3 extends AbstractEconomy {
+@ThreadSafe
+public class Economy_Craftconomy3 extends AbstractEconomy implements BulkEconomy {
 	private final Logger log;
 	private final String name = "Craftconomy3";
 	private Plugin plugin = null;
@@ -45,7 +51,7 @@ public class Economy_Craftconomy3 extends AbstractEconomy {
 	public Economy_Craftconomy3(Plugin plugin) {
 		this.plugin = plugin;
 		this.log = plugin.getLogger();
-		Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+		PluginHooks.register(plugin, new EconomyServerListener(this), "Craftconomy3");
 
 		// Load Plugin in case it was loaded before
 		if (economy == null) {
@@ -279,6 +285,22 @@ public class Economy_Craftconomy3 extends AbstractEconomy {
 		return Common.getInstance().getAccountManager().getAccount(playerName, false).getBalance(world, Common.getInstance().getCurrencyManager().getDefaultCurrency().getName());
 	}
 
+	@Override
+	public BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world) {
+		// Resolve the currency once for all players
+		String currency = Common.getInstance().getCurrencyManager().getDefaultCurrency().getName();
+		String group = world == null ? WorldGroupsManager.DEFAULT_GROUP_NAME : world;
+		BalanceMap balances = new BalanceMap(players.size());
+		for (OfflinePlayer player : players) {
+			String name = player.getName();
+			if (name != null && Common.getInstance().getAccountManager().exist(name, false)) {
+				Account account = Common.getInstance().getAccountManager().getAccount(name, false);
+				balances.put(player.getUniqueId(), account.getBalance(group, currency));
+			}
+		}
+		return balances;
+	}
+
 	@Override
 	public boolean has(String playerName, String worldName, double amount) {
 		return Common.getInstance().getAccountManager().getAccount(playerName, false).hasEnough(amount, worldName, Common.getInstance().getCurrencyManager().getDefaultCurrency().getName());
@@ -21,11 +21,11 @@ import is.currency.syst.AccountContext;
 import java.util.List;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -43,7 +43,7 @@ public class Economy_CurrencyCore extends AbstractEconomy {
     public Economy_CurrencyCore(Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "CurrencyCore");
 
         // Load Plugin in case it was loaded before
         if(currency == null) {
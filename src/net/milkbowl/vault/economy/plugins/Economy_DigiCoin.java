@@ -19,7 +19,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -28,6 +27,7 @@ import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.Plugin;
 
 import co.uk.silvania.cities.digicoin.DigiCoin;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
@@ -41,7 +41,7 @@ public class Economy_DigiCoin extends AbstractEconomy {
     public Economy_DigiCoin(Plugin plugin){
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), name);
 
         if (economy == null) {
             Plugin digicoin = plugin.getServer().getPluginManager().getPlugin(name);
@@ -19,11 +19,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.PluginHooks;
+import net.milkbowl.vault.ThreadSafe;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -35,6 +36,7 @@ import com.earth2me.essentials.Essentials;
 import com.earth2me.essentials.api.NoLoanPermittedException;
 import com.earth2me.essentials.api.UserDoesNotExistException;
 
+@ThreadSafe
 public class Economy_Essentials extends AbstractEconomy {
 
     private final String name = "Essentials Economy";
@@ -45,7 +47,7 @@ public class Economy_Essentials extends AbstractEconomy {
     public Economy_Essentials(Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "Essentials");
 
         // Load Plugin in case it was loaded before
         if (ess == null) {
@@ -16,13 +16,15 @@ along with Vault.  If not, see <http://www.gnu.org/licenses/>.
 package net.milkbowl.vault.economy.plugins;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.AccountLocks;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -41,7 +43,7 @@ public class Economy_GoldIsMoney2 extends AbstractEconomy {
 	public Economy_GoldIsMoney2(Plugin plugin) {
 		this.plugin = plugin;
 		this.log = plugin.getLogger();
-	    Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+	    PluginHooks.register(plugin, new EconomyServerListener(this), "GoldIsMoney");
 	    // Load Plugin in case it was loaded before
 	    if (economy == null) {
 	        Plugin ec = plugin.getServer().getPluginManager().getPlugin("GoldIsMoney");
@@ -109,33 +111,43 @@ public class Economy_GoldIsMoney2 extends AbstractEconomy {
 	
 	@Override
 	public EconomyResponse withdrawPlayer(String playerName, double amount) {
-	    if (amount < 0) {
-	        return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot withdraw negative funds!");
-	    }
-	    if (!GoldIsMoney.hasAccount(playerName)) {
-	        return new EconomyResponse(0, 0, ResponseType.FAILURE, "That player does not have an account!");
-	    }
-	    if (!GoldIsMoney.has(playerName, amount)) {
-	        return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Insufficient funds");
-	    }
-	    if (!GoldIsMoney.withdrawPlayer(playerName, amount)) {
-	        return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Unable to withdraw funds!");
+	    Lock lock = AccountLocks.lockPlayer(playerName);
+	    try {
+	        if (amount < 0) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot withdraw negative funds!");
+	        }
+	        if (!GoldIsMoney.hasAccount(playerName)) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That player does not have an account!");
+	        }
+	        if (!GoldIsMoney.has(playerName, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Insufficient funds");
+	        }
+	        if (!GoldIsMoney.withdrawPlayer(playerName, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Unable to withdraw funds!");
+	        }
+	        return new EconomyResponse(amount, GoldIsMoney.getBalance(playerName), ResponseType.SUCCESS, null);
+	    } finally {
+	        lock.unlock();
 	    }
-        return new EconomyResponse(amount, GoldIsMoney.getBalance(playerName), ResponseType.SUCCESS, null);
 	}
 	
 	@Override
 	public EconomyResponse depositPlayer(String playerName, double amount) {
-	    if (amount < 0) {
-	        return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot desposit negative funds!");
-	    }
-	    if (!GoldIsMoney.hasAccount(playerName)) {
-	        return new EconomyResponse(0, 0, ResponseType.FAILURE, "That player does not have an account!");
-	    }
-	    if (!GoldIsMoney.depositPlayer(playerName, amount)) {
-	        return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Unable to deposit funds!");
+	    Lock lock = AccountLocks.lockPlayer(playerName);
+	    try {
+	        if (amount < 0) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot desposit negative funds!");
+	        }
+	        if (!GoldIsMoney.hasAccount(playerName)) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That player does not have an account!");
+	        }
+	        if (!GoldIsMoney.depositPlayer(playerName, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.getBalance(playerName), ResponseType.FAILURE, "Unable to deposit funds!");
+	        }
+	        return new EconomyResponse(amount, GoldIsMoney.getBalance(playerName), ResponseType.SUCCESS, null);
+	    } finally {
+	        lock.unlock();
 	    }
-        return new EconomyResponse(amount, GoldIsMoney.getBalance(playerName), ResponseType.SUCCESS, null);
 	}
 	
 	@Override
@@ -187,33 +199,43 @@ public class Economy_GoldIsMoney2 extends AbstractEconomy {
 	
 	@Override
 	public EconomyResponse bankWithdraw(String name, double amount) {
-		if (!GoldIsMoney.hasBankSupport()) {
-		    return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "GoldIsMoney bank support is disabled!");
-		}
-        if (!GoldIsMoney.bankExists(name)) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That bank does not exist!");
-        }
-        if (!GoldIsMoney.bankHas(name, amount)) {
-            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "The bank does not have enough money!");
-        }
-    	if (!GoldIsMoney.bankWithdraw(name, amount)) {
-            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "Unable to withdraw from that bank account!");
-        }
-        return new EconomyResponse(amount, GoldIsMoney.bankBalance(name), ResponseType.SUCCESS, "");
+	    Lock lock = AccountLocks.lockBank(name);
+	    try {
+	        if (!GoldIsMoney.hasBankSupport()) {
+	            return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "GoldIsMoney bank support is disabled!");
+	        }
+	        if (!GoldIsMoney.bankExists(name)) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That bank does not exist!");
+	        }
+	        if (!GoldIsMoney.bankHas(name, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "The bank does not have enough money!");
+	        }
+	        if (!GoldIsMoney.bankWithdraw(name, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "Unable to withdraw from that bank account!");
+	        }
+	        return new EconomyResponse(amount, GoldIsMoney.bankBalance(name), ResponseType.SUCCESS, "");
+	    } finally {
+	        lock.unlock();
+	    }
 	}
 	
 	@Override
 	public EconomyResponse bankDeposit(String name, double amount) {
-		if (!GoldIsMoney.hasBankSupport()) {
-		    return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "GoldIsMoney bank support is disabled!");
-		}
-        if (!GoldIsMoney.bankExists(name)) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That bank does not exist!");
-        }
-    	if (!GoldIsMoney.bankDeposit(name, amount)) {
-            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "Unable to deposit to that bank account!");
-        }
-        return new EconomyResponse(amount, GoldIsMoney.bankBalance(name), ResponseType.SUCCESS, "");
+	    Lock lock = AccountLocks.lockBank(name);
+	    try {
+	        if (!GoldIsMoney.hasBankSupport()) {
+	            return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "GoldIsMoney bank support is disabled!");
+	        }
+	        if (!GoldIsMoney.bankExists(name)) {
+	            return new EconomyResponse(0, 0, ResponseType.FAILURE, "That bank does not exist!");
+	        }
+	        if (!GoldIsMoney.bankDeposit(name, amount)) {
+	            return new EconomyResponse(0, GoldIsMoney.bankBalance(name), ResponseType.FAILURE, "Unable to deposit to that bank account!");
+	        }
+	        return new EconomyResponse(amount, GoldIsMoney.bankBalance(name), ResponseType.SUCCESS, "");
+	    } finally {
+	        lock.unlock();
+	    }
 	}
 	
 	@Override
@@ -22,10 +22,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.NameResolver;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
@@ -47,7 +48,7 @@ public class Economy_MiConomy extends AbstractEconomy {
     public Economy_MiConomy(Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "MiConomy");
         
         // Load Plugin in case it was loaded before
         if (miConomy == null) {
@@ -109,7 +110,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public boolean hasAccount(String playerName, String worldName) {
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return false;
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         return economy.isAccountCreated(player, world);
@@ -124,7 +128,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public double getBalance(String playerName, String worldName) {   
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return 0;
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         return economy.getAccountBalance(player, world);
@@ -139,7 +146,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public boolean has(String playerName, String worldName, double amount) {
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return false;
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         double playerBalance = economy.getAccountBalance(player, world);
@@ -160,7 +170,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Player is not known yet");
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         double balance = economy.getAccountBalance(player, world);
@@ -187,7 +200,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Player is not known yet");
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         double balance = economy.getAccountBalance(player, world);
@@ -203,7 +219,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public EconomyResponse createBank(String name, String player) {
-        OfflinePlayer owner = plugin.getServer().getOfflinePlayer(player);
+        OfflinePlayer owner = NameResolver.getOfflinePlayer(player);
+        if (owner == null) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Player is not known yet");
+        }
         
         ArrayList<OfflinePlayer> owners = new ArrayList<OfflinePlayer>();
         owners.add(owner);
@@ -279,7 +298,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public EconomyResponse isBankOwner(String name, String playerName) {
-        OfflinePlayer owner = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer owner = NameResolver.getOfflinePlayer(playerName);
+        if (owner == null) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Player is not known yet");
+        }
         
         if(economy.isBankCreated(name)) {
             if(economy.isPlayerBankOwner(name, owner)) {
@@ -294,7 +316,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public EconomyResponse isBankMember(String name, String playerName) {
-        OfflinePlayer owner = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer owner = NameResolver.getOfflinePlayer(playerName);
+        if (owner == null) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Player is not known yet");
+        }
         
         if(economy.isBankCreated(name)) {
             if(economy.isPlayerBankMember(name, owner)) {
@@ -321,7 +346,10 @@ public class Economy_MiConomy extends AbstractEconomy {
 
     @Override
     public boolean createPlayerAccount(String playerName, String worldName) {
-        OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerName);
+        OfflinePlayer player = NameResolver.getOfflinePlayer(playerName);
+        if (player == null) {
+            return false;
+        }
         World world = plugin.getServer().getWorld(worldName);
         
         if(!economy.isAccountCreated(player, world)) {
@@ -3,7 +3,6 @@ package net.milkbowl.vault.economy.plugins;
 import java.util.List;
 import java.util.logging.Logger;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -12,6 +11,7 @@ import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.Plugin;
 
 import me.coniin.plugins.minefaconomy.Minefaconomy;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 
@@ -25,7 +25,7 @@ public class Economy_Minefaconomy extends AbstractEconomy {
 	public Economy_Minefaconomy(Plugin plugin) {
 		this.plugin = plugin;
 		this.log = plugin.getLogger();
-		Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+		PluginHooks.register(plugin, new EconomyServerListener(this), "Minefaconomy");
 		Plugin econ = null;
 		// Load Plugin in case it was loaded before
 		if (economy == null) {
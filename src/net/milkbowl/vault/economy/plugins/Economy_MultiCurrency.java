@@ -21,11 +21,11 @@ import java.util.logging.Logger;
 
 import me.ashtheking.currency.Currency;
 import me.ashtheking.currency.CurrencyList;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -42,7 +42,7 @@ public class Economy_MultiCurrency extends AbstractEconomy {
     public Economy_MultiCurrency(Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "MultiCurrency");
 
         // Load Plugin in case it was loaded before
         if (economy == null) {
@@ -28,6 +28,7 @@ import org.bukkit.event.server.PluginEnableEvent;
 import com.github.omwah.SDFEconomy.SDFEconomy;
 import com.github.omwah.SDFEconomy.SDFEconomyAPI;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 
@@ -41,7 +42,7 @@ public class Economy_SDFEconomy extends AbstractEconomy {
         this.plugin = plugin;
         this.log = plugin.getLogger();
         // Register a listener to wait for plugin being loaded
-        plugin.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "SDFEconomy");
 
         // Try and Load API in case plugin was loaded before Vault
         load_api();
@@ -17,13 +17,15 @@
 package net.milkbowl.vault.economy.plugins;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
+import net.milkbowl.vault.AccountLocks;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -47,7 +49,7 @@ public class Economy_XPBank extends AbstractEconomy {
     public Economy_XPBank (Plugin plugin) {
         this.plugin = plugin;
         this.log = plugin.getLogger();
-        Bukkit.getServer().getPluginManager().registerEvents(new EconomyServerListener(this), plugin);
+        PluginHooks.register(plugin, new EconomyServerListener(this), "XPBank");
 
         // Load Plugin in case it was loaded before
         if (XPB == null) {
@@ -157,48 +159,58 @@ public class Economy_XPBank extends AbstractEconomy {
 
     @Override
     public EconomyResponse withdrawPlayer (String playerName, double amount) {
-        Account account = api.getAccount(playerName);
+        Lock lock = AccountLocks.lockPlayer(playerName);
+        try {
+            Account account = api.getAccount(playerName);
 
-        if (account == null) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("Player doesn't exist."));
-        }
+            if (account == null) {
+                return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("Player doesn't exist."));
+            }
 
-        int value = (int) amount;
-        int balance = account.getBalance();
+            int value = (int) amount;
+            int balance = account.getBalance();
 
-        if (value < 1) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
-        }
+            if (value < 1) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
+            }
 
-        if (value > balance) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, String.format(api.getMsg("InsufficientXP"), api.currencyName(value)));
-        }
+            if (value > balance) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, String.format(api.getMsg("InsufficientXP"), api.currencyName(value)));
+            }
 
-        account.modifyBalance(-value);
+            account.modifyBalance(-value);
 
-        return new EconomyResponse(value, balance - value, ResponseType.SUCCESS, null);
+            return new EconomyResponse(value, balance - value, ResponseType.SUCCESS, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public EconomyResponse depositPlayer (String playerName, double amount) {
-        Account account = api.getAccount(playerName);
-
-        if (account == null) {
-            // Stupid plugins that use fake players without creating them first...
-            // return new EconomyResponse(0, 0, ResponseType.FAILURE, "Player doesn't exist");
-            this.createPlayerAccount(playerName);
-        }
+        Lock lock = AccountLocks.lockPlayer(playerName);
+        try {
+            Account account = api.getAccount(playerName);
+
+            if (account == null) {
+                // Stupid plugins that use fake players without creating them first...
+                // return new EconomyResponse(0, 0, ResponseType.FAILURE, "Player doesn't exist");
+                this.createPlayerAccount(playerName);
+            }
 
-        int value = (int) amount;
-        int balance = account.getBalance();
+            int value = (int) amount;
+            int balance = account.getBalance();
 
-        if (value < 1) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
-        }
+            if (value < 1) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
+            }
 
-        account.addTaxableIncome(value);
+            account.addTaxableIncome(value);
 
-        return new EconomyResponse(value, balance + value, ResponseType.SUCCESS, null);
+            return new EconomyResponse(value, balance + value, ResponseType.SUCCESS, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -260,46 +272,56 @@ public class Economy_XPBank extends AbstractEconomy {
 
     @Override
     public EconomyResponse bankWithdraw (String name, double amount) {
-        GroupBank groupBank = api.getGroupBank(name);
+        Lock lock = AccountLocks.lockBank(name);
+        try {
+            GroupBank groupBank = api.getGroupBank(name);
 
-        if (groupBank == null) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("GroupBankNotExists"));
-        }
+            if (groupBank == null) {
+                return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("GroupBankNotExists"));
+            }
 
-        int value = (int) amount;
-        int balance = groupBank.getBalance();
+            int value = (int) amount;
+            int balance = groupBank.getBalance();
 
-        if (value < 1) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
-        }
+            if (value < 1) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
+            }
 
-        if (value > balance) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, String.format(api.getMsg("InsufficientXP"), api.currencyName(value)));
-        }
+            if (value > balance) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, String.format(api.getMsg("InsufficientXP"), api.currencyName(value)));
+            }
 
-        groupBank.modifyBalance(-value);
+            groupBank.modifyBalance(-value);
 
-        return new EconomyResponse(value, balance - value, ResponseType.SUCCESS, null);
+            return new EconomyResponse(value, balance - value, ResponseType.SUCCESS, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public EconomyResponse bankDeposit (String name, double amount) {
-        GroupBank groupBank = api.getGroupBank(name);
+        Lock lock = AccountLocks.lockBank(name);
+        try {
+            GroupBank groupBank = api.getGroupBank(name);
 
-        if (groupBank == null) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("GroupBankNotExists"));
-        }
+            if (groupBank == null) {
+                return new EconomyResponse(0, 0, ResponseType.FAILURE, api.getMsg("GroupBankNotExists"));
+            }
 
-        int value = (int) amount;
-        int balance = groupBank.getBalance();
+            int value = (int) amount;
+            int balance = groupBank.getBalance();
 
-        if (value < 1) {
-            return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
-        }
+            if (value < 1) {
+                return new EconomyResponse(0, balance, ResponseType.FAILURE, api.getMsg("LessThanZero"));
+            }
 
-        groupBank.modifyBalance(value);
+            groupBank.modifyBalance(value);
 
-        return new EconomyResponse(value, balance + value, ResponseType.SUCCESS, null);
+            return new EconomyResponse(value, balance + value, ResponseType.SUCCESS, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
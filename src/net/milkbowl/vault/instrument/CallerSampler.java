@@ -0,0 +1,271 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Finds out which plugin made a sampled call into a provider. The calling
+ * plugin is the first class on the stack that was loaded by another plugin's
+ * class loader, so calls Vault's hooks make to each other are put on the
+ * plugin that started them. Calls from the server itself count as
+ * {@link #SERVER}.
+ */
+public class CallerSampler {
+
+    public static final String SERVER = "(server)";
+
+    // StackWalker, looked up by name as Vault is built for Java 8
+    private static final Object WALKER;
+    private static final Method WALK;
+    private static final Method DECLARING_CLASS;
+
+    static {
+        Object walker = null;
+        Method walk = null;
+        Method declaringClass = null;
+        try {
+            Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> option = Class.forName("java.lang.StackWalker$Option");
+            walker = walkerClass.getMethod("getInstance", option).invoke(null, option.getField("RETAIN_CLASS_REFERENCE").get(null));
+            walk = walkerClass.getMethod("walk", Function.class);
+            declaringClass = Class.forName("java.lang.StackWalker$StackFrame").getMethod("getDeclaringClass");
+        } catch (ReflectiveOperationException e) {
+            // Java 8, the class context is used instead
+            walker = null;
+        }
+        WALKER = walker;
+        WALK = walk;
+        DECLARING_CLASS = declaringClass;
+    }
+
+    private final Plugin plugin;
+    private final int every;
+    // Weak so a reloaded plugin's class loader can still be collected
+    private final Map<ClassLoader, String> owners = Collections.synchronizedMap(new WeakHashMap<ClassLoader, String>());
+    private final ConcurrentMap<String, ConcurrentMap<String, Totals>> callers = new ConcurrentHashMap<String, ConcurrentMap<String, Totals>>();
+
+    /**
+     * @param plugin Vault, whose own classes are passed over
+     * @param every one in how many calls is sampled
+     */
+    public CallerSampler(Plugin plugin, int every) {
+        this.plugin = plugin;
+        this.every = every;
+    }
+
+    public int getEvery() {
+        return every;
+    }
+
+    /**
+     * Records one in {@link #getEvery()} calls against the plugin that made it.
+     * @param method the service and method called, e.g. Economy.getBalance(OfflinePlayer)
+     * @param nanos how long the call took
+     */
+    public void sample(String method, long nanos) {
+        if (every > 1 && ThreadLocalRandom.current().nextInt(every) != 0) {
+            return;
+        }
+        String caller = findCaller();
+        ConcurrentMap<String, Totals> methods = callers.get(caller);
+        if (methods == null) {
+            ConcurrentMap<String, Totals> created = new ConcurrentHashMap<String, Totals>();
+            methods = callers.putIfAbsent(caller, created);
+            if (methods == null) {
+                methods = created;
+            }
+        }
+        Totals totals = methods.get(method);
+        if (totals == null) {
+            Totals created = new Totals();
+            totals = methods.putIfAbsent(method, created);
+            if (totals == null) {
+                totals = created;
+            }
+        }
+        totals.calls.incrementAndGet();
+        totals.nanos.addAndGet(nanos);
+    }
+
+    private String findCaller() {
+        if (WALKER == null) {
+            return findCaller(Arrays.<Class<?>>asList(ClassContext.callers()).iterator());
+        }
+        try {
+            return (String) WALK.invoke(WALKER, new Function<Stream<?>, String>() {
+                @Override
+                public String apply(Stream<?> frames) {
+                    final Iterator<?> it = frames.iterator();
+                    return findCaller(new Iterator<Class<?>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Class<?> next() {
+                            try {
+                                return (Class<?>) DECLARING_CLASS.invoke(it.next());
+                            } catch (IllegalAccessException e) {
+                                throw new IllegalStateException(e);
+                            } catch (InvocationTargetException e) {
+                                throw new IllegalStateException(e.getCause());
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (IllegalAccessException e) {
+            return SERVER;
+        } catch (InvocationTargetException e) {
+            return SERVER;
+        }
+    }
+
+    /**
+     * @param classes the classes on the stack, innermost first
+     */
+    private String findCaller(Iterator<Class<?>> classes) {
+        while (classes.hasNext()) {
+            Class<?> clazz = classes.next();
+            ClassLoader loader = clazz.getClassLoader();
+            if (loader == null) {
+                continue;
+            }
+            String owner = owners.get(loader);
+            if (owner == null) {
+                owner = ownerOf(clazz);
+                owners.put(loader, owner);
+            }
+            if (!owner.isEmpty()) {
+                return owner;
+            }
+        }
+        return SERVER;
+    }
+
+    /**
+     * @return the name of the plugin that loaded the class, or an empty
+     *         string for Vault and for classes no plugin loaded
+     */
+    private String ownerOf(Class<?> clazz) {
+        try {
+            Plugin owner = JavaPlugin.getProvidingPlugin(clazz);
+            return owner == plugin ? "" : owner.getName();
+        } catch (IllegalArgumentException e) {
+            return "";
+        } catch (IllegalStateException e) {
+            return "";
+        }
+    }
+
+    /**
+     * @return every plugin and method sampled, with the calls and time scaled
+     *         up by the sampling rate, most time spent first
+     */
+    public List<CallerStats> getCallers() {
+        List<CallerStats> stats = new ArrayList<CallerStats>();
+        for (Map.Entry<String, ConcurrentMap<String, Totals>> caller : callers.entrySet()) {
+            for (Map.Entry<String, Totals> method : caller.getValue().entrySet()) {
+                Totals totals = method.getValue();
+                stats.add(new CallerStats(caller.getKey(), method.getKey(), totals.calls.get() * every, totals.nanos.get() * every));
+            }
+        }
+        Collections.sort(stats, new Comparator<CallerStats>() {
+            @Override
+            public int compare(CallerStats a, CallerStats b) {
+                return Long.compare(b.getNanos(), a.getNanos());
+            }
+        });
+        return stats;
+    }
+
+    public void reset() {
+        callers.clear();
+    }
+
+    private static class Totals {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+
+    /**
+     * The estimated load one plugin puts on one method.
+     */
+    public static class CallerStats {
+        private final String plugin;
+        private final String method;
+        private final long calls;
+        private final long nanos;
+
+        CallerStats(String plugin, String method, long calls, long nanos) {
+            this.plugin = plugin;
+            this.method = method;
+            this.calls = calls;
+            this.nanos = nanos;
+        }
+
+        public String getPlugin() {
+            return plugin;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    /**
+     * The class of every frame on the stack is only handed out to security
+     * managers. Without a StackWalker on Java 8 this is the cheapest way to
+     * get at the classes rather than only their names. Only made on Java 8,
+     * as SecurityManager is going away in later ones.
+     */
+    @SuppressWarnings("removal")
+    private static class ClassContext extends SecurityManager {
+        private static final ClassContext INSTANCE = new ClassContext();
+
+        static Class<?>[] callers() {
+            return INSTANCE.getClassContext();
+        }
+    }
+}
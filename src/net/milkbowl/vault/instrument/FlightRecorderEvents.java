@@ -0,0 +1,89 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import jdk.jfr.FlightRecorder;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Commits {@link ProviderCallEvent}s. It is kept apart from
+ * {@link ProviderStats} so that nothing from jdk.jfr is loaded on a Java
+ * that has no Flight Recorder; check {@link #isAvailable()} before using it.
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {}
+
+    static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Registers the event, so recordings can turn it on before the first call
+     * is made.
+     */
+    static void register() {
+        FlightRecorder.register(ProviderCallEvent.class);
+    }
+
+    /**
+     * Begins an event, to be passed to {@link #commit} when the call returns.
+     * @return the event, or null if no recording has it on
+     */
+    static Object begin() {
+        ProviderCallEvent event = new ProviderCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commit(Object begun, String service, String provider, String method, Object player, Object world, EconomyResponse response) {
+        ProviderCallEvent event = (ProviderCallEvent) begun;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.service = service;
+        event.provider = provider;
+        event.method = method;
+        event.player = name(player);
+        event.world = name(world);
+        event.result = response == null || response.type == null ? null : response.type.name();
+        event.commit();
+    }
+
+    private static String name(Object subject) {
+        if (subject instanceof OfflinePlayer) {
+            return ((OfflinePlayer) subject).getName();
+        } else if (subject instanceof CommandSender) {
+            return ((CommandSender) subject).getName();
+        } else if (subject instanceof World) {
+            return ((World) subject).getName();
+        }
+        return subject == null ? null : subject.toString();
+    }
+}
@@ -0,0 +1,130 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.permission.Permission;
+
+/**
+ * Wraps Vault's hooks so every call made to them is counted and timed, and
+ * keeps the numbers for /vault-stats. It is off unless enabled in the
+ * config, since other plugins then see the wrapper's class instead of the
+ * hook's.
+ */
+public class Instrumentation {
+
+    private final List<Instrumented> providers = new CopyOnWriteArrayList<Instrumented>();
+    private final CallerSampler callers;
+    private final SlowCallWatchdog watchdog;
+    private final boolean events;
+
+    /**
+     * @param callers where to sample which plugins make the calls, or null
+     *        to not
+     * @param watchdog where to report slow calls on the server thread, or
+     *        null to not
+     */
+    public Instrumentation(CallerSampler callers, SlowCallWatchdog watchdog) {
+        this.callers = callers;
+        this.watchdog = watchdog;
+        this.events = FlightRecorderEvents.isAvailable();
+        if (events) {
+            FlightRecorderEvents.register();
+        }
+    }
+
+    public Economy wrap(Economy economy) {
+        InstrumentedEconomy instrumented = new InstrumentedEconomy(economy, new ProviderStats("Economy", economy.getClass().getSimpleName(), InstrumentedEconomy.METHODS, callers, watchdog, events));
+        providers.add(instrumented);
+        return instrumented;
+    }
+
+    public Permission wrap(Permission permission) {
+        InstrumentedPermission instrumented = new InstrumentedPermission(permission, new ProviderStats("Permission", permission.getClass().getSimpleName(), InstrumentedPermission.METHODS, callers, watchdog, events));
+        providers.add(instrumented);
+        return instrumented;
+    }
+
+    /**
+     * @param perms the permission provider the chat hook was created with
+     */
+    public Chat wrap(Chat chat, Permission perms) {
+        InstrumentedChat instrumented = new InstrumentedChat(chat, perms, new ProviderStats("Chat", chat.getClass().getSimpleName(), InstrumentedChat.METHODS, callers, watchdog, events));
+        providers.add(instrumented);
+        return instrumented;
+    }
+
+    /**
+     * @return every wrapped provider, in the order they were hooked
+     */
+    public List<Instrumented> getProviders() {
+        return Collections.unmodifiableList(providers);
+    }
+
+    /**
+     * @return the caller sampling, or null if it is off
+     */
+    public CallerSampler getCallers() {
+        return callers;
+    }
+
+    /**
+     * @return whether calls are also committed as Flight Recorder events,
+     *         which needs a Java with jdk.jfr and a recording that turns
+     *         them on
+     */
+    public boolean hasFlightRecorderEvents() {
+        return events;
+    }
+
+    /**
+     * @return the slow call watchdog, or null if it is off
+     */
+    public SlowCallWatchdog getWatchdog() {
+        return watchdog;
+    }
+
+    public void reset() {
+        for (Instrumented provider : providers) {
+            provider.getStats().reset();
+        }
+        if (callers != null) {
+            callers.reset();
+        }
+        if (watchdog != null) {
+            watchdog.reset();
+        }
+    }
+
+    /**
+     * @return the duration in the largest unit it has at least one of
+     */
+    public static String format(long nanos) {
+        if (nanos < 1000L) {
+            return nanos + "ns";
+        } else if (nanos < 1000000L) {
+            return String.format("%.1fus", nanos / 1000D);
+        } else if (nanos < 1000000000L) {
+            return String.format("%.1fms", nanos / 1000000D);
+        }
+        return String.format("%.2fs", nanos / 1000000000D);
+    }
+}
@@ -0,0 +1,35 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+/**
+ * A provider registered in place of one of Vault's hooks, which passes every
+ * call on to the hook and records how long it took.
+ */
+public interface Instrumented {
+
+    /**
+     * @return the name of the hook calls are passed on to
+     */
+    String getName();
+
+    /**
+     * @return the hook calls are passed on to
+     */
+    Object getProvider();
+
+    ProviderStats getStats();
+}
@@ -0,0 +1,1094 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Passes every call on to a chat hook and times it. Every method is passed
+ * on, not only the abstract ones, since hooks override the player variants
+ * too.
+ */
+public class InstrumentedChat extends Chat implements Instrumented {
+
+    /**
+     * The methods timed, in the order of the numbers passed to
+     * {@link ProviderStats#record(int, long, Object)}.
+     */
+    static final String[] METHODS = {
+        "isEnabled()",
+        "getPlayerPrefix(String, String)",
+        "getPlayerPrefix(String, OfflinePlayer)",
+        "getPlayerPrefix(World, String)",
+        "getPlayerPrefix(Player)",
+        "setPlayerPrefix(String, String, String)",
+        "setPlayerPrefix(String, OfflinePlayer, String)",
+        "setPlayerPrefix(World, String, String)",
+        "setPlayerPrefix(Player, String)",
+        "getGroupPrefix(String, String)",
+        "getGroupPrefix(World, String)",
+        "setGroupPrefix(String, String, String)",
+        "setGroupPrefix(World, String, String)",
+        "getPlayerSuffix(String, String)",
+        "getPlayerSuffix(String, OfflinePlayer)",
+        "getPlayerSuffix(World, String)",
+        "getPlayerSuffix(Player)",
+        "setPlayerSuffix(String, String, String)",
+        "setPlayerSuffix(String, OfflinePlayer, String)",
+        "setPlayerSuffix(World, String, String)",
+        "setPlayerSuffix(Player, String)",
+        "getGroupSuffix(String, String)",
+        "getGroupSuffix(World, String)",
+        "setGroupSuffix(String, String, String)",
+        "setGroupSuffix(World, String, String)",
+        "getPlayerInfoInteger(String, OfflinePlayer, String, int)",
+        "getPlayerInfoInteger(String, String, String, int)",
+        "getPlayerInfoInteger(World, String, String, int)",
+        "getPlayerInfoInteger(Player, String, int)",
+        "setPlayerInfoInteger(String, OfflinePlayer, String, int)",
+        "setPlayerInfoInteger(String, String, String, int)",
+        "setPlayerInfoInteger(World, String, String, int)",
+        "setPlayerInfoInteger(Player, String, int)",
+        "getGroupInfoInteger(String, String, String, int)",
+        "getGroupInfoInteger(World, String, String, int)",
+        "setGroupInfoInteger(String, String, String, int)",
+        "setGroupInfoInteger(World, String, String, int)",
+        "getPlayerInfoDouble(String, OfflinePlayer, String, double)",
+        "getPlayerInfoDouble(String, String, String, double)",
+        "getPlayerInfoDouble(World, String, String, double)",
+        "getPlayerInfoDouble(Player, String, double)",
+        "setPlayerInfoDouble(String, OfflinePlayer, String, double)",
+        "setPlayerInfoDouble(String, String, String, double)",
+        "setPlayerInfoDouble(World, String, String, double)",
+        "setPlayerInfoDouble(Player, String, double)",
+        "getGroupInfoDouble(String, String, String, double)",
+        "getGroupInfoDouble(World, String, String, double)",
+        "setGroupInfoDouble(String, String, String, double)",
+        "setGroupInfoDouble(World, String, String, double)",
+        "getPlayerInfoBoolean(String, OfflinePlayer, String, boolean)",
+        "getPlayerInfoBoolean(String, String, String, boolean)",
+        "getPlayerInfoBoolean(World, String, String, boolean)",
+        "getPlayerInfoBoolean(Player, String, boolean)",
+        "setPlayerInfoBoolean(String, OfflinePlayer, String, boolean)",
+        "setPlayerInfoBoolean(String, String, String, boolean)",
+        "setPlayerInfoBoolean(World, String, String, boolean)",
+        "setPlayerInfoBoolean(Player, String, boolean)",
+        "getGroupInfoBoolean(String, String, String, boolean)",
+        "getGroupInfoBoolean(World, String, String, boolean)",
+        "setGroupInfoBoolean(String, String, String, boolean)",
+        "setGroupInfoBoolean(World, String, String, boolean)",
+        "getPlayerInfoString(String, OfflinePlayer, String, String)",
+        "getPlayerInfoString(String, String, String, String)",
+        "getPlayerInfoString(World, String, String, String)",
+        "getPlayerInfoString(Player, String, String)",
+        "setPlayerInfoString(String, OfflinePlayer, String, String)",
+        "setPlayerInfoString(String, String, String, String)",
+        "setPlayerInfoString(World, String, String, String)",
+        "setPlayerInfoString(Player, String, String)",
+        "getGroupInfoString(String, String, String, String)",
+        "getGroupInfoString(World, String, String, String)",
+        "setGroupInfoString(String, String, String, String)",
+        "setGroupInfoString(World, String, String, String)",
+        "playerInGroup(String, String, String)",
+        "playerInGroup(String, OfflinePlayer, String)",
+        "playerInGroup(World, String, String)",
+        "playerInGroup(Player, String)",
+        "getPlayerGroups(String, String)",
+        "getPlayerGroups(String, OfflinePlayer)",
+        "getPlayerGroups(World, String)",
+        "getPlayerGroups(Player)",
+        "getPrimaryGroup(String, String)",
+        "getPrimaryGroup(String, OfflinePlayer)",
+        "getPrimaryGroup(World, String)",
+        "getPrimaryGroup(Player)",
+        "getGroups()",
+    };
+
+    private final Chat provider;
+    private final ProviderStats stats;
+
+    InstrumentedChat(Chat chat, Permission perms, ProviderStats stats) {
+        super(perms);
+        this.provider = chat;
+        this.stats = stats;
+    }
+
+    @Override
+    public Chat getProvider() {
+        return provider;
+    }
+
+    @Override
+    public ProviderStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String getName() {
+        return provider.getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.isEnabled();
+        } finally {
+            stats.record(0, start, event);
+        }
+    }
+
+    @Override
+    public String getPlayerPrefix(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerPrefix(world, player);
+        } finally {
+            stats.record(1, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerPrefix(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerPrefix(world, player);
+        } finally {
+            stats.record(2, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerPrefix(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerPrefix(world, player);
+        } finally {
+            stats.record(3, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerPrefix(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerPrefix(player);
+        } finally {
+            stats.record(4, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, String player, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerPrefix(world, player, prefix);
+        } finally {
+            stats.record(5, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(String world, OfflinePlayer player, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerPrefix(world, player, prefix);
+        } finally {
+            stats.record(6, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(World world, String player, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerPrefix(world, player, prefix);
+        } finally {
+            stats.record(7, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerPrefix(Player player, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerPrefix(player, prefix);
+        } finally {
+            stats.record(8, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String getGroupPrefix(String world, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupPrefix(world, group);
+        } finally {
+            stats.record(9, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String getGroupPrefix(World world, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupPrefix(world, group);
+        } finally {
+            stats.record(10, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupPrefix(String world, String group, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupPrefix(world, group, prefix);
+        } finally {
+            stats.record(11, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupPrefix(World world, String group, String prefix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupPrefix(world, group, prefix);
+        } finally {
+            stats.record(12, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerSuffix(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerSuffix(world, player);
+        } finally {
+            stats.record(13, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerSuffix(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerSuffix(world, player);
+        } finally {
+            stats.record(14, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerSuffix(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerSuffix(world, player);
+        } finally {
+            stats.record(15, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerSuffix(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerSuffix(player);
+        } finally {
+            stats.record(16, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, String player, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerSuffix(world, player, suffix);
+        } finally {
+            stats.record(17, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(String world, OfflinePlayer player, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerSuffix(world, player, suffix);
+        } finally {
+            stats.record(18, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(World world, String player, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerSuffix(world, player, suffix);
+        } finally {
+            stats.record(19, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerSuffix(Player player, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerSuffix(player, suffix);
+        } finally {
+            stats.record(20, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String getGroupSuffix(String world, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupSuffix(world, group);
+        } finally {
+            stats.record(21, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String getGroupSuffix(World world, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupSuffix(world, group);
+        } finally {
+            stats.record(22, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupSuffix(String world, String group, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupSuffix(world, group, suffix);
+        } finally {
+            stats.record(23, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupSuffix(World world, String group, String suffix) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupSuffix(world, group, suffix);
+        } finally {
+            stats.record(24, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public int getPlayerInfoInteger(String world, OfflinePlayer player, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoInteger(world, player, node, defaultValue);
+        } finally {
+            stats.record(25, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public int getPlayerInfoInteger(String world, String player, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoInteger(world, player, node, defaultValue);
+        } finally {
+            stats.record(26, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public int getPlayerInfoInteger(World world, String player, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoInteger(world, player, node, defaultValue);
+        } finally {
+            stats.record(27, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public int getPlayerInfoInteger(Player player, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoInteger(player, node, defaultValue);
+        } finally {
+            stats.record(28, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, OfflinePlayer player, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            stats.record(29, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(String world, String player, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            stats.record(30, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(World world, String player, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoInteger(world, player, node, value);
+        } finally {
+            stats.record(31, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoInteger(Player player, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoInteger(player, node, value);
+        } finally {
+            stats.record(32, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public int getGroupInfoInteger(String world, String group, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoInteger(world, group, node, defaultValue);
+        } finally {
+            stats.record(33, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public int getGroupInfoInteger(World world, String group, String node, int defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoInteger(world, group, node, defaultValue);
+        } finally {
+            stats.record(34, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoInteger(String world, String group, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoInteger(world, group, node, value);
+        } finally {
+            stats.record(35, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoInteger(World world, String group, String node, int value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoInteger(world, group, node, value);
+        } finally {
+            stats.record(36, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public double getPlayerInfoDouble(String world, OfflinePlayer player, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoDouble(world, player, node, defaultValue);
+        } finally {
+            stats.record(37, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public double getPlayerInfoDouble(String world, String player, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoDouble(world, player, node, defaultValue);
+        } finally {
+            stats.record(38, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public double getPlayerInfoDouble(World world, String player, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoDouble(world, player, node, defaultValue);
+        } finally {
+            stats.record(39, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public double getPlayerInfoDouble(Player player, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoDouble(player, node, defaultValue);
+        } finally {
+            stats.record(40, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, OfflinePlayer player, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            stats.record(41, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(String world, String player, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            stats.record(42, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(World world, String player, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoDouble(world, player, node, value);
+        } finally {
+            stats.record(43, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoDouble(Player player, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoDouble(player, node, value);
+        } finally {
+            stats.record(44, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public double getGroupInfoDouble(String world, String group, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoDouble(world, group, node, defaultValue);
+        } finally {
+            stats.record(45, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public double getGroupInfoDouble(World world, String group, String node, double defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoDouble(world, group, node, defaultValue);
+        } finally {
+            stats.record(46, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoDouble(String world, String group, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoDouble(world, group, node, value);
+        } finally {
+            stats.record(47, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoDouble(World world, String group, String node, double value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoDouble(world, group, node, value);
+        } finally {
+            stats.record(48, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoBoolean(world, player, node, defaultValue);
+        } finally {
+            stats.record(49, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(String world, String player, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoBoolean(world, player, node, defaultValue);
+        } finally {
+            stats.record(50, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(World world, String player, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoBoolean(world, player, node, defaultValue);
+        } finally {
+            stats.record(51, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean getPlayerInfoBoolean(Player player, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoBoolean(player, node, defaultValue);
+        } finally {
+            stats.record(52, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, OfflinePlayer player, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            stats.record(53, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(String world, String player, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            stats.record(54, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(World world, String player, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoBoolean(world, player, node, value);
+        } finally {
+            stats.record(55, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoBoolean(Player player, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoBoolean(player, node, value);
+        } finally {
+            stats.record(56, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean getGroupInfoBoolean(String world, String group, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoBoolean(world, group, node, defaultValue);
+        } finally {
+            stats.record(57, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean getGroupInfoBoolean(World world, String group, String node, boolean defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoBoolean(world, group, node, defaultValue);
+        } finally {
+            stats.record(58, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoBoolean(String world, String group, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoBoolean(world, group, node, value);
+        } finally {
+            stats.record(59, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoBoolean(World world, String group, String node, boolean value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoBoolean(world, group, node, value);
+        } finally {
+            stats.record(60, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerInfoString(String world, OfflinePlayer player, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoString(world, player, node, defaultValue);
+        } finally {
+            stats.record(61, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerInfoString(String world, String player, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoString(world, player, node, defaultValue);
+        } finally {
+            stats.record(62, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerInfoString(World world, String player, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoString(world, player, node, defaultValue);
+        } finally {
+            stats.record(63, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPlayerInfoString(Player player, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerInfoString(player, node, defaultValue);
+        } finally {
+            stats.record(64, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, OfflinePlayer player, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoString(world, player, node, value);
+        } finally {
+            stats.record(65, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(String world, String player, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoString(world, player, node, value);
+        } finally {
+            stats.record(66, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(World world, String player, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoString(world, player, node, value);
+        } finally {
+            stats.record(67, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public void setPlayerInfoString(Player player, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setPlayerInfoString(player, node, value);
+        } finally {
+            stats.record(68, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String getGroupInfoString(String world, String group, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoString(world, group, node, defaultValue);
+        } finally {
+            stats.record(69, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String getGroupInfoString(World world, String group, String node, String defaultValue) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroupInfoString(world, group, node, defaultValue);
+        } finally {
+            stats.record(70, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoString(String world, String group, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoString(world, group, node, value);
+        } finally {
+            stats.record(71, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public void setGroupInfoString(World world, String group, String node, String value) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            provider.setGroupInfoString(world, group, node, value);
+        } finally {
+            stats.record(72, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(String world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(73, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(String world, OfflinePlayer player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(74, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(World world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(75, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(Player player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(player, group);
+        } finally {
+            stats.record(76, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(77, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(78, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(79, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(player);
+        } finally {
+            stats.record(80, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(81, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(82, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(83, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(player);
+        } finally {
+            stats.record(84, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String[] getGroups() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroups();
+        } finally {
+            stats.record(85, start, event);
+        }
+    }
+}
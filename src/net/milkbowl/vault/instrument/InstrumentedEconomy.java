@@ -0,0 +1,616 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.Collection;
+import java.util.List;
+
+import net.milkbowl.vault.bulk.BalanceMap;
+import net.milkbowl.vault.bulk.BulkEconomy;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Passes every call on to an economy and times it.
+ */
+public class InstrumentedEconomy implements Economy, BulkEconomy, Instrumented {
+
+    /**
+     * The methods timed, in the order of the numbers passed to
+     * {@link ProviderStats#record(int, long, Object)}.
+     */
+    static final String[] METHODS = {
+        "isEnabled()",
+        "hasBankSupport()",
+        "fractionalDigits()",
+        "format(double)",
+        "currencyNamePlural()",
+        "currencyNameSingular()",
+        "hasAccount(String)",
+        "hasAccount(OfflinePlayer)",
+        "hasAccount(String, String)",
+        "hasAccount(OfflinePlayer, String)",
+        "getBalance(String)",
+        "getBalance(OfflinePlayer)",
+        "getBalance(String, String)",
+        "getBalance(OfflinePlayer, String)",
+        "has(String, double)",
+        "has(OfflinePlayer, double)",
+        "has(String, String, double)",
+        "has(OfflinePlayer, String, double)",
+        "withdrawPlayer(String, double)",
+        "withdrawPlayer(OfflinePlayer, double)",
+        "withdrawPlayer(String, String, double)",
+        "withdrawPlayer(OfflinePlayer, String, double)",
+        "depositPlayer(String, double)",
+        "depositPlayer(OfflinePlayer, double)",
+        "depositPlayer(String, String, double)",
+        "depositPlayer(OfflinePlayer, String, double)",
+        "createBank(String, String)",
+        "createBank(String, OfflinePlayer)",
+        "deleteBank(String)",
+        "bankBalance(String)",
+        "bankHas(String, double)",
+        "bankWithdraw(String, double)",
+        "bankDeposit(String, double)",
+        "isBankOwner(String, String)",
+        "isBankOwner(String, OfflinePlayer)",
+        "isBankMember(String, String)",
+        "isBankMember(String, OfflinePlayer)",
+        "getBanks()",
+        "createPlayerAccount(String)",
+        "createPlayerAccount(OfflinePlayer)",
+        "createPlayerAccount(String, String)",
+        "createPlayerAccount(OfflinePlayer, String)",
+        "getBalances(Collection, String)",
+    };
+
+    private final Economy provider;
+    private final ProviderStats stats;
+
+    InstrumentedEconomy(Economy economy, ProviderStats stats) {
+        this.provider = economy;
+        this.stats = stats;
+    }
+
+    @Override
+    public Economy getProvider() {
+        return provider;
+    }
+
+    @Override
+    public ProviderStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String getName() {
+        return provider.getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.isEnabled();
+        } finally {
+            stats.record(0, start, event);
+        }
+    }
+
+    @Override
+    public boolean hasBankSupport() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasBankSupport();
+        } finally {
+            stats.record(1, start, event);
+        }
+    }
+
+    @Override
+    public int fractionalDigits() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.fractionalDigits();
+        } finally {
+            stats.record(2, start, event);
+        }
+    }
+
+    @Override
+    public String format(double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.format(amount);
+        } finally {
+            stats.record(3, start, event);
+        }
+    }
+
+    @Override
+    public String currencyNamePlural() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.currencyNamePlural();
+        } finally {
+            stats.record(4, start, event);
+        }
+    }
+
+    @Override
+    public String currencyNameSingular() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.currencyNameSingular();
+        } finally {
+            stats.record(5, start, event);
+        }
+    }
+
+    @Override
+    public boolean hasAccount(String playerName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasAccount(playerName);
+        } finally {
+            stats.record(6, start, event, playerName, null, null);
+        }
+    }
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasAccount(player);
+        } finally {
+            stats.record(7, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean hasAccount(String playerName, String worldName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasAccount(playerName, worldName);
+        } finally {
+            stats.record(8, start, event, playerName, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean hasAccount(OfflinePlayer player, String worldName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasAccount(player, worldName);
+        } finally {
+            stats.record(9, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getBalance(playerName);
+        } finally {
+            stats.record(10, start, event, playerName, null, null);
+        }
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getBalance(player);
+        } finally {
+            stats.record(11, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getBalance(playerName, world);
+        } finally {
+            stats.record(12, start, event, playerName, world, null);
+        }
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer player, String world) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getBalance(player, world);
+        } finally {
+            stats.record(13, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean has(String playerName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(playerName, amount);
+        } finally {
+            stats.record(14, start, event, playerName, null, null);
+        }
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(player, amount);
+        } finally {
+            stats.record(15, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(playerName, worldName, amount);
+        } finally {
+            stats.record(16, start, event, playerName, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean has(OfflinePlayer player, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(player, worldName, amount);
+        } finally {
+            stats.record(17, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.withdrawPlayer(playerName, amount);
+            return response;
+        } finally {
+            stats.record(18, start, event, playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.withdrawPlayer(player, amount);
+            return response;
+        } finally {
+            stats.record(19, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.withdrawPlayer(playerName, worldName, amount);
+            return response;
+        } finally {
+            stats.record(20, start, event, playerName, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.withdrawPlayer(player, worldName, amount);
+            return response;
+        } finally {
+            stats.record(21, start, event, player, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.depositPlayer(playerName, amount);
+            return response;
+        } finally {
+            stats.record(22, start, event, playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.depositPlayer(player, amount);
+            return response;
+        } finally {
+            stats.record(23, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.depositPlayer(playerName, worldName, amount);
+            return response;
+        } finally {
+            stats.record(24, start, event, playerName, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.depositPlayer(player, worldName, amount);
+            return response;
+        } finally {
+            stats.record(25, start, event, player, worldName, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.createBank(name, player);
+            return response;
+        } finally {
+            stats.record(26, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.createBank(name, player);
+            return response;
+        } finally {
+            stats.record(27, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse deleteBank(String name) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.deleteBank(name);
+            return response;
+        } finally {
+            stats.record(28, start, event, null, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse bankBalance(String name) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.bankBalance(name);
+            return response;
+        } finally {
+            stats.record(29, start, event, null, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse bankHas(String name, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.bankHas(name, amount);
+            return response;
+        } finally {
+            stats.record(30, start, event, null, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse bankWithdraw(String name, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.bankWithdraw(name, amount);
+            return response;
+        } finally {
+            stats.record(31, start, event, null, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse bankDeposit(String name, double amount) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.bankDeposit(name, amount);
+            return response;
+        } finally {
+            stats.record(32, start, event, null, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, String playerName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.isBankOwner(name, playerName);
+            return response;
+        } finally {
+            stats.record(33, start, event, playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.isBankOwner(name, player);
+            return response;
+        } finally {
+            stats.record(34, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, String playerName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.isBankMember(name, playerName);
+            return response;
+        } finally {
+            stats.record(35, start, event, playerName, null, response);
+        }
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        EconomyResponse response = null;
+        try {
+            response = provider.isBankMember(name, player);
+            return response;
+        } finally {
+            stats.record(36, start, event, player, null, response);
+        }
+    }
+
+    @Override
+    public List<String> getBanks() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getBanks();
+        } finally {
+            stats.record(37, start, event);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.createPlayerAccount(playerName);
+        } finally {
+            stats.record(38, start, event, playerName, null, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.createPlayerAccount(player);
+        } finally {
+            stats.record(39, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.createPlayerAccount(playerName, worldName);
+        } finally {
+            stats.record(40, start, event, playerName, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean createPlayerAccount(OfflinePlayer player, String worldName) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.createPlayerAccount(player, worldName);
+        } finally {
+            stats.record(41, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public BalanceMap getBalances(Collection<? extends OfflinePlayer> players, String world) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return BulkEconomy.getBalances(provider, players, world);
+        } finally {
+            stats.record(42, start, event, null, world, null);
+        }
+    }
+}
@@ -0,0 +1,737 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.BitSet;
+import java.util.List;
+
+import net.milkbowl.vault.bulk.BulkPermission;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Passes every call on to a permission hook and times it. Every method is
+ * passed on, not only the abstract ones, since hooks override the player
+ * variants too.
+ */
+public class InstrumentedPermission extends Permission implements BulkPermission, Instrumented {
+
+    /**
+     * The methods timed, in the order of the numbers passed to
+     * {@link ProviderStats#record(int, long, Object)}.
+     */
+    static final String[] METHODS = {
+        "isEnabled()",
+        "hasSuperPermsCompat()",
+        "has(String, String, String)",
+        "has(World, String, String)",
+        "has(CommandSender, String)",
+        "has(Player, String)",
+        "playerHas(String, String, String)",
+        "playerHas(World, String, String)",
+        "playerHas(String, OfflinePlayer, String)",
+        "playerHas(Player, String)",
+        "playerAdd(String, String, String)",
+        "playerAdd(World, String, String)",
+        "playerAdd(String, OfflinePlayer, String)",
+        "playerAdd(Player, String)",
+        "playerRemove(String, String, String)",
+        "playerRemove(World, String, String)",
+        "playerRemove(String, OfflinePlayer, String)",
+        "playerRemove(Player, String)",
+        "playerInGroup(String, String, String)",
+        "playerInGroup(World, String, String)",
+        "playerInGroup(String, OfflinePlayer, String)",
+        "playerInGroup(Player, String)",
+        "playerAddGroup(String, String, String)",
+        "playerAddGroup(World, String, String)",
+        "playerAddGroup(String, OfflinePlayer, String)",
+        "playerAddGroup(Player, String)",
+        "playerRemoveGroup(String, String, String)",
+        "playerRemoveGroup(World, String, String)",
+        "playerRemoveGroup(String, OfflinePlayer, String)",
+        "playerRemoveGroup(Player, String)",
+        "playerAddTransient(OfflinePlayer, String)",
+        "playerAddTransient(Player, String)",
+        "playerAddTransient(String, OfflinePlayer, String)",
+        "playerAddTransient(String, Player, String)",
+        "playerRemoveTransient(OfflinePlayer, String)",
+        "playerRemoveTransient(Player, String)",
+        "playerRemoveTransient(String, OfflinePlayer, String)",
+        "playerRemoveTransient(String, Player, String)",
+        "groupHas(String, String, String)",
+        "groupHas(World, String, String)",
+        "groupAdd(String, String, String)",
+        "groupAdd(World, String, String)",
+        "groupRemove(String, String, String)",
+        "groupRemove(World, String, String)",
+        "getPlayerGroups(String, String)",
+        "getPlayerGroups(World, String)",
+        "getPlayerGroups(String, OfflinePlayer)",
+        "getPlayerGroups(Player)",
+        "getPrimaryGroup(String, String)",
+        "getPrimaryGroup(World, String)",
+        "getPrimaryGroup(String, OfflinePlayer)",
+        "getPrimaryGroup(Player)",
+        "getGroups()",
+        "hasGroupSupport()",
+        "playerHas(String, OfflinePlayer, List)",
+        "playersHave(String, List, String)",
+    };
+
+    private final Permission provider;
+    private final ProviderStats stats;
+
+    InstrumentedPermission(Permission permission, ProviderStats stats) {
+        this.provider = permission;
+        this.stats = stats;
+    }
+
+    @Override
+    public Permission getProvider() {
+        return provider;
+    }
+
+    @Override
+    public ProviderStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String getName() {
+        return provider.getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.isEnabled();
+        } finally {
+            stats.record(0, start, event);
+        }
+    }
+
+    @Override
+    public boolean hasSuperPermsCompat() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasSuperPermsCompat();
+        } finally {
+            stats.record(1, start, event);
+        }
+    }
+
+    @Override
+    public boolean has(String world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(world, player, permission);
+        } finally {
+            stats.record(2, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean has(World world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(world, player, permission);
+        } finally {
+            stats.record(3, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean has(CommandSender sender, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(sender, permission);
+        } finally {
+            stats.record(4, start, event, sender, null, null);
+        }
+    }
+
+    @Override
+    public boolean has(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.has(player, permission);
+        } finally {
+            stats.record(5, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerHas(String world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerHas(world, player, permission);
+        } finally {
+            stats.record(6, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerHas(World world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerHas(world, player, permission);
+        } finally {
+            stats.record(7, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerHas(String world, OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerHas(world, player, permission);
+        } finally {
+            stats.record(8, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerHas(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerHas(player, permission);
+        } finally {
+            stats.record(9, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(String world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAdd(world, player, permission);
+        } finally {
+            stats.record(10, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(World world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAdd(world, player, permission);
+        } finally {
+            stats.record(11, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(String world, OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAdd(world, player, permission);
+        } finally {
+            stats.record(12, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAdd(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAdd(player, permission);
+        } finally {
+            stats.record(13, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(String world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemove(world, player, permission);
+        } finally {
+            stats.record(14, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(World world, String player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemove(world, player, permission);
+        } finally {
+            stats.record(15, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(String world, OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemove(world, player, permission);
+        } finally {
+            stats.record(16, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemove(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemove(player, permission);
+        } finally {
+            stats.record(17, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(String world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(18, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(World world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(19, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(String world, OfflinePlayer player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(world, player, group);
+        } finally {
+            stats.record(20, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerInGroup(Player player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerInGroup(player, group);
+        } finally {
+            stats.record(21, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddGroup(world, player, group);
+        } finally {
+            stats.record(22, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(World world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddGroup(world, player, group);
+        } finally {
+            stats.record(23, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(String world, OfflinePlayer player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddGroup(world, player, group);
+        } finally {
+            stats.record(24, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddGroup(Player player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddGroup(player, group);
+        } finally {
+            stats.record(25, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveGroup(world, player, group);
+        } finally {
+            stats.record(26, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(World world, String player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveGroup(world, player, group);
+        } finally {
+            stats.record(27, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(String world, OfflinePlayer player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveGroup(world, player, group);
+        } finally {
+            stats.record(28, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveGroup(Player player, String group) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveGroup(player, group);
+        } finally {
+            stats.record(29, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddTransient(player, permission);
+        } finally {
+            stats.record(30, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddTransient(player, permission);
+        } finally {
+            stats.record(31, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddTransient(worldName, player, permission);
+        } finally {
+            stats.record(32, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean playerAddTransient(String worldName, Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerAddTransient(worldName, player, permission);
+        } finally {
+            stats.record(33, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveTransient(player, permission);
+        } finally {
+            stats.record(34, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveTransient(player, permission);
+        } finally {
+            stats.record(35, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, OfflinePlayer player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveTransient(worldName, player, permission);
+        } finally {
+            stats.record(36, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean playerRemoveTransient(String worldName, Player player, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.playerRemoveTransient(worldName, player, permission);
+        } finally {
+            stats.record(37, start, event, player, worldName, null);
+        }
+    }
+
+    @Override
+    public boolean groupHas(String world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupHas(world, group, permission);
+        } finally {
+            stats.record(38, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean groupHas(World world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupHas(world, group, permission);
+        } finally {
+            stats.record(39, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean groupAdd(String world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupAdd(world, group, permission);
+        } finally {
+            stats.record(40, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean groupAdd(World world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupAdd(world, group, permission);
+        } finally {
+            stats.record(41, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean groupRemove(String world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupRemove(world, group, permission);
+        } finally {
+            stats.record(42, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public boolean groupRemove(World world, String group, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.groupRemove(world, group, permission);
+        } finally {
+            stats.record(43, start, event, null, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(44, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(45, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(world, player);
+        } finally {
+            stats.record(46, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String[] getPlayerGroups(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPlayerGroups(player);
+        } finally {
+            stats.record(47, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(48, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(World world, String player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(49, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(String world, OfflinePlayer player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(world, player);
+        } finally {
+            stats.record(50, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public String getPrimaryGroup(Player player) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getPrimaryGroup(player);
+        } finally {
+            stats.record(51, start, event, player, null, null);
+        }
+    }
+
+    @Override
+    public String[] getGroups() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.getGroups();
+        } finally {
+            stats.record(52, start, event);
+        }
+    }
+
+    @Override
+    public boolean hasGroupSupport() {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return provider.hasGroupSupport();
+        } finally {
+            stats.record(53, start, event);
+        }
+    }
+
+    @Override
+    public BitSet playerHas(String world, OfflinePlayer player, List<String> permissions) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return BulkPermission.playerHas(provider, world, player, permissions);
+        } finally {
+            stats.record(54, start, event, player, world, null);
+        }
+    }
+
+    @Override
+    public BitSet playersHave(String world, List<? extends OfflinePlayer> players, String permission) {
+        long start = System.nanoTime();
+        Object event = stats.begin();
+        try {
+            return BulkPermission.playersHave(provider, world, players, permission);
+        } finally {
+            stats.record(55, start, event, null, world, null);
+        }
+    }
+}
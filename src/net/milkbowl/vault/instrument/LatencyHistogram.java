@@ -0,0 +1,125 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram in the style of HdrHistogram. Values below 64ns are
+ * counted exactly and larger ones in 32 buckets per power of two, so any
+ * value read back is within about 3% of the one recorded. Recording is one
+ * atomic increment, plus a compare-and-set whenever a new maximum is seen,
+ * so any number of threads can record at once without locking.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Slower calls, about 68 seconds and up, all go in the last bucket
+    private static final long HIGHEST = (1L << 36) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(HIGHEST) + 1);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos the duration of one call
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(index(Math.min(nanos, HIGHEST)));
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Copies the counts. Calls recorded while copying may or may not be in
+     * the copy, and the maximum may be from a slightly later call.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, max.get());
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @return the highest value counted in the bucket
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the value at or below which the given percentage of the
+         *         calls fall, in nanoseconds
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long wanted = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= wanted) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
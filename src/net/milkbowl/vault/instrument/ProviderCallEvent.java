@@ -0,0 +1,59 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call into a provider, for Java Flight Recorder. The event begins
+ * before the call and ends when it returns, so its start time and duration
+ * are the call's own. It is off unless a recording's settings turn on
+ * net.milkbowl.vault.ProviderCall.
+ */
+@Name("net.milkbowl.vault.ProviderCall")
+@Label("Vault Provider Call")
+@Category("Vault")
+@Description("A call into an economy, permission or chat provider")
+@Enabled(false)
+@StackTrace(false)
+class ProviderCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Provider")
+    @Description("The class name of Vault's hook")
+    String provider;
+
+    @Label("Method")
+    String method;
+
+    @Label("Player")
+    String player;
+
+    @Label("World")
+    String world;
+
+    @Label("Result")
+    @Description("The response type of economy calls that return one")
+    String result;
+}
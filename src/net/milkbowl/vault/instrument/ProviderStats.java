@@ -0,0 +1,164 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.milkbowl.vault.economy.EconomyResponse;
+
+/**
+ * Call counts and latencies for each method of one provider. A method's
+ * histogram is only created on its first call, as plugins tend to use a
+ * handful of the methods a provider has.
+ */
+public class ProviderStats {
+
+    private final String service;
+    private final String[] methods;
+    private final AtomicReferenceArray<LatencyHistogram> histograms;
+    private final CallerSampler callers;
+    private final SlowCallWatchdog watchdog;
+    private final boolean events;
+    private final String hook;
+    private final String[] qualified;
+    private final String[] hookMethods;
+
+    /**
+     * @param hook the class name of the hook, for slow call reports and events
+     * @param callers where to sample the calling plugins, or null to not
+     * @param watchdog where to report slow calls, or null to not
+     * @param events whether to commit Flight Recorder events
+     */
+    ProviderStats(String service, String hook, String[] methods, CallerSampler callers, SlowCallWatchdog watchdog, boolean events) {
+        this.service = service;
+        this.hook = hook;
+        this.methods = methods;
+        this.histograms = new AtomicReferenceArray<LatencyHistogram>(methods.length);
+        this.callers = callers;
+        this.watchdog = watchdog;
+        this.events = events;
+        this.qualified = new String[methods.length];
+        this.hookMethods = new String[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            qualified[i] = service + "." + methods[i];
+            hookMethods[i] = hook + "." + methods[i];
+        }
+    }
+
+    /**
+     * @return Economy, Permission or Chat
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Begins the Flight Recorder event for a call about to be made.
+     * @return what to pass to record once the call returns
+     */
+    public Object begin() {
+        return events ? FlightRecorderEvents.begin() : null;
+    }
+
+    /**
+     * Records a call that has just returned or thrown.
+     * @param method the method's index in the decorator's method list
+     * @param start the System.nanoTime() the call started at
+     * @param event what {@link #begin()} returned before the call
+     */
+    public void record(int method, long start, Object event) {
+        record(method, start, event, null, null, null);
+    }
+
+    /**
+     * Records a call that has just returned or thrown.
+     * @param method the method's index in the decorator's method list
+     * @param start the System.nanoTime() the call started at
+     * @param event what {@link #begin()} returned before the call
+     * @param player the player or player name the call was about, if any
+     * @param world the world or world name the call was about, if any
+     * @param response what an economy call returned, if it did
+     */
+    public void record(int method, long start, Object event, Object player, Object world, EconomyResponse response) {
+        long elapsed = System.nanoTime() - start;
+        LatencyHistogram histogram;
+        while ((histogram = histograms.get(method)) == null) {
+            histograms.compareAndSet(method, null, new LatencyHistogram());
+        }
+        histogram.record(elapsed);
+        if (callers != null) {
+            callers.sample(qualified[method], elapsed);
+        }
+        if (watchdog != null) {
+            watchdog.check(hookMethods[method], elapsed);
+        }
+        if (event != null) {
+            FlightRecorderEvents.commit(event, service, hook, methods[method], player, world, response);
+        }
+    }
+
+    /**
+     * @return the methods called so far with their numbers, most called first
+     */
+    public List<MethodStats> getMethods() {
+        List<MethodStats> called = new ArrayList<MethodStats>();
+        for (int i = 0; i < methods.length; i++) {
+            LatencyHistogram histogram = histograms.get(i);
+            if (histogram != null) {
+                called.add(new MethodStats(methods[i], histogram.snapshot()));
+            }
+        }
+        Collections.sort(called, new Comparator<MethodStats>() {
+            @Override
+            public int compare(MethodStats a, MethodStats b) {
+                return Long.compare(b.getSnapshot().getCount(), a.getSnapshot().getCount());
+            }
+        });
+        return called;
+    }
+
+    /**
+     * Forgets everything recorded so far. Calls in progress may still be
+     * counted.
+     */
+    public void reset() {
+        for (int i = 0; i < methods.length; i++) {
+            histograms.set(i, null);
+        }
+    }
+
+    public static class MethodStats {
+        private final String method;
+        private final LatencyHistogram.Snapshot snapshot;
+
+        MethodStats(String method, LatencyHistogram.Snapshot snapshot) {
+            this.method = method;
+            this.snapshot = snapshot;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public LatencyHistogram.Snapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+}
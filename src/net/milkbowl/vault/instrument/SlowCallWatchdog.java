@@ -0,0 +1,222 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+
+/**
+ * Catches provider calls on the server thread that take longer than a
+ * threshold. Each hook method and calling line is logged with its stack the
+ * first time it is slow, and after that at most once a minute with how often
+ * it was slow in between. Calls off the server thread or under the threshold
+ * cost one comparison.
+ */
+public class SlowCallWatchdog {
+
+    private static final long LOG_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_CALLS = 256;
+    private static final int MAX_FRAMES = 16;
+
+    private final Logger log;
+    private final long threshold;
+    private final Map<String, SlowCall> calls = new HashMap<String, SlowCall>();
+    private long dropped;
+
+    /**
+     * @param threshold the duration in nanoseconds from which a call is slow
+     */
+    public SlowCallWatchdog(Logger log, long threshold) {
+        this.log = log;
+        this.threshold = threshold;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @param method the hook and method called, e.g. Economy_iConomy6.getBalance(OfflinePlayer)
+     * @param nanos how long the call took
+     */
+    public void check(String method, long nanos) {
+        if (nanos < threshold || !Bukkit.isPrimaryThread()) {
+            return;
+        }
+        StackTraceElement[] stack = callerStack();
+        String caller = stack.length == 0 ? "unknown" : stack[0].toString();
+        String key = method + " from " + caller;
+        long now = System.nanoTime();
+        synchronized (this) {
+            SlowCall call = calls.get(key);
+            if (call == null) {
+                if (calls.size() >= MAX_CALLS) {
+                    dropped++;
+                    return;
+                }
+                call = new SlowCall(method, caller, stack);
+                calls.put(key, call);
+                call.record(nanos);
+                call.logged(now);
+                StringBuilder trace = new StringBuilder();
+                for (StackTraceElement frame : stack) {
+                    trace.append("\n\tat ").append(frame);
+                }
+                log.warning(String.format("[Slow call] %s took %s on the server thread%s", method, Instrumentation.format(nanos), trace));
+                return;
+            }
+            call.record(nanos);
+            if (now - call.lastLogged >= LOG_INTERVAL) {
+                log.warning(String.format("[Slow call] %s from %s was slow %d more times, worst %s", method, caller, call.sinceLogged, Instrumentation.format(call.sinceLoggedMax)));
+                call.logged(now);
+            }
+        }
+    }
+
+    /**
+     * @return the stack below the hook call, starting at the line that made it
+     */
+    private static StackTraceElement[] callerStack() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        int first = 0;
+        while (first < stack.length && isWrapper(stack[first].getClassName())) {
+            first++;
+        }
+        return Arrays.copyOfRange(stack, first, Math.min(stack.length, first + MAX_FRAMES));
+    }
+
+    /**
+     * @return true for Vault's instrumentation, cache and lazy hook classes,
+     *         which only pass the call on
+     */
+    private static boolean isWrapper(String className) {
+        return className.startsWith("net.milkbowl.vault.instrument.")
+                || className.startsWith("net.milkbowl.vault.cache.")
+                || className.startsWith("net.milkbowl.vault.lazy.");
+    }
+
+    /**
+     * @return every slow call seen, most time spent first
+     */
+    public synchronized List<SlowCall> getCalls() {
+        List<SlowCall> sorted = new ArrayList<SlowCall>(calls.size());
+        for (SlowCall call : calls.values()) {
+            sorted.add(call.copy());
+        }
+        Collections.sort(sorted, new Comparator<SlowCall>() {
+            @Override
+            public int compare(SlowCall a, SlowCall b) {
+                return Long.compare(b.total, a.total);
+            }
+        });
+        return sorted;
+    }
+
+    /**
+     * @return how many slow calls were not kept, as too many different ones
+     *         were seen already
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized void reset() {
+        calls.clear();
+        dropped = 0;
+    }
+
+    /**
+     * One hook method called slowly from one place.
+     */
+    public static class SlowCall {
+        private final String method;
+        private final String caller;
+        private final StackTraceElement[] stack;
+        private long count;
+        private long total;
+        private long max;
+        private long sinceLogged;
+        private long sinceLoggedMax;
+        private long lastLogged;
+
+        SlowCall(String method, String caller, StackTraceElement[] stack) {
+            this.method = method;
+            this.caller = caller;
+            this.stack = stack;
+        }
+
+        void record(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+            sinceLogged++;
+            sinceLoggedMax = Math.max(sinceLoggedMax, nanos);
+        }
+
+        void logged(long now) {
+            lastLogged = now;
+            sinceLogged = 0;
+            sinceLoggedMax = 0;
+        }
+
+        SlowCall copy() {
+            SlowCall copy = new SlowCall(method, caller, stack);
+            copy.count = count;
+            copy.total = total;
+            copy.max = max;
+            return copy;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the line the call was made from
+         */
+        public String getCaller() {
+            return caller;
+        }
+
+        /**
+         * @return the stack the first time the call was slow
+         */
+        public StackTraceElement[] getStack() {
+            return stack.clone();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
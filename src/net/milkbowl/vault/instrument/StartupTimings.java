@@ -0,0 +1,194 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.instrument;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * How long each step of Vault's startup took: every hook tried, split into
+ * looking for the backend and making the hook, and the other steps timed,
+ * such as saving the config. Written to the log as a table and to a JSON
+ * file, and shown by /vault-stats startup.
+ */
+public class StartupTimings {
+
+    public enum Result {
+        /** A step other than a hook */
+        DONE,
+        HOOKED,
+        /** Registered to be made on first use, see LazyEconomy */
+        OUTRANKED,
+        NOT_INSTALLED,
+        FAILED
+    }
+
+    private final long started = System.nanoTime();
+    private final List<Step> steps = new ArrayList<Step>();
+    private long total;
+
+    /**
+     * Records a step that began at start, by System.nanoTime, and ends now.
+     */
+    public void step(String name, long start) {
+        steps.add(new Step(null, name, Result.DONE, 0, System.nanoTime() - start));
+    }
+
+    /**
+     * @param service Economy, Permission or Chat
+     * @param probeNanos how long looking for the backend's classes took
+     * @param makeNanos how long making and registering the hook took
+     */
+    public void hook(String service, String name, Result result, long probeNanos, long makeNanos) {
+        steps.add(new Step(service, name, result, probeNanos, makeNanos));
+    }
+
+    /**
+     * Marks the end of startup.
+     */
+    public void finish() {
+        total = System.nanoTime() - started;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return how long the failed hooks took, all of it wasted
+     */
+    public long getWastedNanos() {
+        long wasted = 0;
+        for (Step step : steps) {
+            if (step.result == Result.FAILED) {
+                wasted += step.probeNanos + step.makeNanos;
+            }
+        }
+        return wasted;
+    }
+
+    /**
+     * @return the report as lines of a table, hooks whose backend is not
+     *         installed summed up in one line
+     */
+    public List<String> toTable() {
+        List<String> lines = new ArrayList<String>();
+        lines.add(String.format("%-40s %-13s %9s %9s", "Step", "Result", "Probe", "Time"));
+        int missing = 0;
+        long missingNanos = 0;
+        int failed = 0;
+        for (Step step : steps) {
+            if (step.result == Result.NOT_INSTALLED) {
+                missing++;
+                missingNanos += step.probeNanos;
+                continue;
+            } else if (step.result == Result.FAILED) {
+                failed++;
+            }
+            String name = step.service == null ? step.name : "[" + step.service + "] " + step.name;
+            lines.add(String.format("%-40s %-13s %9s %9s", name, step.result == Result.DONE ? "" : step.result.name().toLowerCase(Locale.ROOT),
+                    step.service == null ? "" : Instrumentation.format(step.probeNanos), Instrumentation.format(step.makeNanos)));
+        }
+        lines.add(String.format("%d hooks not installed, probing for them took %s", missing, Instrumentation.format(missingNanos)));
+        if (failed > 0) {
+            lines.add(String.format("%d hooks failed, wasting %s", failed, Instrumentation.format(getWastedNanos())));
+        }
+        lines.add(String.format("Enabling Vault took %s", Instrumentation.format(total)));
+        return lines;
+    }
+
+    @SuppressWarnings("unchecked")
+    public JSONObject toJson() {
+        JSONArray list = new JSONArray();
+        for (Step step : steps) {
+            JSONObject json = new JSONObject();
+            if (step.service != null) {
+                json.put("service", step.service);
+                json.put("probe-nanos", step.probeNanos);
+            }
+            json.put("name", step.name);
+            json.put("result", step.result.name().toLowerCase(Locale.ROOT));
+            json.put("nanos", step.makeNanos);
+            list.add(json);
+        }
+        JSONObject json = new JSONObject();
+        json.put("total-nanos", total);
+        json.put("wasted-nanos", getWastedNanos());
+        json.put("steps", list);
+        return json;
+    }
+
+    public void save(File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        try {
+            writer.write(toJson().toJSONString());
+        } finally {
+            writer.close();
+        }
+    }
+
+    public static class Step {
+        private final String service;
+        private final String name;
+        private final Result result;
+        private final long probeNanos;
+        private final long makeNanos;
+
+        Step(String service, String name, Result result, long probeNanos, long makeNanos) {
+            this.service = service;
+            this.name = name;
+            this.result = result;
+            this.probeNanos = probeNanos;
+            this.makeNanos = makeNanos;
+        }
+
+        /**
+         * @return Economy, Permission or Chat for a hook, null for other steps
+         */
+        public String getService() {
+            return service;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Result getResult() {
+            return result;
+        }
+
+        public long getProbeNanos() {
+            return probeNanos;
+        }
+
+        /**
+         * @return how long making the hook took, or the whole step for others
+         */
+        public long getNanos() {
+            return makeNanos;
+        }
+    }
+}
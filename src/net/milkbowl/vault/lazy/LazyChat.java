@@ -0,0 +1,79 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.lazy;
+
+import java.util.concurrent.Callable;
+
+import net.milkbowl.vault.cache.ForwardingChat;
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.permission.Permission;
+
+/**
+ * A chat hook that another hook outranks, registered without being made.
+ * The hook is made, loading its backend's classes and registering its
+ * listeners, the first time it is called for anything but its name, or
+ * when the hooks above it are gone or disabled. It goes by the name it was
+ * found under throughout, so conversions, config and stats keep matching it.
+ */
+public class LazyChat extends ForwardingChat implements LazyHook {
+
+    private final String name;
+    private final Loader<Chat> loader;
+
+    /**
+     * @param name the name the hook was found under
+     * @param factory makes the hook, or returns null if it could not
+     */
+    public LazyChat(String name, Permission perms, Callable<Chat> factory) {
+        super(null, perms);
+        this.name = name;
+        this.loader = new Loader<Chat>("Chat", name, this, factory);
+    }
+
+    @Override
+    public Chat getProvider() {
+        return loader.get();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return loader.getIfLoaded() != null;
+    }
+
+    @Override
+    public boolean load() {
+        try {
+            loader.get();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return false until the hook is made, so asking does not make it
+     */
+    @Override
+    public boolean isEnabled() {
+        Chat provider = loader.getIfLoaded();
+        return provider != null && provider.isEnabled();
+    }
+}
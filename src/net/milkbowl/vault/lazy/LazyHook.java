@@ -0,0 +1,35 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.lazy;
+
+/**
+ * A proxy registered for a hook that is not made yet.
+ */
+interface LazyHook {
+
+    /**
+     * @return true once the hook is made
+     */
+    boolean isLoaded();
+
+    /**
+     * Makes the hook now, on the main thread.
+     * @return false if it could not be made
+     */
+    boolean load();
+
+    boolean isEnabled();
+}
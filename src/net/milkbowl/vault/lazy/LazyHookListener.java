@@ -0,0 +1,112 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.lazy;
+
+import net.milkbowl.vault.chat.Chat;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.permission.Permission;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+
+/**
+ * Makes the outranked hooks that would now be picked. Plugins take the
+ * first registration, or the first one that is enabled, so once the hooks
+ * above a lazy one are unregistered or their backend is disabled, the lazy
+ * one is made, and the ones below it too until one is enabled.
+ */
+public class LazyHookListener implements Listener {
+
+    private final Plugin plugin;
+    private boolean pending;
+
+    public LazyHookListener(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != plugin) {
+            check();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        Class<?> service = event.getProvider().getService();
+        if (service == Economy.class || service == Permission.class || service == Chat.class) {
+            check();
+        }
+    }
+
+    /**
+     * Checks on the next tick, after the hooks have seen the event too.
+     */
+    private void check() {
+        if (pending || !plugin.isEnabled()) {
+            return;
+        }
+        pending = true;
+        try {
+            Bukkit.getScheduler().runTask(plugin, new Runnable() {
+                @Override
+                public void run() {
+                    pending = false;
+                    promote(Economy.class);
+                    promote(Permission.class);
+                    promote(Chat.class);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Vault is being disabled
+            pending = false;
+        }
+    }
+
+    private static void promote(Class<?> service) {
+        for (RegisteredServiceProvider<?> registration : Bukkit.getServicesManager().getRegistrations(service)) {
+            Object provider = registration.getProvider();
+            if (provider instanceof LazyHook) {
+                LazyHook lazy = (LazyHook) provider;
+                if (!lazy.isLoaded() && !lazy.load()) {
+                    continue;
+                }
+                if (lazy.isEnabled()) {
+                    return;
+                }
+            } else if (isEnabled(provider)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isEnabled(Object provider) {
+        if (provider instanceof Economy) {
+            return ((Economy) provider).isEnabled();
+        } else if (provider instanceof Permission) {
+            return ((Permission) provider).isEnabled();
+        } else if (provider instanceof Chat) {
+            return ((Chat) provider).isEnabled();
+        }
+        return false;
+    }
+}
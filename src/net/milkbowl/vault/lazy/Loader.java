@@ -0,0 +1,134 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.lazy;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Makes a hook the first time it is asked for, once. Hooks register
+ * listeners and call into their backend when made, so they are only made on
+ * the main thread; a call from another thread before then waits for the
+ * main thread to make it.
+ */
+class Loader<T> {
+
+    private static final long WAIT_SECONDS = 10;
+
+    private final String service;
+    private final String name;
+    private final Object proxy;
+    private Callable<T> factory;
+    private volatile T provider;
+    private volatile boolean failed;
+
+    /**
+     * @param service Economy, Permission or Chat, for the log
+     * @param name the name the hook was found under, for the log
+     * @param proxy the registered proxy, unregistered if the hook cannot be made
+     */
+    Loader(String service, String name, Object proxy, Callable<T> factory) {
+        this.service = service;
+        this.name = name;
+        this.proxy = proxy;
+        this.factory = factory;
+    }
+
+    /**
+     * @throws IllegalStateException if the hook could not be made, or the
+     *         main thread did not get to making it in time
+     */
+    T get() {
+        T loaded = provider;
+        if (loaded != null) {
+            return loaded;
+        } else if (!failed && !Bukkit.isPrimaryThread()) {
+            return await();
+        }
+        synchronized (this) {
+            if (provider == null && !failed) {
+                try {
+                    provider = factory.call();
+                } catch (Exception e) {
+                    JavaPlugin.getProvidingPlugin(Loader.class).getLogger().log(Level.SEVERE, String.format("[%s] There was an error hooking %s - check to make sure you're using a compatible version!", service, name), e);
+                }
+                failed = provider == null;
+                // Let go of the factory and whatever it holds on to
+                factory = null;
+                if (failed) {
+                    // So plugins looking for a provider pass over it
+                    Bukkit.getServicesManager().unregister(proxy);
+                }
+            }
+            if (failed) {
+                throw new IllegalStateException(String.format("[%s] %s could not be hooked", service, name));
+            }
+            return provider;
+        }
+    }
+
+    /**
+     * Has the main thread make the hook and waits for it.
+     */
+    private T await() {
+        Future<T> future;
+        try {
+            future = Bukkit.getScheduler().callSyncMethod(JavaPlugin.getProvidingPlugin(Loader.class), new Callable<T>() {
+                @Override
+                public T call() {
+                    return get();
+                }
+            });
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(String.format("[%s] %s is not hooked and Vault is being disabled", service, name), e);
+        }
+        try {
+            return future.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalStateException) {
+                throw (IllegalStateException) e.getCause();
+            }
+            throw new IllegalStateException(String.format("[%s] %s could not be hooked", service, name), e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException(String.format("[%s] %s is not hooked yet, the main thread did not get to it in %d seconds", service, name, WAIT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("[%s] Interrupted waiting for %s to be hooked", service, name), e);
+        }
+    }
+
+    /**
+     * @return the hook, or null if it is not made yet
+     */
+    T getIfLoaded() {
+        return provider;
+    }
+
+    /**
+     * @return true if making the hook was tried and failed
+     */
+    boolean isFailed() {
+        return failed;
+    }
+}
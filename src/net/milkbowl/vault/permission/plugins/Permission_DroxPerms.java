@@ -2,9 +2,9 @@ package net.milkbowl.vault.permission.plugins;
 
 import java.util.ArrayList;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -36,7 +36,7 @@ public class Permission_DroxPerms extends Permission {
             }
         }
 
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), "DroxPerms");
     }
 
     public class PermissionServerListener implements Listener {
@@ -34,6 +34,7 @@ import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.Plugin;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
 public class Permission_GroupManager extends Permission {
@@ -43,7 +44,7 @@ public class Permission_GroupManager extends Permission {
 
     public Permission_GroupManager(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "GroupManager");
 
         // Load Plugin in case it was loaded before
         if (groupManager == null) {
@@ -15,9 +15,9 @@
  */
 package net.milkbowl.vault.permission.plugins;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -40,7 +40,7 @@ public class Permission_KPerms extends Permission {
     public Permission_KPerms(Plugin plugin) {
         super();
         this.vault = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), vault);
+        PluginHooks.register(vault, new PermissionServerListener(this), "KPerms");
         if (kperms == null) {
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("KPerms");
             if (perms != null && perms.isEnabled()) {
@@ -14,9 +14,9 @@ package net.milkbowl.vault.permission.plugins;
 
 import java.util.ArrayList;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -37,7 +37,7 @@ public class Permission_OverPermissions extends Permission {
 
     public Permission_OverPermissions(Plugin plugin) {
         super.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "OverPermissions");
 
         if (overPerms == null) {
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("OverPermissions");
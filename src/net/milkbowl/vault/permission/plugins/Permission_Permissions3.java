@@ -18,6 +18,7 @@ package net.milkbowl.vault.permission.plugins;
 import java.util.HashSet;
 import java.util.Set;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
 import org.bukkit.Bukkit;
@@ -43,7 +44,7 @@ public class Permission_Permissions3 extends Permission {
 
     public Permission_Permissions3(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), "Permissions", "vPerms");
 
         // Load Plugin in case it was loaded before
         if (permission == null) {
@@ -18,6 +18,7 @@ package net.milkbowl.vault.permission.plugins;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
 import org.bukkit.Bukkit;
@@ -39,7 +40,7 @@ public class Permission_PermissionsBukkit extends Permission {
 
     public Permission_PermissionsBukkit(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "PermissionsBukkit");
 
         // Load Plugin in case it was loaded before
         if (perms == null) {
@@ -15,11 +15,13 @@
  */
 package net.milkbowl.vault.permission.plugins;
 
+import java.util.BitSet;
 import java.util.List;
 
+import net.milkbowl.vault.PluginHooks;
+import net.milkbowl.vault.bulk.BulkPermission;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -33,14 +35,14 @@ import ru.tehkode.permissions.PermissionGroup;
 import ru.tehkode.permissions.PermissionUser;
 import ru.tehkode.permissions.bukkit.PermissionsEx;
 
-public class Permission_PermissionsEx extends Permission {
+public class Permission_PermissionsEx extends Permission implements BulkPermission {
 
     private final String name = "PermissionsEx";
     private PermissionsEx permission = null;
 
     public Permission_PermissionsEx(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "PermissionsEx");
 
         // Load Plugin in case it was loaded before
         if (permission == null) {
@@ -293,6 +295,33 @@ public class Permission_PermissionsEx extends Permission {
         }
     }
 
+    @Override
+    public BitSet playerHas(String worldName, OfflinePlayer op, List<String> permissions) {
+        // One user lookup for all nodes
+        PermissionUser user = getUser(op);
+        BitSet has = new BitSet(permissions.size());
+        if (user != null) {
+            for (int i = 0; i < permissions.size(); i++) {
+                if (user.has(permissions.get(i), worldName)) {
+                    has.set(i);
+                }
+            }
+        }
+        return has;
+    }
+
+    @Override
+    public BitSet playersHave(String worldName, List<? extends OfflinePlayer> players, String permission) {
+        BitSet have = new BitSet(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            PermissionUser user = getUser(players.get(i));
+            if (user != null && user.has(permission, worldName)) {
+                have.set(i);
+            }
+        }
+        return have;
+    }
+
     @Override
     public boolean playerHas(String worldName, String playerName, String permission) {
         PermissionUser user = getUser(playerName);
@@ -2,8 +2,9 @@ package net.milkbowl.vault.permission.plugins;
 
 import net.krinsoft.privileges.Privileges;
 import net.krinsoft.privileges.groups.Group;
+import net.milkbowl.vault.NameResolver;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -23,7 +24,7 @@ public class Permission_Privileges extends Permission {
 
     public Permission_Privileges(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "Privileges");
         // Load service in case it was loaded before
         if (privs == null) {
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("Privileges");
@@ -111,7 +112,10 @@ public class Permission_Privileges extends Permission {
 
     @Override
     public boolean playerInGroup(String world, String player, String group) {
-        OfflinePlayer p = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer p = NameResolver.getOfflinePlayer(player);
+        if (p == null) {
+            return false;
+        }
         Group g = privs.getGroupManager().getGroup(p);
         return g != null && g.isMemberOf(group);
     }
@@ -130,9 +134,9 @@ public class Permission_Privileges extends Permission {
 
     @Override
     public String[] getPlayerGroups(String world, String player) {
-        OfflinePlayer p = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer p = NameResolver.getOfflinePlayer(player);
         if (p == null) {
-            throw new UnsupportedOperationException("Privileges does not support offline players.");
+            return new String[0];
         }
         Group g = privs.getGroupManager().getGroup(p);
         return g != null ? g.getGroupTree().toArray(new String[g.getGroupTree().size()]) : null;
@@ -140,7 +144,10 @@ public class Permission_Privileges extends Permission {
 
     @Override
     public String getPrimaryGroup(String world, String player) {
-        OfflinePlayer p = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer p = NameResolver.getOfflinePlayer(player);
+        if (p == null) {
+            return null;
+        }
         Group g = privs.getGroupManager().getGroup(p);
         return g != null ? g.getName() : null;
     }
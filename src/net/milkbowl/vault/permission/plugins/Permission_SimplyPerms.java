@@ -22,9 +22,9 @@ import java.util.Map;
 
 import net.crystalyx.bukkit.simplyperms.SimplyAPI;
 import net.crystalyx.bukkit.simplyperms.SimplyPlugin;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -39,7 +39,7 @@ public class Permission_SimplyPerms extends Permission{
 
     public Permission_SimplyPerms(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "SimplyPerms");
         // Load service in case it was loaded before
         if (perms == null) {
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("SimplyPerms");
@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import net.milkbowl.vault.NameResolver;
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
 import org.bukkit.Bukkit;
@@ -43,7 +45,7 @@ public class Permission_Starburst extends Permission {
 
     public Permission_Starburst(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), "Starburst");
 
         // Load Plugin in case it was loaded before
         if (perms == null) {
@@ -97,7 +99,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public String[] getPlayerGroups(String world, String player) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return new String[0];
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -111,7 +116,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public String getPrimaryGroup(String world, String player) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return null;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -191,7 +199,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerAdd(String world, String player, String permission) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -207,7 +218,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerAddGroup(String world, String player, String group) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -230,7 +244,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerHas(String world, String player, String permission) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
 
         if (op.isOnline()) {
             Player p = (Player) op;
@@ -246,7 +263,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerInGroup(String world, String player, String group) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -260,7 +280,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerRemove(String world, String player, String permission) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
@@ -279,7 +302,10 @@ public class Permission_Starburst extends Permission {
 
     @Override
     public boolean playerRemoveGroup(String world, String player, String group) {
-        OfflinePlayer op = Bukkit.getOfflinePlayer(player);
+        OfflinePlayer op = NameResolver.getOfflinePlayer(player);
+        if (op == null) {
+            return false;
+        }
         GroupSet set = perms.getGroupManager().getWorldSet(Bukkit.getWorld(world));
         User user = set.getUser(op);
 
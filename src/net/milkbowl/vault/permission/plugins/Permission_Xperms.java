@@ -15,11 +15,11 @@
  */
 package net.milkbowl.vault.permission.plugins;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
 import com.github.sebc722.xperms.core.Main;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -34,7 +34,7 @@ public class Permission_Xperms extends Permission {
 
     public Permission_Xperms(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(this), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(this), "Xperms");
 
         if(perms == null){
             Plugin perms = plugin.getServer().getPluginManager().getPlugin("Xperms");
@@ -17,9 +17,9 @@ package net.milkbowl.vault.permission.plugins;
 
 import java.util.List;
 
+import net.milkbowl.vault.PluginHooks;
 import net.milkbowl.vault.permission.Permission;
 
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -39,7 +39,7 @@ public class Permission_bPermissions extends Permission {
 
     public Permission_bPermissions(Plugin plugin) {
         this.plugin = plugin;
-        Bukkit.getServer().getPluginManager().registerEvents(new PermissionServerListener(), plugin);
+        PluginHooks.register(plugin, new PermissionServerListener(), "bPermissions");
         
         // Load Plugin in case it was loaded before
         if (perms == null) {
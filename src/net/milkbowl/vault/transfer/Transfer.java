@@ -0,0 +1,235 @@
+/* This file is part of Vault.
+
+    Vault is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Lesser General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    Vault is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Lesser General Public License for more details.
+
+    You should have received a copy of the GNU Lesser General Public License
+    along with Vault.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.milkbowl.vault.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+import net.milkbowl.vault.AccountLocks;
+import net.milkbowl.vault.cache.CoalescingEconomy;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Moves money between any number of players as one operation: either every
+ * withdrawal and deposit goes through, or none does. Shops, auctions and
+ * payouts add their legs and call {@link #execute(Economy)} instead of
+ * withdrawing and depositing one by one and undoing by hand.
+ *
+ * Legs for the same player are added up first, so each account is written
+ * once. All legs are validated first: every player in the transfer must
+ * have an account, one check per account, before anything is written. The
+ * money is then taken before any is given, so a payer without the funds
+ * fails the transfer before anyone is paid, and if a write fails the ones
+ * already made are reversed. The accounts stay locked for the whole transfer, which keeps
+ * out other transfers and the hooks Vault locks itself, but not plugins
+ * calling a backend directly. Players the server has no name for are not
+ * locked, as hooks lock accounts by name.
+ */
+public class Transfer {
+
+    private final String world;
+    private final Map<UUID, Leg> legs = new LinkedHashMap<UUID, Leg>();
+
+    public Transfer() {
+        this(null);
+    }
+
+    /**
+     * @param world the world whose accounts to use, or null for the default
+     */
+    public Transfer(String world) {
+        this.world = world;
+    }
+
+    public Transfer withdraw(OfflinePlayer player, double amount) {
+        leg(player, amount).amount -= amount;
+        return this;
+    }
+
+    public Transfer deposit(OfflinePlayer player, double amount) {
+        leg(player, amount).amount += amount;
+        return this;
+    }
+
+    private Leg leg(OfflinePlayer player, double amount) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        } else if (!(amount > 0) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+        Leg leg = legs.get(player.getUniqueId());
+        if (leg == null) {
+            leg = new Leg(player);
+            legs.put(player.getUniqueId(), leg);
+        }
+        return leg;
+    }
+
+    /**
+     * Runs the transfer on the caller's thread, so call it where the economy
+     * may be called, or through AsyncEconomy.
+     */
+    public Result execute(Economy economy) {
+        List<Leg> order = new ArrayList<Leg>(legs.size());
+        List<String> names = new ArrayList<String>(legs.size());
+        for (Leg leg : legs.values()) {
+            if (leg.amount < 0) {
+                order.add(leg);
+            }
+            // The name the hooks lock the account by
+            String name = leg.player.getName();
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        for (Leg leg : legs.values()) {
+            if (leg.amount > 0) {
+                order.add(leg);
+            }
+        }
+        List<Lock> locks = AccountLocks.lockPlayers(names);
+        // Under write-behind every leg has to be written before the locks go,
+        // or a refused deposit would be neither undone nor reported
+        boolean writeThrough = CoalescingEconomy.setWriteThrough(true);
+        try {
+            for (Leg leg : order) {
+                String error = validate(economy, leg.player);
+                if (error != null) {
+                    return new Result(name(leg) + ": " + error, Collections.<OfflinePlayer>emptyList());
+                }
+            }
+            for (int i = 0; i < order.size(); i++) {
+                Leg leg = order.get(i);
+                String error = apply(economy, leg.player, leg.amount);
+                if (error != null) {
+                    return new Result(name(leg) + ": " + error, rollback(economy, order.subList(0, i)));
+                }
+            }
+            return new Result(null, Collections.<OfflinePlayer>emptyList());
+        } finally {
+            CoalescingEconomy.setWriteThrough(writeThrough);
+            AccountLocks.unlock(locks);
+        }
+    }
+
+    /**
+     * @return the error, or null if the player has an account
+     */
+    private String validate(Economy economy, OfflinePlayer player) {
+        try {
+            boolean account = world == null ? economy.hasAccount(player) : economy.hasAccount(player, world);
+            return account ? null : "No account";
+        } catch (RuntimeException e) {
+            return e.toString();
+        }
+    }
+
+    /**
+     * @return the error, or null if the money was moved
+     */
+    private String apply(Economy economy, OfflinePlayer player, double amount) {
+        EconomyResponse response;
+        try {
+            if (amount < 0) {
+                response = world == null ? economy.withdrawPlayer(player, -amount) : economy.withdrawPlayer(player, world, -amount);
+            } else {
+                response = world == null ? economy.depositPlayer(player, amount) : economy.depositPlayer(player, world, amount);
+            }
+        } catch (RuntimeException e) {
+            return e.toString();
+        }
+        if (response == null) {
+            return "no response";
+        }
+        return response.transactionSuccess() ? null : response.errorMessage;
+    }
+
+    /**
+     * Reverses the legs already made, last first.
+     * @return the players whose leg could not be reversed
+     */
+    private List<OfflinePlayer> rollback(Economy economy, List<Leg> done) {
+        List<OfflinePlayer> failed = new ArrayList<OfflinePlayer>();
+        for (int i = done.size() - 1; i >= 0; i--) {
+            Leg leg = done.get(i);
+            String error = apply(economy, leg.player, -leg.amount);
+            if (error != null) {
+                failed.add(leg.player);
+                JavaPlugin.getProvidingPlugin(Transfer.class).getLogger().severe(String.format("[Economy] Could not undo %s %s for %s in a failed transfer: %s",
+                        leg.amount < 0 ? "withdrawing" : "depositing", economy.format(Math.abs(leg.amount)), name(leg), error));
+            }
+        }
+        return failed;
+    }
+
+    private static String name(Leg leg) {
+        String name = leg.player.getName();
+        return name == null ? leg.player.getUniqueId().toString() : name;
+    }
+
+    /**
+     * What one player gets, or pays if negative.
+     */
+    private static class Leg {
+        private final OfflinePlayer player;
+        private double amount;
+
+        Leg(OfflinePlayer player) {
+            this.player = player;
+        }
+    }
+
+    public static class Result {
+        private final String errorMessage;
+        private final List<OfflinePlayer> rollbackFailures;
+
+        Result(String errorMessage, List<OfflinePlayer> rollbackFailures) {
+            this.errorMessage = errorMessage;
+            this.rollbackFailures = rollbackFailures;
+        }
+
+        /**
+         * @return true if every leg went through
+         */
+        public boolean transactionSuccess() {
+            return errorMessage == null;
+        }
+
+        /**
+         * @return why the transfer failed, or null
+         */
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        /**
+         * @return the players left with money moved, as the transfer failed
+         *         and undoing their leg failed too; empty normally
+         */
+        public List<OfflinePlayer> getRollbackFailures() {
+            return rollbackFailures;
+        }
+    }
+}